@@ -0,0 +1,118 @@
+package parser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Java class EvaluationBenchmark
+ * JMH benchmarks for computing the value of a parsed expression: compiling the tree,
+ * and evaluating the compiled expression or postfix program with the values of its
+ * variables, once or for every row of columns of values, row by row or one operator
+ * at a time over whole columns.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+	//the number of nested pairs of parentheses in the expression
+	@Param({"1", "8"})
+	public int depth;
+
+	//the number of variables in the expression
+	@Param({"16", "256"})
+	public int length;
+
+	//the parsed expression
+	private Node tree;
+
+	//the expression compiled into method handles
+	private CompiledExpression compiled;
+
+	//the expression flattened into postfix code
+	private PostfixProgram program;
+
+	//the expression with its repeated subexpressions shared
+	private OptimizedProgram optimized;
+
+	//the expression evaluated one operator at a time over blocks of rows
+	private ColumnarEvaluator columnar;
+
+	//the value of each variable of the expression
+	private double[] values;
+
+	//the number of rows of the columns
+	private static final int rows = 1024;
+
+	//the values of each variable for every row, and room for the value of every row
+	private double[][] columns;
+	private double[] results;
+
+	@Setup
+	public void setup() {
+		tree = NonTerminalSymbol.parseInput(Lexer.lex(ExpressionGenerator.generate(depth, length))).get();
+		compiled = CompiledExpression.build(tree);
+		program = PostfixProgram.build(tree);
+		columnar = ColumnarEvaluator.build(tree);
+		optimized = OptimizedProgram.build(tree);
+		values = new double[compiled.getVariables().size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i + 1.5;
+		}
+
+		columns = new double[program.getVariables().size()][rows];
+		for (int slot = 0; slot < columns.length; slot++) {
+			for (int row = 0; row < rows; row++) {
+				columns[slot][row] = slot + row * 0.25;
+			}
+		}
+		results = new double[rows];
+	}
+
+	@Benchmark
+	public CompiledExpression compile() {
+		return CompiledExpression.build(tree);
+	}
+
+	@Benchmark
+	public double evaluateCompiled() {
+		return compiled.evaluate(values);
+	}
+
+	@Benchmark
+	public double evaluatePostfix() {
+		return program.evaluate(values);
+	}
+
+	@Benchmark
+	public double evaluateOptimized() {
+		return optimized.evaluate(values);
+	}
+
+	@Benchmark
+	public double[] evaluatePostfixColumns() {
+		program.evaluateColumns(columns, results);
+		return results;
+	}
+
+	@Benchmark
+	public double[] evaluateColumnar() {
+		columnar.evaluate(columns, results);
+		return results;
+	}
+}
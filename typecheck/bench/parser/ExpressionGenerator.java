@@ -0,0 +1,70 @@
+package parser;
+
+import java.util.Random;
+
+/**
+ * Java class ExpressionGenerator
+ * Generates the expressions that the benchmarks parse. The same depth and length
+ * always give the same expression, so that results can be compared between runs.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+final class ExpressionGenerator {
+	//the seed for the random choices, fixed so that every run sees the same input
+	private static final long seed = 293;
+
+	//the operators placed between terms
+	private static final String operators = "+-*/";
+
+	//how many different variable names appear in an expression
+	private static final int variableCount = 16;
+
+	/**
+	 * A constructor that cannot be accessed to prevent creating instances of this class
+	 */
+	private ExpressionGenerator() {
+
+	}
+
+	/**
+	 * Generate an expression with a given nesting depth and number of variables.
+	 * The variables are spread evenly over the levels of nested parentheses.
+	 * @param depth the number of nested pairs of parentheses
+	 * @param length the number of variables in the expression
+	 * @return the text of the expression
+	 */
+	static String generate(int depth, int length) {
+		Random random = new Random(seed);
+		StringBuilder expression = new StringBuilder();
+		int termsPerLevel = Math.max(1, length / (depth + 1));
+
+		for (int level = 0; level < depth; level++) {
+			appendTerms(expression, random, termsPerLevel);
+			expression.append(operators.charAt(random.nextInt(operators.length()))).append('(');
+		}
+		appendTerms(expression, random, termsPerLevel);
+		for (int level = 0; level < depth; level++) {
+			expression.append(')');
+		}
+
+		return expression.toString();
+	}
+
+	/**
+	 * Append variables joined by random operators, some of them negated
+	 * @param expression the expression being generated
+	 * @param random the source of the random choices
+	 * @param terms the number of variables to append
+	 */
+	private static void appendTerms(StringBuilder expression, Random random, int terms) {
+		for (int i = 0; i < terms; i++) {
+			if (i > 0) {
+				expression.append(operators.charAt(random.nextInt(operators.length())));
+			}
+			if (random.nextInt(8) == 0) {
+				expression.append('-');
+			}
+			expression.append('v').append(random.nextInt(variableCount));
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package parser;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Java class MemoizationBenchmark
+ * Measures repeated calls to toString(), toList() and getWidth() on deep trees.
+ * Once the first call has walked the tree, every later call should take the same
+ * (constant) time no matter how deep the tree is.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoizationBenchmark {
+	//the number of nested internal nodes in the tree
+	@Param({"10", "100", "200"})
+	public int depth;
+
+	//the tree, whose cached values are computed during setup
+	private Node tree;
+
+	@Setup
+	public void setup() {
+		Node leaf = LeafNode.build(Variable.build("a"));
+		Node times = LeafNode.build(Connector.build(TerminalSymbol.TIMES));
+
+		tree = leaf;
+		for (int i = 0; i < depth; i++) {
+			tree = InternalNode.build(Arrays.asList(leaf, times, tree));
+		}
+
+		tree.toString();
+		tree.toList();
+		tree.getWidth();
+	}
+
+	@Benchmark
+	public String repeatedToString() {
+		return tree.toString();
+	}
+
+	@Benchmark
+	public List<Token> repeatedToList() {
+		return tree.toList();
+	}
+
+	@Benchmark
+	public int repeatedGetWidth() {
+		return tree.getWidth();
+	}
+}
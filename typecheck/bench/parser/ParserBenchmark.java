@@ -0,0 +1,176 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Java class ParserBenchmark
+ * JMH benchmarks for the main steps of turning text into a printed tree:
+ * converting strings to tokens, parsing, simplifying a node, and printing a tree.
+ * Every benchmark runs on generated expressions of increasing depth and length.
+ * Running them with -prof gc shows the bytes allocated per call, which is how
+ * Builder::buildSimplified is compared with simplify().build().
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+	//the number of nested pairs of parentheses in the expression
+	@Param({"1", "8", "64"})
+	public int depth;
+
+	//the number of variables in the expression
+	@Param({"16", "256", "1024"})
+	public int length;
+
+	//the generated expression
+	private String expression;
+
+	//the strings of the tokens of the expression
+	private String[] lexemes;
+
+	//the tokens of the expression
+	private List<Token> tokens;
+
+	//the tokens of the expression as objects in an array-backed list
+	private List<Token> tokenObjects;
+
+	//the tokens of the expression as primitive codes
+	private PackedTokens packedTokens;
+
+	//the children of the root of the parsed expression, which are simplified again by builderSimplify
+	private List<Node> rootChildren;
+
+	//the parsed expression followed by an empty node, as in a production whose tail is empty
+	private List<Node> singleFruitfulChildren;
+
+	@Setup
+	public void setup() {
+		expression = ExpressionGenerator.generate(depth, length);
+
+		Matcher m = Pattern.compile("([a-zA-Z0-9]+|\\+|\\-|\\*|/|\\(|\\))").matcher(expression);
+		lexemes = m.results().map(result -> result.group(0)).toArray(String[]::new);
+		tokens = Lexer.lex(expression);
+		tokenObjects = new ArrayList<>(tokens);
+		packedTokens = Lexer.lexPacked(expression);
+		rootChildren = NonTerminalSymbol.parseInput(tokens).get().getChildren();
+		singleFruitfulChildren = Arrays.asList(NonTerminalSymbol.parseInput(tokens).get(), InternalNode.build(new ArrayList<>()));
+	}
+
+	/**
+	 * A freshly parsed tree for every call, since nodes remember their string and width once computed
+	 */
+	@State(Scope.Thread)
+	public static class FreshTree {
+		private Node tree;
+
+		@Setup(Level.Invocation)
+		public void setup(ParserBenchmark benchmark) {
+			tree = NonTerminalSymbol.parseInput(benchmark.tokens).get();
+		}
+	}
+
+	@Benchmark
+	public void stringToToken(Blackhole blackhole) {
+		for (String lexeme : lexemes) {
+			blackhole.consume(TerminalSymbol.stringToToken(lexeme));
+		}
+	}
+
+	@Benchmark
+	public Optional<Node> parseInput() {
+		return NonTerminalSymbol.parseInput(tokens);
+	}
+
+	@Benchmark
+	public Optional<Node> parseTokenObjects() {
+		return NonTerminalSymbol.parseInput(tokenObjects);
+	}
+
+	@Benchmark
+	public Optional<Node> parsePacked() {
+		return TableDrivenParser.parsePacked(packedTokens);
+	}
+
+	@Benchmark
+	public Optional<Node> parsePratt() {
+		return PrattParser.parseInput(tokens);
+	}
+
+	@Benchmark
+	public Optional<Node> parsePrattPacked() {
+		return PrattParser.parsePacked(packedTokens);
+	}
+
+	@Benchmark
+	public PackedTokens lexPacked() {
+		return Lexer.lexPacked(expression);
+	}
+
+	@Benchmark
+	public InternalNode builderSimplify() {
+		InternalNode.Builder builder = new InternalNode.Builder();
+		rootChildren.forEach(builder::addChild);
+		return builder.buildSimplified();
+	}
+
+	@Benchmark
+	public InternalNode builderSimplifyTwice() {
+		InternalNode.Builder builder = new InternalNode.Builder();
+		rootChildren.forEach(builder::addChild);
+		return builder.simplify().build();
+	}
+
+	@Benchmark
+	public InternalNode builderSimplifySingleChild() {
+		InternalNode.Builder builder = new InternalNode.Builder();
+		singleFruitfulChildren.forEach(builder::addChild);
+		return builder.buildSimplified();
+	}
+
+	@Benchmark
+	public InternalNode builderSimplifySingleChildTwice() {
+		InternalNode.Builder builder = new InternalNode.Builder();
+		singleFruitfulChildren.forEach(builder::addChild);
+		return builder.simplify().build();
+	}
+
+	@Benchmark
+	public String internalNodeToString(FreshTree fresh) {
+		return fresh.tree.toString();
+	}
+
+	@Benchmark
+	public List<Token> internalNodeToList(FreshTree fresh) {
+		return fresh.tree.toList();
+	}
+
+	@Benchmark
+	public String getStringRepresentation(FreshTree fresh) {
+		return UserInterface.getStringRepresentation(fresh.tree);
+	}
+}
@@ -0,0 +1,217 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Java class BatchParser
+ * This class parses many independent expressions at once on an executor, such as
+ * a fork-join pool or a fixed thread pool. Results come back in the same order as
+ * the inputs, and a failure to parse one input does not affect the others.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class BatchParser {
+	//how many chunks of work each thread of the executor should get, so that uneven chunks still balance out
+	private static final int chunksPerThread = 4;
+
+	//the executor on which inputs are parsed
+	private final Executor executor;
+
+	//the number of threads the executor is expected to use at once
+	private final int parallelism;
+
+	//the function that parses a single input
+	private final Function<List<Token>, Optional<Node>> parser;
+
+	/**
+	 * The result of parsing a single input of a batch
+	 */
+	public static final class Result {
+		//the position of the input in the batch
+		private final int index;
+
+		//the root of the parse tree, or empty if the input could not be parsed
+		private final Optional<Node> node;
+
+		//the exception thrown while parsing the input, if any
+		private final Optional<Throwable> error;
+
+		/**
+		 * Constructor for a result
+		 * @param index the position of the input in the batch
+		 * @param node the root of the parse tree, or empty if the input could not be parsed
+		 * @param error the exception thrown while parsing the input, if any
+		 */
+		private Result(int index, Optional<Node> node, Optional<Throwable> error) {
+			this.index = index;
+			this.node = node;
+			this.error = error;
+		}
+
+		/**
+		 * Get the position of the input in the batch
+		 * @return the index of the input this result belongs to
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * See whether the input was parsed successfully
+		 * @return true if the input is a valid expression, false otherwise
+		 */
+		public boolean isSuccess() {
+			return node.isPresent();
+		}
+
+		/**
+		 * Get the root of the parse tree
+		 * @return the root node, or an empty Optional if the input is not a valid expression or parsing it failed
+		 */
+		public Optional<Node> getNode() {
+			return node;
+		}
+
+		/**
+		 * Get the exception thrown while parsing the input
+		 * @return the exception, or an empty Optional if parsing did not throw (even if the input was invalid)
+		 */
+		public Optional<Throwable> getError() {
+			return error;
+		}
+	}
+
+	/**
+	 * Constructor for a batch parser
+	 * @param executor the executor on which inputs are parsed
+	 * @param parallelism the number of threads the executor is expected to use at once
+	 * @param parser the function that parses a single input
+	 */
+	private BatchParser(Executor executor, int parallelism, Function<List<Token>, Optional<Node>> parser) {
+		this.executor = executor;
+		this.parallelism = parallelism;
+		this.parser = parser;
+	}
+
+	/**
+	 * Create a batch parser that runs on the common fork-join pool
+	 * @return a batch parser using every core of the machine
+	 */
+	public static BatchParser build() {
+		return build(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+	}
+
+	/**
+	 * Create a batch parser that runs on a given executor, such as a fixed thread pool
+	 * @param executor the executor on which inputs are parsed, which the caller remains responsible for shutting down
+	 * @param parallelism the number of threads the executor is expected to use at once
+	 * @return a batch parser running on the executor
+	 */
+	public static BatchParser build(Executor executor, int parallelism) {
+		return build(executor, parallelism, TableDrivenParser::parseInput);
+	}
+
+	/**
+	 * Create a batch parser that runs on a given executor with a given parser, such as NonTerminalSymbol::parseInput
+	 * @param executor the executor on which inputs are parsed, which the caller remains responsible for shutting down
+	 * @param parallelism the number of threads the executor is expected to use at once
+	 * @param parser the function that parses a single input
+	 * @return a batch parser running on the executor
+	 */
+	public static BatchParser build(Executor executor, int parallelism, Function<List<Token>, Optional<Node>> parser) {
+		Objects.requireNonNull(executor, "executor passed to BatchParser::build() cannot be null");
+		Objects.requireNonNull(parser, "parser passed to BatchParser::build() cannot be null");
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism passed to BatchParser::build() must be positive");
+		}
+
+		return new BatchParser(executor, parallelism, parser);
+	}
+
+	/**
+	 * Parse every list of tokens in a batch
+	 * @param inputs the lists of tokens to parse
+	 * @return one result per input, in the same order as the inputs
+	 */
+	public List<Result> parseAll(Collection<? extends List<Token>> inputs) {
+		Objects.requireNonNull(inputs, "inputs passed to BatchParser::parseAll() cannot be null");
+
+		return parseInParallel(new ArrayList<>(inputs), parser);
+	}
+
+	/**
+	 * Parse every list of tokens of a stream
+	 * @param inputs the lists of tokens to parse
+	 * @return one result per input, in the same order as the stream
+	 */
+	public List<Result> parseAll(Stream<? extends List<Token>> inputs) {
+		Objects.requireNonNull(inputs, "inputs passed to BatchParser::parseAll() cannot be null");
+
+		return parseAll(inputs.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Split every string of a batch into tokens and parse them
+	 * @param expressions the expressions to parse
+	 * @return one result per expression, in the same order as the expressions
+	 */
+	public List<Result> parseAllStrings(Collection<? extends CharSequence> expressions) {
+		Objects.requireNonNull(expressions, "expressions passed to BatchParser::parseAllStrings() cannot be null");
+
+		return parseInParallel(new ArrayList<>(expressions), expression -> parser.apply(Lexer.lex(expression)));
+	}
+
+	/**
+	 * Parse a list of inputs in chunks on the executor
+	 * @param inputs the inputs to parse
+	 * @param parseOne the function that parses one input
+	 * @return one result per input, in the same order as the inputs
+	 */
+	private <I> List<Result> parseInParallel(List<I> inputs, Function<? super I, Optional<Node>> parseOne) {
+		Result[] results = new Result[inputs.size()];
+		int chunkSize = Math.max(1, inputs.size() / (parallelism * chunksPerThread));
+
+		List<CompletableFuture<Void>> chunks = new ArrayList<>();
+		for (int start = 0; start < inputs.size(); start += chunkSize) {
+			int from = start;
+			int to = Math.min(inputs.size(), start + chunkSize);
+			chunks.add(CompletableFuture.runAsync(() -> {
+				for (int i = from; i < to; i++) {
+					results[i] = parseItem(i, inputs.get(i), parseOne);
+				}
+			}, executor));
+		}
+		CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+
+		List<Result> resultList = new ArrayList<>(results.length);
+		for (Result result : results) {
+			resultList.add(result);
+		}
+		return resultList;
+	}
+
+	/**
+	 * Parse a single input, turning any exception into a failed result
+	 * @param index the position of the input in the batch
+	 * @param input the input to parse
+	 * @param parseOne the function that parses one input
+	 * @return the result for this input
+	 */
+	private static <I> Result parseItem(int index, I input, Function<? super I, Optional<Node>> parseOne) {
+		try {
+			return new Result(index, parseOne.apply(Objects.requireNonNull(input, "input " + index + " of the batch is null")), Optional.empty());
+		} catch (RuntimeException e) {
+			return new Result(index, Optional.empty(), Optional.of(e));
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * java class BatchParserTest
+ * The set of unit tests for the BatchParser class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class BatchParserTest {
+	//test that a batch parser cannot be built without an executor
+	@Test(expected = NullPointerException.class)
+	public void testRejectsNullExecutor() {
+		BatchParser.build(null, 1);
+	}
+
+	//test that results come back in order and match parsing each input on its own
+	@Test
+	public void testResultsInOrder() {
+		Random random = new Random(293);
+		List<String> expressions = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			expressions.add(random.nextBoolean()
+					? TableDrivenParserTest.randomValidExpression(random, 3)
+					: TableDrivenParserTest.randomExpression(random, random.nextInt(10)));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<BatchParser.Result> results = BatchParser.build(executor, 4).parseAllStrings(expressions);
+
+			assertEquals(results.size(), expressions.size());
+			for (int i = 0; i < expressions.size(); i++) {
+				Optional<Node> expected = NonTerminalSymbol.parseInput(Lexer.lex(expressions.get(i)));
+				BatchParser.Result result = results.get(i);
+
+				assertEquals(result.getIndex(), i);
+				assertEquals(result.isSuccess(), expected.isPresent());
+				assertEquals(result.getNode().map(Node::toString), expected.map(Node::toString));
+				assertFalse(result.getError().isPresent());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	//test that an input that throws only fails its own result
+	@Test
+	public void testFailuresReportedPerItem() {
+		List<List<Token>> inputs = Arrays.asList(
+				Lexer.lex("a+b"),
+				Arrays.asList(Variable.build("a"), null),
+				null,
+				Lexer.lex("a+"));
+
+		List<BatchParser.Result> results = BatchParser.build().parseAll(inputs);
+
+		assertTrue(results.get(0).isSuccess());
+		assertTrue(results.get(1).getError().isPresent());
+		assertTrue(results.get(2).getError().get() instanceof NullPointerException);
+		assertFalse(results.get(3).isSuccess());
+		assertFalse(results.get(3).getError().isPresent());
+	}
+
+	//test that streams and other parsers can be used
+	@Test
+	public void testStreamWithRecursiveParser() {
+		List<BatchParser.Result> results = BatchParser.build(Runnable::run, 1, NonTerminalSymbol::parseInput)
+				.parseAll(Arrays.asList("a*b", "(c)", "d)").stream().map(Lexer::lex));
+
+		assertEquals(results.get(0).getNode().get().toString(), "[a,*,b]");
+		assertEquals(results.get(1).getNode().get().toString(), "[(,c,)]");
+		assertFalse(results.get(2).isSuccess());
+	}
+}
@@ -1,21 +1,94 @@
 package parser;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 /**
  * Java class Cache
  * This class is used to save tokens already created in order to 
- * avoid duplicates.
+ * avoid duplicates. It is safe to use from several threads at once.
+ * A cache may be given a maximum size, in which case the least recently
+ * used entry is evicted to make room for a new one. While an entry is in
+ * the cache, every request for its key returns the same object.
+ * 
+ * A bounded cache is split into segments by the hash of the key, each with
+ * its own lock and its own share of the maximum size, so threads using
+ * different keys rarely wait for each other, and the least recently used
+ * entry is evicted from the segment that is full. Small caches have a single
+ * segment. In both kinds of cache a lock is only held to find or add an entry,
+ * never while an object is created: the entry of a missing key holds the task
+ * creating its object, so other threads asking for the same key wait for that
+ * object instead of creating their own, and threads asking for other keys do
+ * not wait at all, even if their keys have the same hash.
  * 
  * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
  * @version 1.00, 31 Jan 2019
  */
 final class Cache<T, V> {
-	//the Map representing our cached data, mapping the key to the stored object
-	private Map<T, V> cache = new HashMap<T, V>();
+	//the maximum size used for caches that never evict anything
+	static final int UNBOUNDED = Integer.MAX_VALUE;
+	
+	//the greatest number of segments of a bounded cache, which is a power of two
+	private static final int maximumSegments = 16;
+	
+	//the smallest share of the maximum size a segment is given, so that small caches keep an exact least recently used order
+	private static final int minimumSegmentSize = 64;
+	
+	//the maximum number of entries this cache holds
+	private final int maximumSize;
+	
+	//the data of an unbounded cache, mapping the key to the task creating the stored object (null if this cache is bounded)
+	private final ConcurrentHashMap<T, FutureTask<V>> unboundedCache;
+	
+	//the segments of a bounded cache, whose number is a power of two (null if this cache is unbounded)
+	private final Segment<T, V>[] segments;
+	
+	//statistics on how this cache has been used
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	
+	/**
+	 * Create a cache that never evicts anything
+	 */
+	Cache() {
+		this(UNBOUNDED);
+	}
+	
+	/**
+	 * Create a cache that holds at most a given number of entries
+	 * @param maximumSize the maximum number of entries, or UNBOUNDED for a cache that never evicts anything
+	 */
+	@SuppressWarnings("unchecked")
+	Cache(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize passed to Cache::Cache() must be positive");
+		}
+		
+		this.maximumSize = maximumSize;
+		if (maximumSize == UNBOUNDED) {
+			this.unboundedCache = new ConcurrentHashMap<>();
+			this.segments = null;
+		} else {
+			this.unboundedCache = null;
+			
+			int segmentCount = 1;
+			while (segmentCount < maximumSegments && maximumSize / (2 * segmentCount) >= minimumSegmentSize) {
+				segmentCount *= 2;
+			}
+			//the sizes of the segments add up to exactly the maximum size
+			this.segments = (Segment<T, V>[]) new Segment<?, ?>[segmentCount];
+			for (int i = 0; i < segmentCount; i++) {
+				segments[i] = new Segment<>(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0), evictions);
+			}
+		}
+	}
 	
 	/**
 	 * Get an item from the cache if one exists, and if not, call the provided constructor.
@@ -27,12 +100,238 @@ final class Cache<T, V> {
 		Objects.requireNonNull(key, "key passed to Cache::get() cannot be null");
 		Objects.requireNonNull(constructor, "constructor passed to Cache::get() cannot be null");
 		
-		if (cache.containsKey(key)) {
-			return cache.get(key);
-		} else {
-			V initializedObject = constructor.apply(key);
-			cache.put(key, initializedObject);
-			return initializedObject;
+		return unboundedCache != null ? getUnbounded(key, constructor) : getBounded(key, constructor);
+	}
+	
+	/**
+	 * Get an item from the cache without creating it if it is missing
+	 * @param key The key by which we are searching for an item in the cache
+	 * @return the cached item, or null if there is none (counted as a hit or a miss like get)
+	 */
+	V getIfPresent(T key) {
+		Objects.requireNonNull(key, "key passed to Cache::getIfPresent() cannot be null");
+		
+		FutureTask<V> task = unboundedCache != null ? unboundedCache.get(key) : segmentFor(key).get(key);
+		V cachedObject = task == null ? null : await(task);
+		(cachedObject != null ? hits : misses).increment();
+		return cachedObject;
+	}
+	
+	/**
+	 * Get an item from an unbounded cache, without locking if the item is already there.
+	 * The item is created after its task is added, outside of the locks of the map.
+	 * @param key The key by which we are searching for an item in the cache
+	 * @param constructor The constructor with which we will create a new item if there is no cached item available
+	 * @return the cached or newly created item
+	 */
+	private V getUnbounded(T key, Function<? super T, ? extends V> constructor) {
+		FutureTask<V> task = unboundedCache.get(key);
+		if (task == null) {
+			FutureTask<V> created = new FutureTask<>(() -> constructor.apply(key));
+			task = unboundedCache.putIfAbsent(key, created);
+			if (task == null) {
+				misses.increment();
+				return create(created, () -> unboundedCache.remove(key, created));
+			}
+		}
+		
+		//another thread may add the item first, in which case this request still counts as a hit
+		hits.increment();
+		return await(task);
+	}
+	
+	/**
+	 * Get an item from a bounded cache, marking it as the most recently used one of its segment.
+	 * The item is created after the lock of the segment is released.
+	 * @param key The key by which we are searching for an item in the cache
+	 * @param constructor The constructor with which we will create a new item if there is no cached item available
+	 * @return the cached or newly created item
+	 */
+	private V getBounded(T key, Function<? super T, ? extends V> constructor) {
+		Segment<T, V> segment = segmentFor(key);
+		FutureTask<V> task = segment.get(key);
+		if (task == null) {
+			FutureTask<V> created = new FutureTask<>(() -> constructor.apply(key));
+			task = segment.putIfAbsent(key, created);
+			if (task == created) {
+				misses.increment();
+				return create(created, () -> segment.remove(key, created));
+			}
+		}
+		
+		//a request that finds the item being created by another thread still counts as a hit, as in an unbounded cache
+		hits.increment();
+		return await(task);
+	}
+	
+	/**
+	 * Create the object of an entry that was just added
+	 * @param task the task of the entry
+	 * @param remove removes the entry, so that a failed creation is not remembered and the next request tries again
+	 * @return the object created by the task
+	 */
+	private static <V> V create(FutureTask<V> task, Runnable remove) {
+		task.run();
+		try {
+			return await(task);
+		} catch (RuntimeException | Error e) {
+			remove.run();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Find the segment of a bounded cache holding a key
+	 * @param key the key
+	 * @return the segment the key belongs to
+	 */
+	private Segment<T, V> segmentFor(T key) {
+		int hash = key.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+	}
+	
+	/**
+	 * Wait for the object of an entry to be created, even if the thread is interrupted while waiting
+	 * @param task the task creating the object
+	 * @return the object created by the task
+	 */
+	private static <V> V await(FutureTask<V> task) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return task.get();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					//the constructors throw no checked exceptions, so the cause is unchecked
+					Throwable cause = e.getCause();
+					if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					throw (RuntimeException) cause;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * Get the number of entries currently in the cache
+	 * @return the number of cached entries
+	 */
+	int size() {
+		if (unboundedCache != null) {
+			return unboundedCache.size();
+		}
+		int size = 0;
+		for (Segment<T, V> segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+	
+	/**
+	 * Get the maximum number of entries this cache holds
+	 * @return the maximum size, or UNBOUNDED if this cache never evicts anything
+	 */
+	int maximumSize() {
+		return maximumSize;
+	}
+	
+	/**
+	 * Get the number of requests answered with an object already in the cache
+	 * @return the number of hits so far
+	 */
+	long hitCount() {
+		return hits.sum();
+	}
+	
+	/**
+	 * Get the number of requests that had to create a new object
+	 * @return the number of misses so far
+	 */
+	long missCount() {
+		return misses.sum();
+	}
+	
+	/**
+	 * Get the number of entries removed to make room for new ones
+	 * @return the number of evictions so far
+	 */
+	long evictionCount() {
+		return evictions.sum();
+	}
+	
+	/**
+	 * A part of a bounded cache, holding the tasks creating the objects of its keys in least recently used order
+	 */
+	private static final class Segment<T, V> {
+		//the tasks of the entries in least recently used order, only accessed while holding the lock of the segment
+		private final LinkedHashMap<T, FutureTask<V>> entries;
+		
+		/**
+		 * Constructor for an empty segment
+		 * @param maximumSize the maximum number of entries of this segment
+		 * @param evictions the counter of the entries removed to make room for new ones
+		 */
+		private Segment(int maximumSize, LongAdder evictions) {
+			this.entries = new LinkedHashMap<T, FutureTask<V>>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+				
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<T, FutureTask<V>> eldest) {
+					if (size() > maximumSize) {
+						evictions.increment();
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+		
+		/**
+		 * Get the task of a key, marking it as the most recently used one
+		 * @param key the key
+		 * @return the task of the key, or null if there is none
+		 */
+		private synchronized FutureTask<V> get(T key) {
+			return entries.get(key);
+		}
+		
+		/**
+		 * Get the task of a key, adding a given one if there is none
+		 * @param key the key
+		 * @param task the task to add if the key has none
+		 * @return the task of the key, which is the given task if it was added
+		 */
+		private synchronized FutureTask<V> putIfAbsent(T key, FutureTask<V> task) {
+			FutureTask<V> existing = entries.get(key);
+			if (existing != null) {
+				return existing;
+			}
+			entries.put(key, task);
+			return task;
+		}
+		
+		/**
+		 * Remove the task of a key if it is still the given one
+		 * @param key the key
+		 * @param task the task to remove
+		 */
+		private synchronized void remove(T key, FutureTask<V> task) {
+			entries.remove(key, task);
+		}
+		
+		/**
+		 * Get the number of entries of this segment
+		 * @return the number of entries
+		 */
+		private synchronized int size() {
+			return entries.size();
 		}
 	}
 }
@@ -0,0 +1,206 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * java class CacheTest
+ * The set of unit tests for the Cache class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class CacheTest {
+	//test that Cache::get() rejects null arguments
+	@Test(expected = NullPointerException.class)
+	public void testRejectsNull() {
+		new Cache<String, Object>().get(null, key -> new Object());
+	}
+
+	//test that a cache cannot be created without room for any entry
+	@Test(expected = IllegalArgumentException.class)
+	public void testRejectsZeroSize() {
+		new Cache<String, Object>(0);
+	}
+
+	//test that an unbounded cache returns the same object for the same key and counts hits and misses
+	@Test
+	public void testUnboundedCache() {
+		Cache<String, Object> cache = new Cache<>();
+		Object first = cache.get("a", key -> new Object());
+
+		assertSame(cache.get("a", key -> new Object()), first);
+		assertNotSame(cache.get("b", key -> new Object()), first);
+		assertEquals(cache.size(), 2);
+		assertEquals(cache.hitCount(), 1);
+		assertEquals(cache.missCount(), 2);
+		assertEquals(cache.evictionCount(), 0);
+	}
+
+	//test that a bounded cache evicts the least recently used entry
+	@Test
+	public void testBoundedCacheEvictsLeastRecentlyUsed() {
+		Cache<String, Object> cache = new Cache<>(2);
+		Object a = cache.get("a", key -> new Object());
+		Object b = cache.get("b", key -> new Object());
+
+		//use a, so that b is the least recently used entry when c is added
+		assertSame(cache.get("a", key -> new Object()), a);
+		cache.get("c", key -> new Object());
+
+		assertEquals(cache.size(), 2);
+		assertEquals(cache.evictionCount(), 1);
+		assertSame(cache.get("a", key -> new Object()), a);
+		assertNotSame(cache.get("b", key -> new Object()), b);
+		assertEquals(cache.evictionCount(), 2);
+	}
+
+	//test that threads racing for the same keys all get the same objects
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		for (int maximumSize : new int[] {Cache.UNBOUNDED, 1_000}) {
+			Cache<Integer, Object> cache = new Cache<>(maximumSize);
+			AtomicInteger constructed = new AtomicInteger();
+			ExecutorService executor = Executors.newFixedThreadPool(8);
+
+			List<Future<List<Object>>> results = new ArrayList<>();
+			for (int thread = 0; thread < 8; thread++) {
+				results.add(executor.submit(() -> {
+					List<Object> seen = new ArrayList<>();
+					for (int key = 0; key < 500; key++) {
+						seen.add(cache.get(key, k -> {
+							constructed.incrementAndGet();
+							return new Object();
+						}));
+					}
+					return seen;
+				}));
+			}
+
+			List<Object> expected = results.get(0).get();
+			for (Future<List<Object>> result : results) {
+				List<Object> seen = result.get();
+				for (int key = 0; key < 500; key++) {
+					assertSame(seen.get(key), expected.get(key));
+				}
+			}
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+
+			assertEquals(constructed.get(), 500);
+			assertEquals(cache.missCount(), 500);
+			assertEquals(cache.hitCount(), 8 * 500 - 500);
+		}
+	}
+
+	//test that a bounded cache creates the objects of different keys at the same time, without holding a lock
+	@Test(timeout = 10_000)
+	public void testBoundedCacheCreatesOutsideLock() throws Exception {
+		Cache<String, Object> cache = new Cache<>(2);
+		CyclicBarrier bothCreating = new CyclicBarrier(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		//each constructor only returns once the other one has started, so they must run concurrently
+		List<Future<Object>> results = new ArrayList<>();
+		for (String key : new String[] {"a", "b"}) {
+			results.add(executor.submit(() -> cache.get(key, k -> {
+				try {
+					bothCreating.await(5, TimeUnit.SECONDS);
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+				return new Object();
+			})));
+		}
+
+		Object a = results.get(0).get();
+		Object b = results.get(1).get();
+		assertSame(cache.get("a", key -> new Object()), a);
+		assertSame(cache.get("b", key -> new Object()), b);
+		assertEquals(cache.missCount(), 2);
+		executor.shutdown();
+	}
+
+	//test that an unbounded cache creates the objects of different keys with the same hash at the same time
+	@Test(timeout = 10_000)
+	public void testUnboundedCacheCreatesOutsideLock() throws Exception {
+		Cache<String, Object> cache = new Cache<>();
+		CyclicBarrier bothCreating = new CyclicBarrier(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		//the keys fall in the same bin of the map, so a constructor called under its lock would block the other one
+		List<Future<Object>> results = new ArrayList<>();
+		for (String key : new String[] {"Aa", "BB"}) {
+			results.add(executor.submit(() -> cache.get(key, k -> {
+				try {
+					bothCreating.await(5, TimeUnit.SECONDS);
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+				return new Object();
+			})));
+		}
+
+		Object aa = results.get(0).get();
+		Object bb = results.get(1).get();
+		assertSame(cache.get("Aa", key -> new Object()), aa);
+		assertSame(cache.get("BB", key -> new Object()), bb);
+		assertEquals(cache.missCount(), 2);
+		executor.shutdown();
+	}
+
+	//test that a failed creation is not remembered, and the next request creates the object
+	@Test
+	public void testBoundedCacheFailedCreation() {
+		Cache<String, Object> cache = new Cache<>(2);
+		try {
+			cache.get("a", key -> {
+				throw new IllegalStateException();
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals(cache.size(), 0);
+		}
+
+		Object a = cache.get("a", key -> new Object());
+		assertSame(cache.get("a", key -> new Object()), a);
+	}
+
+	//test that a large bounded cache never holds more than its maximum size, whichever segments its keys fall in
+	@Test
+	public void testSegmentedCacheSize() {
+		Cache<Integer, Object> cache = new Cache<>(1_000);
+		for (int key = 0; key < 10_000; key++) {
+			cache.get(key, k -> new Object());
+			assertTrue(cache.size() <= 1_000);
+		}
+
+		assertEquals(cache.evictionCount(), 10_000 - cache.size());
+		Object recent = cache.get(9_999, key -> new Object());
+		assertSame(cache.get(9_999, key -> new Object()), recent);
+	}
+
+	//test that variables are still equal after their cache entry has been evicted
+	@Test
+	public void testVariablesEqualAfterEviction() {
+		Variable first = Variable.build("evictedVariable");
+		for (int i = 0; i <= Variable.CACHE_SIZE; i++) {
+			Variable.build("filler" + i);
+		}
+
+		assertEquals(Variable.build("evictedVariable"), first);
+		assertEquals(Variable.build("evictedVariable").hashCode(), first.hashCode());
+	}
+}
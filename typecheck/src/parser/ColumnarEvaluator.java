@@ -0,0 +1,213 @@
+package parser;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Java class ColumnarEvaluator
+ * This class evaluates an expression over columns of values, one double[] per
+ * variable, by applying each operator of the postfix code to a whole block of rows
+ * in one loop instead of running the code once per row. The loops read and write
+ * plain arrays with no dispatch inside them, so the JIT compiler turns them into
+ * vector instructions. Blocks are small enough that the intermediate values stay in
+ * the cache, operands are read straight from the columns without being copied, and
+ * the value of the whole expression is written straight into the results by the last
+ * operator, so the results may be one of the columns.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class ColumnarEvaluator {
+	//the number of rows each operator is applied to at once
+	static final int BLOCK_SIZE = 512;
+
+	//the instructions, which are slots to load or operators from Postfix
+	private final int[] code;
+
+	//the variables of the expression, in the order of their slots
+	private final List<Variable> variables;
+
+	//the greatest number of values on the stack at once
+	private final int maximumStack;
+
+	/**
+	 * Constructor for an evaluator
+	 * @param code the postfix code
+	 * @param variables the unmodifiable list of the variables, in the order of their slots
+	 */
+	private ColumnarEvaluator(int[] code, List<Variable> variables) {
+		this.code = code;
+		this.variables = variables;
+		this.maximumStack = Postfix.maximumStack(code);
+	}
+
+	/**
+	 * Compile an expression, giving its variables slots in the order they first appear
+	 * @param root the root of the parse tree
+	 * @return the evaluator of the expression
+	 * @throws IllegalArgumentException if the tree is not a valid expression
+	 */
+	public static ColumnarEvaluator build(Node root) {
+		return build(root, VariableSlots.build());
+	}
+
+	/**
+	 * Compile an expression with given slots, binding the variables that have none yet to the next free slots
+	 * @param root the root of the parse tree
+	 * @param slots the slots of the variables
+	 * @return the evaluator of the expression
+	 * @throws IllegalArgumentException if the tree is not a valid expression
+	 */
+	public static ColumnarEvaluator build(Node root, VariableSlots slots) {
+		Objects.requireNonNull(slots, "slots passed to ColumnarEvaluator::build() cannot be null");
+
+		int[] code = Postfix.compile(root, slots::bind);
+		return new ColumnarEvaluator(code, slots.getVariables());
+	}
+
+	/**
+	 * Get the variables of this evaluator
+	 * @return an unmodifiable list of the variables, in the order of their slots
+	 */
+	public List<Variable> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Compute the value of the expression for every row of the columns, with the same double arithmetic as PostfixProgram
+	 * @param columns the values of each variable, indexed by its slot and then by the row (the columns of variables the expression does not use are not read, and can be null)
+	 * @param results the array receiving the value of each row, whose length is the number of rows, which may be one of the columns
+	 * @throws IllegalArgumentException if there are fewer columns than variables, or a column that is read is shorter than results
+	 */
+	public void evaluate(double[][] columns, double[] results) {
+		Objects.requireNonNull(columns, "columns passed to ColumnarEvaluator::evaluate() cannot be null");
+		Objects.requireNonNull(results, "results passed to ColumnarEvaluator::evaluate() cannot be null");
+		if (columns.length < variables.size()) {
+			throw new IllegalArgumentException("expected " + variables.size() + " columns but got " + columns.length);
+		}
+		for (int instruction : code) {
+			if (Postfix.isLoad(instruction)) {
+				double[] column = Objects.requireNonNull(columns[instruction], "column " + instruction + " is null");
+				if (column.length < results.length) {
+					throw new IllegalArgumentException("column " + instruction + " has fewer than " + results.length + " rows");
+				}
+			}
+		}
+
+		Block block = new Block(maximumStack);
+		for (int start = 0; start < results.length; start += BLOCK_SIZE) {
+			block.run(code, columns, results, start, Math.min(BLOCK_SIZE, results.length - start));
+		}
+	}
+
+	/**
+	 * The stack of an evaluation, in which every value is a block of rows held in some array from some offset
+	 */
+	private static final class Block {
+		//the array holding each value of the stack
+		private final double[][] arrays;
+
+		//the position of the first row of each value in its array
+		private final int[] offsets;
+
+		//the array owned by each level of the stack, into which the values computed at that level are written
+		private final double[][] temporaries;
+
+		/**
+		 * Constructor for the stack of an evaluation
+		 * @param maximumStack the greatest number of values on the stack at once
+		 */
+		private Block(int maximumStack) {
+			this.arrays = new double[maximumStack][];
+			this.offsets = new int[maximumStack];
+			this.temporaries = new double[maximumStack][];
+			for (int level = 0; level < maximumStack; level++) {
+				temporaries[level] = new double[BLOCK_SIZE];
+			}
+		}
+
+		/**
+		 * Run the code over a block of rows
+		 * @param code the postfix code
+		 * @param columns the values of each variable
+		 * @param results the array receiving the value of each row
+		 * @param start the first row of the block
+		 * @param length the number of rows of the block
+		 */
+		private void run(int[] code, double[][] columns, double[] results, int start, int length) {
+			int top = 0;
+			for (int i = 0; i < code.length; i++) {
+				int instruction = code[i];
+				if (instruction >= 0) {
+					arrays[top] = columns[instruction];
+					offsets[top++] = start;
+					continue;
+				}
+
+				//the value computed by the last operator is the value of the expression, so it goes straight into the results,
+				//but no value before it does since the results may be a column that is read later
+				int level = instruction == Postfix.NEGATE ? top - 1 : top - 2;
+				boolean last = i == code.length - 1;
+				double[] target = last ? results : temporaries[level];
+				int targetOffset = last ? start : 0;
+				if (instruction == Postfix.NEGATE) {
+					negate(arrays[level], offsets[level], target, targetOffset, length);
+				} else {
+					apply(instruction, arrays[level], offsets[level], arrays[level + 1], offsets[level + 1], target, targetOffset, length);
+					top--;
+				}
+				arrays[level] = target;
+				offsets[level] = targetOffset;
+			}
+
+			//an expression that is a single variable is never written by an operator
+			if (arrays[0] != results) {
+				System.arraycopy(arrays[0], offsets[0], results, start, length);
+			}
+		}
+
+		/**
+		 * Negate a block of values
+		 * @param operand the array of the values
+		 * @param operandOffset the position of the first value
+		 * @param target the array receiving the negated values, which may be the same as the operand
+		 * @param targetOffset the position of the first negated value
+		 * @param length the number of values
+		 */
+		private static void negate(double[] operand, int operandOffset, double[] target, int targetOffset, int length) {
+			for (int i = 0; i < length; i++) {
+				target[targetOffset + i] = -operand[operandOffset + i];
+			}
+		}
+
+		/**
+		 * Apply a binary operator to two blocks of values, with a separate loop for each operator
+		 * @param operator the operator from Postfix
+		 * @param left the array of the left operands
+		 * @param leftOffset the position of the first left operand
+		 * @param right the array of the right operands
+		 * @param rightOffset the position of the first right operand
+		 * @param target the array receiving the results, which may be the same as the left operands
+		 * @param targetOffset the position of the first result
+		 * @param length the number of values
+		 */
+		private static void apply(int operator, double[] left, int leftOffset, double[] right, int rightOffset, double[] target, int targetOffset, int length) {
+			if (operator == Postfix.ADD) {
+				for (int i = 0; i < length; i++) {
+					target[targetOffset + i] = left[leftOffset + i] + right[rightOffset + i];
+				}
+			} else if (operator == Postfix.SUBTRACT) {
+				for (int i = 0; i < length; i++) {
+					target[targetOffset + i] = left[leftOffset + i] - right[rightOffset + i];
+				}
+			} else if (operator == Postfix.MULTIPLY) {
+				for (int i = 0; i < length; i++) {
+					target[targetOffset + i] = left[leftOffset + i] * right[rightOffset + i];
+				}
+			} else {
+				for (int i = 0; i < length; i++) {
+					target[targetOffset + i] = left[leftOffset + i] / right[rightOffset + i];
+				}
+			}
+		}
+	}
+}
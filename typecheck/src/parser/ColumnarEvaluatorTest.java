@@ -0,0 +1,89 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+/**
+ * java class ColumnarEvaluatorTest
+ * The set of unit tests for the ColumnarEvaluator class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class ColumnarEvaluatorTest {
+	//more rows than fit in one block, and not a multiple of the block size
+	private static final int rows = 2 * ColumnarEvaluator.BLOCK_SIZE + 37;
+
+	/**
+	 * Generate columns of random values for the variables a, b, c and d
+	 * @param random the source of the random values
+	 * @return the columns, indexed by slot and then by row
+	 */
+	private static double[][] columns(Random random) {
+		double[][] columns = new double[4][rows];
+		for (double[] column : columns) {
+			for (int row = 0; row < rows; row++) {
+				column[row] = random.nextDouble() * 20 - 10;
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * Evaluate an expression over columns both with a ColumnarEvaluator and with a PostfixProgram
+	 * @param expression the expression to evaluate
+	 * @param columns the values of a, b, c and d
+	 */
+	private static void assertSameAsPostfix(String expression, double[][] columns) {
+		double[] expected = new double[rows];
+		TestExpressions.compile(expression, PostfixProgram::build).evaluateColumns(columns, expected);
+		double[] actual = new double[rows];
+		TestExpressions.compile(expression, ColumnarEvaluator::build).evaluate(columns, actual);
+
+		assertArrayEquals(expression, actual, expected, 0);
+	}
+
+	//test that simple expressions get the same values as row by row evaluation
+	@Test
+	public void testSimpleExpressions() {
+		double[][] columns = columns(new Random(293));
+		for (String expression : new String[] {"a", "-a", "a+b", "a-b*c", "(a+b)*(c-d)/a", "-(a/b)-c", "a*a*a*a", "d"}) {
+			assertSameAsPostfix(expression, columns);
+		}
+	}
+
+	//test that random expressions get the same values as row by row evaluation
+	@Test
+	public void testRandomExpressions() {
+		Random random = new Random(293);
+		double[][] columns = columns(random);
+		for (int i = 0; i < 300; i++) {
+			assertSameAsPostfix(TestExpressions.randomExpression(random, 3), columns);
+		}
+	}
+
+	//test that the columns of unused variables are not read
+	@Test
+	public void testUnusedColumns() {
+		double[] results = new double[3];
+		TestExpressions.compile("b-a", ColumnarEvaluator::build).evaluate(new double[][] {{1, 2, 3}, {10, 20, 30}, null, null}, results);
+
+		assertArrayEquals(results, new double[] {9, 18, 27}, 0);
+	}
+
+	//test that the results can be a column that is read after the first operator
+	@Test
+	public void testResultsInColumn() {
+		double[][] columns = {{1, 2}, {3, 4}, {11, 12}, null};
+		TestExpressions.compile("a+b-c", ColumnarEvaluator::build).evaluate(columns, columns[2]);
+
+		assertArrayEquals(columns[2], new double[] {-7, -6}, 0);
+	}
+
+	//test that a short column is rejected
+	@Test(expected = IllegalArgumentException.class)
+	public void testShortColumn() {
+		ColumnarEvaluator.build(NonTerminalSymbol.parseInput(Lexer.lex("a+b")).get()).evaluate(new double[][] {{1, 2}, {1}}, new double[2]);
+	}
+}
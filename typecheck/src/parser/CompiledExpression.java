@@ -0,0 +1,187 @@
+package parser;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Java class CompiledExpression
+ * This class compiles a parse tree into a chain of method handles that computes the
+ * value of the expression from a double[] holding the value of each variable. The
+ * tree is read once, and afterwards an evaluation is a call through the handles,
+ * which the JVM turns into straight-line code once the expression has been evaluated
+ * often enough, instead of a walk over the nodes. The handles nest as deeply as the
+ * operations of the expression, so expressions thousands of operators deep need a
+ * thread with a large stack.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class CompiledExpression {
+	//the type of every compiled handle, from the values of the variables to the value of the expression
+	private static final MethodType evaluatorType = MethodType.methodType(double.class, double[].class);
+
+	//the handle reading an element of a double[], whose index is bound to the slot of a variable
+	private static final MethodHandle load = MethodHandles.arrayElementGetter(double[].class);
+
+	//the handles of the operators, indexed by -1 - instruction
+	private static final MethodHandle[] operators = new MethodHandle[-Postfix.NEGATE];
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MethodType binary = MethodType.methodType(double.class, double.class, double.class);
+			operators[-1 - Postfix.ADD] = lookup.findStatic(CompiledExpression.class, "add", binary);
+			operators[-1 - Postfix.SUBTRACT] = lookup.findStatic(CompiledExpression.class, "subtract", binary);
+			operators[-1 - Postfix.MULTIPLY] = lookup.findStatic(CompiledExpression.class, "multiply", binary);
+			operators[-1 - Postfix.DIVIDE] = lookup.findStatic(CompiledExpression.class, "divide", binary);
+			operators[-1 - Postfix.NEGATE] = lookup.findStatic(CompiledExpression.class, "negate", MethodType.methodType(double.class, double.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	//the variables of the expression, in the order of their values
+	private final List<Variable> variables;
+
+	//the compiled expression, taking the values of the variables
+	private final MethodHandle evaluator;
+
+	/**
+	 * Constructor for a compiled expression
+	 * @param variables the unmodifiable list of the variables of the expression, in the order of their values
+	 * @param evaluator the compiled handle
+	 */
+	private CompiledExpression(List<Variable> variables, MethodHandle evaluator) {
+		this.variables = variables;
+		this.evaluator = evaluator;
+	}
+
+	/**
+	 * Compile an expression, giving its variables slots in the order they first appear
+	 * @param root the root of the parse tree
+	 * @return the compiled expression
+	 * @throws IllegalArgumentException if the tree is not a valid expression
+	 */
+	public static CompiledExpression build(Node root) {
+		VariableSlots slots = VariableSlots.build();
+		int[] code = Postfix.compile(root, slots::bind);
+		return new CompiledExpression(slots.getVariables(), link(code));
+	}
+
+	/**
+	 * Compile an expression whose variables have their values in a given order
+	 * @param root the root of the parse tree
+	 * @param variables the variables, in the order of their values (variables the expression does not use are allowed, and one that appears again keeps its first position)
+	 * @return the compiled expression
+	 * @throws IllegalArgumentException if the tree is not a valid expression, or it uses a variable that is not in the list
+	 */
+	public static CompiledExpression build(Node root, List<Variable> variables) {
+		VariableSlots slots = VariableSlots.build(variables);
+		int[] code = Postfix.compile(root, slots::slotOf);
+		return new CompiledExpression(slots.getVariables(), link(code));
+	}
+
+	/**
+	 * Combine the handles of the instructions of postfix code into one handle
+	 * @param code the postfix code
+	 * @return a handle computing the value of the code from the values of the variables
+	 */
+	private static MethodHandle link(int[] code) {
+		MethodHandle[] stack = new MethodHandle[code.length];
+		int top = 0;
+		for (int instruction : code) {
+			if (Postfix.isLoad(instruction)) {
+				stack[top++] = MethodHandles.insertArguments(load, 1, instruction);
+			} else if (instruction == Postfix.NEGATE) {
+				stack[top - 1] = MethodHandles.filterReturnValue(stack[top - 1], operators[-1 - instruction]);
+			} else {
+				//the operator reads both operands from the same array, so its two array arguments are merged into one
+				MethodHandle operands = MethodHandles.filterArguments(operators[-1 - instruction], 0, stack[top - 2], stack[top - 1]);
+				stack[top - 2] = MethodHandles.permuteArguments(operands, evaluatorType, 0, 0);
+				top--;
+			}
+		}
+		return stack[0];
+	}
+
+	/**
+	 * Get the variables of this expression
+	 * @return an unmodifiable list of the variables, in the order of their values
+	 */
+	public List<Variable> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Compute the value of the expression
+	 * @param values the value of each variable, in the order of getVariables()
+	 * @return the value of the expression, following the rules of double arithmetic
+	 * @throws IllegalArgumentException if there are fewer values than variables
+	 */
+	public double evaluate(double[] values) {
+		Objects.requireNonNull(values, "values passed to CompiledExpression::evaluate() cannot be null");
+		if (values.length < variables.size()) {
+			throw new IllegalArgumentException("expected " + variables.size() + " values but got " + values.length);
+		}
+
+		try {
+			return (double) evaluator.invokeExact(values);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			//none of the handles throws a checked exception
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Add two values
+	 * @param left the left operand
+	 * @param right the right operand
+	 * @return the sum
+	 */
+	private static double add(double left, double right) {
+		return left + right;
+	}
+
+	/**
+	 * Subtract two values
+	 * @param left the left operand
+	 * @param right the right operand
+	 * @return the difference
+	 */
+	private static double subtract(double left, double right) {
+		return left - right;
+	}
+
+	/**
+	 * Multiply two values
+	 * @param left the left operand
+	 * @param right the right operand
+	 * @return the product
+	 */
+	private static double multiply(double left, double right) {
+		return left * right;
+	}
+
+	/**
+	 * Divide two values
+	 * @param left the left operand
+	 * @param right the right operand
+	 * @return the quotient
+	 */
+	private static double divide(double left, double right) {
+		return left / right;
+	}
+
+	/**
+	 * Negate a value
+	 * @param value the operand
+	 * @return the negated value
+	 */
+	private static double negate(double value) {
+		return -value;
+	}
+}
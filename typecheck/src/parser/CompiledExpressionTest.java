@@ -0,0 +1,80 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+/**
+ * java class CompiledExpressionTest
+ * The set of unit tests for the CompiledExpression class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class CompiledExpressionTest {
+	/**
+	 * Compile an expression whose variables are a, b, c and d, in that order
+	 * @param expression the expression to parse
+	 * @return the compiled expression
+	 */
+	private static CompiledExpression compile(String expression) {
+		return TestExpressions.compile(expression, (tree, slots) -> CompiledExpression.build(tree, slots.getVariables()));
+	}
+
+	//test that expressions get the value of ordinary arithmetic
+	@Test
+	public void testEvaluate() {
+		double[] values = {2, 3, 5, 7};
+
+		assertEquals(compile("a").evaluate(values), 2, 0);
+		assertEquals(compile("a+b*c").evaluate(values), 17, 0);
+		assertEquals(compile("(a+b)*c").evaluate(values), 25, 0);
+		assertEquals(compile("a-b-c").evaluate(values), -6, 0);
+		assertEquals(compile("d/a/a").evaluate(values), 1.75, 0);
+		assertEquals(compile("-a*b").evaluate(values), -6, 0);
+		assertEquals(compile("a*-(b-c)").evaluate(values), 4, 0);
+		assertEquals(compile("a--b").evaluate(values), 5, 0);
+		assertEquals(compile("((a+b)*(c-d))/-a").evaluate(values), 5, 0);
+	}
+
+	//test that the same compiled expression works with other values
+	@Test
+	public void testOtherValues() {
+		CompiledExpression expression = compile("a*b+c/d");
+
+		assertEquals(expression.evaluate(new double[] {1, 2, 3, 4}), 2.75, 0);
+		assertEquals(expression.evaluate(new double[] {0, 0, 1, 0}), Double.POSITIVE_INFINITY, 0);
+	}
+
+	//test that variables get slots in the order they first appear
+	@Test
+	public void testVariablesInOrderOfAppearance() {
+		CompiledExpression expression = CompiledExpression.build(NonTerminalSymbol.parseInput(Lexer.lex("x-y*x")).get());
+
+		assertEquals(expression.getVariables(), Arrays.asList(Variable.build("x"), Variable.build("y")));
+		assertEquals(expression.evaluate(new double[] {10, 3}), -20, 0);
+	}
+
+	//test that a long chain of operators compiles and evaluates
+	@Test
+	public void testLongExpression() {
+		StringBuilder input = new StringBuilder("a");
+		for (int i = 0; i < 1000; i++) {
+			input.append("+b");
+		}
+
+		assertEquals(compile(input.toString()).evaluate(new double[] {2, 3, 5, 7}), 3002, 0);
+	}
+
+	//test that a variable missing from the list is rejected
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownVariable() {
+		compile("a+e");
+	}
+
+	//test that too few values are rejected
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooFewValues() {
+		CompiledExpression.build(NonTerminalSymbol.parseInput(Lexer.lex("a+b")).get()).evaluate(new double[1]);
+	}
+}
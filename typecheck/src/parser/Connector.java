@@ -20,10 +20,10 @@ public final class Connector extends AbstractToken {
     private static final List<TerminalSymbol> operatorSymbols = Arrays.asList(TerminalSymbol.PLUS, TerminalSymbol.MINUS, TerminalSymbol.TIMES, TerminalSymbol.DIVIDE);
     
     //cache to keep track of connectors already created
-    private static Cache<TerminalSymbol, Connector> cache = new Cache<>();
+    private static final Cache<TerminalSymbol, Connector> cache = new Cache<>();
     
     //a generic function that can be used to call the constructor
-    static Function<TerminalSymbol, Connector> connectorConstructor = connectorType -> new Connector(connectorType);
+    static final Function<TerminalSymbol, Connector> connectorConstructor = connectorType -> new Connector(connectorType);
 
     public static final Connector empty = Connector.build(TerminalSymbol.EMPTY);
     
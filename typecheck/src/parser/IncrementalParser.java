@@ -0,0 +1,136 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Java class IncrementalParser
+ * This class holds the parse of a list of tokens together with the span of every
+ * nonterminal it matched, so that the tokens can be edited and parsed again without
+ * starting over. After an edit, every nonterminal whose tokens and lookahead lie
+ * entirely before or entirely after the edited range is reused as it is, and only
+ * the nonterminals around the edit are parsed again. The tails of sums and products
+ * that contain the edit are rebuilt from the operators and terms they already matched
+ * instead of being parsed again, and the tokens are kept in a TokenRope, so an edit
+ * does not copy the whole input either. The trees are the same as the ones from
+ * NonTerminalSymbol::parseInput on the edited tokens.
+ *
+ * The spans are shared with the parses edited from this one and updated in place, so
+ * only the latest parse of a chain of edits reuses them; editing an older parse again
+ * parses its edited tokens from the start.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class IncrementalParser {
+	//the tokens that were parsed
+	private final TokenBuffer tokens;
+
+	//the nonterminals matched while parsing the tokens, and while parsing the tokens before any edit
+	private final SpanTable spans;
+
+	//the version of the span table that matches the tokens
+	private final int version;
+
+	//the root of the parse tree, or empty if the tokens are not a valid expression
+	private final Optional<Node> tree;
+
+	//how many nonterminals were reused, parsed and rebuilt while parsing the tokens
+	private final int reusedCount;
+	private final int parsedCount;
+	private final int rebuiltCount;
+
+	/**
+	 * Constructor for an incremental parser, which parses the latest tokens of a span table that it has claimed
+	 * @param spans the tokens to parse, with the nonterminals that can be reused while parsing them
+	 */
+	private IncrementalParser(SpanTable spans) {
+		this.tokens = TokenBuffer.build(spans.tokens());
+		this.spans = spans;
+		this.tree = TableDrivenParser.parse(tokens, spans, null);
+		this.reusedCount = spans.reusedCount();
+		this.parsedCount = spans.parsedCount();
+		this.rebuiltCount = spans.rebuiltCount();
+		this.version = spans.publish();
+	}
+
+	/**
+	 * Parse a list of tokens, remembering the spans of its nonterminals for later edits
+	 * @param tokens the tokens to parse
+	 * @return the parse of the tokens
+	 */
+	public static IncrementalParser build(List<Token> tokens) {
+		Objects.requireNonNull(tokens, "tokens passed to IncrementalParser::build() cannot be null");
+
+		return new IncrementalParser(new SpanTable(tokens));
+	}
+
+	/**
+	 * Replace a range of the tokens and parse the result, reusing the unchanged parts of this parse
+	 * @param start the position of the first token to replace
+	 * @param end the position after the last token to replace (equal to start to only insert tokens)
+	 * @param replacement the tokens that take the place of the range (empty to only remove tokens)
+	 * @return the parse of the edited tokens, leaving this parse unchanged
+	 * @throws IndexOutOfBoundsException if the range is not within the tokens
+	 */
+	public IncrementalParser edit(int start, int end, List<Token> replacement) {
+		Objects.requireNonNull(replacement, "replacement passed to IncrementalParser::edit() cannot be null");
+		if (start < 0 || end < start || end > tokens.size()) {
+			throw new IndexOutOfBoundsException("range [" + start + ", " + end + ") passed to IncrementalParser::edit() is not within " + tokens.size() + " tokens");
+		}
+		if (replacement.contains(null)) {
+			throw new NullPointerException("replacement passed to IncrementalParser::edit() cannot contain null");
+		}
+
+		if (spans.edit(version, start, end, replacement)) {
+			return new IncrementalParser(spans);
+		}
+
+		//the spans were already updated for another edit of this parse
+		List<Token> edited = new ArrayList<>(getTokens());
+		edited.subList(start, end).clear();
+		edited.addAll(start, replacement);
+		return build(edited);
+	}
+
+	/**
+	 * Get the root of the parse tree
+	 * @return the root node, or an empty Optional if the tokens are not a valid expression
+	 */
+	public Optional<Node> getTree() {
+		return tree;
+	}
+
+	/**
+	 * Get the tokens that were parsed
+	 * @return an unmodifiable list of the tokens
+	 */
+	public List<Token> getTokens() {
+		return tokens.subList(0);
+	}
+
+	/**
+	 * Get how many nonterminals were reused from earlier parses while parsing these tokens
+	 * @return the number of reused nonterminals
+	 */
+	int reusedCount() {
+		return reusedCount;
+	}
+
+	/**
+	 * Get how many nonterminals were parsed while parsing these tokens
+	 * @return the number of nonterminals that were neither reused nor rebuilt
+	 */
+	int parsedCount() {
+		return parsedCount;
+	}
+
+	/**
+	 * Get how many nonterminals were rebuilt from the children they matched in earlier parses while parsing these tokens
+	 * @return the number of nonterminals that were rebuilt
+	 */
+	int rebuiltCount() {
+		return rebuiltCount;
+	}
+}
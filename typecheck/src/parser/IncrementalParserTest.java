@@ -0,0 +1,128 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * java class IncrementalParserTest
+ * The set of unit tests for the IncrementalParser class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class IncrementalParserTest {
+	//test that ranges outside of the tokens are rejected
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testRejectsBadRange() {
+		IncrementalParser.build(Lexer.lex("a+b")).edit(2, 4, Lexer.lex("c"));
+	}
+
+	//test that an edit gives the same tree as parsing the edited tokens, and leaves the old parse alone
+	@Test
+	public void testSimpleEdit() {
+		IncrementalParser parse = IncrementalParser.build(Lexer.lex("a+b*c"));
+		IncrementalParser edited = parse.edit(2, 3, Lexer.lex("(d-e)"));
+
+		assertEquals(edited.getTokens(), Lexer.lex("a+(d-e)*c"));
+		assertEquals(edited.getTree().get().toString(), "[a,+,[[(,[d,-,e],)],*,c]]");
+		assertEquals(parse.getTree().get().toString(), "[a,+,[b,*,c]]");
+	}
+
+	//test editing through tokens that are not a valid expression
+	@Test
+	public void testEditThroughInvalidInput() {
+		IncrementalParser parse = IncrementalParser.build(Lexer.lex("a+b"));
+		IncrementalParser invalid = parse.edit(3, 3, Lexer.lex("*"));
+		IncrementalParser valid = invalid.edit(4, 4, Lexer.lex("c"));
+
+		assertFalse(invalid.getTree().isPresent());
+		assertEquals(valid.getTree().get().toString(), "[a,+,[b,*,c]]");
+	}
+
+	//test that random edits always give the same tree as a full parse
+	@Test
+	public void testRandomEditsMatchFullParse() {
+		Random random = new Random(293);
+		for (int document = 0; document < 200; document++) {
+			List<Token> tokens = TableDrivenParserTest.tokens(TableDrivenParserTest.randomValidExpression(random, document % 2 == 0 ? 4 : 6));
+			IncrementalParser parse = IncrementalParser.build(tokens);
+
+			for (int edit = 0; edit < 20; edit++) {
+				int start = random.nextInt(tokens.size() + 1);
+				int end = start + random.nextInt(Math.min(3, tokens.size() - start) + 1);
+				List<Token> replacement = TableDrivenParserTest.tokens(random.nextBoolean()
+						? TableDrivenParserTest.randomValidExpression(random, 1)
+						: TableDrivenParserTest.randomExpression(random, random.nextInt(3)));
+
+				List<Token> expectedTokens = new ArrayList<>(tokens.subList(0, start));
+				expectedTokens.addAll(replacement);
+				expectedTokens.addAll(tokens.subList(end, tokens.size()));
+				tokens = expectedTokens;
+				parse = parse.edit(start, end, replacement);
+
+				Optional<Node> expected = NonTerminalSymbol.parseInput(tokens);
+				assertEquals(parse.getTokens(), tokens);
+				assertEquals(parse.getTree().map(Node::toString), expected.map(Node::toString));
+			}
+		}
+	}
+
+	//test that an edit near the start of a long expression reuses everything after it
+	@Test
+	public void testEditReusesRestOfInput() {
+		StringBuilder expression = new StringBuilder("(a+b)");
+		for (int i = 0; i < 2000; i++) {
+			expression.append(i % 2 == 0 ? "+c" : "*(d-e)");
+		}
+		IncrementalParser parse = IncrementalParser.build(Lexer.lex(expression));
+		IncrementalParser edited = parse.edit(3, 4, Lexer.lex("x"));
+
+		assertTrue(parse.parsedCount() > 10000);
+		assertTrue(edited.parsedCount() < 20);
+		assertTrue(edited.reusedCount() > 0);
+		assertEquals(edited.getTree().map(Node::toString),
+				TableDrivenParser.parseInput(Lexer.lex(expression.replace(3, 4, "x"))).map(Node::toString));
+	}
+
+	//test that an edit at the end of a long expression only parses the nonterminals around it, and rebuilds the tails that contain it
+	@Test
+	public void testEditAtEndParsesLittle() {
+		StringBuilder expression = new StringBuilder("(a+b)");
+		for (int i = 0; i < 2000; i++) {
+			expression.append(i % 2 == 0 ? "+c" : "*(d-e)");
+		}
+		List<Token> tokens = Lexer.lex(expression);
+		IncrementalParser parse = IncrementalParser.build(tokens);
+		IncrementalParser edited = parse.edit(tokens.size() - 2, tokens.size() - 1, Lexer.lex("x"));
+		IncrementalParser appended = edited.edit(tokens.size(), tokens.size(), Lexer.lex("+y"));
+
+		assertTrue(edited.parsedCount() < 20);
+		assertTrue(appended.parsedCount() < 20);
+		//one tail for each of the 1001 terms before the edit
+		assertTrue(edited.rebuiltCount() < 1100);
+		assertEquals(edited.getTree().map(Node::toString),
+				TableDrivenParser.parseInput(Lexer.lex(expression.replace(expression.length() - 2, expression.length() - 1, "x"))).map(Node::toString));
+		assertEquals(appended.getTree().map(Node::toString),
+				TableDrivenParser.parseInput(Lexer.lex(expression.append("+y"))).map(Node::toString));
+	}
+
+	//test that a parse that was already edited can be edited again, and that the later parse is unaffected
+	@Test
+	public void testEditOlderParse() {
+		IncrementalParser parse = IncrementalParser.build(Lexer.lex("a+b*c"));
+		IncrementalParser first = parse.edit(4, 5, Lexer.lex("d"));
+		IncrementalParser second = parse.edit(0, 1, Lexer.lex("(e-f)"));
+		IncrementalParser third = first.edit(0, 0, Lexer.lex("-"));
+
+		assertEquals(second.getTree().get().toString(), "[[(,[e,-,f],)],+,[b,*,c]]");
+		assertEquals(third.getTree().get().toString(), "[[-,a],+,[b,*,d]]");
+		assertEquals(first.getTree().get().toString(), "[a,+,[b,*,d]]");
+		assertEquals(first.getTokens(), Lexer.lex("a+b*d"));
+	}
+}
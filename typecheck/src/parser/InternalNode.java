@@ -1,11 +1,11 @@
 package parser;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Deque;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Objects;
-import java.util.stream.Collectors;
 import java.util.Optional;
 
 /**
@@ -18,13 +18,31 @@ import java.util.Optional;
  */
 public class InternalNode implements Node {
 	//the children of this node
-	private final List<Node> children;	
+	private final Node[] children;
 	
-	//a cached representation of the tokens that are are children of this internal node (null if not generated)
-	private List<Token> cachedTokenList = null;
+	//a read-only view of the children of this node, handed out by getChildren()
+	private final List<Node> childList;
 	
-	//a cached string representation of the children of this node (null if not generated)
-	private String cachedStringRepresentation = null;
+	//the structural hash code of this node, computed from the (cached) hash codes of the children
+	private final int hash;
+	
+	//a cached representation of the tokens that are are children of this internal node (computed on first use)
+	private final Lazy<List<Token>> cachedTokenList;
+	
+	//a cached string representation of the children of this node (computed on first use)
+	private final Lazy<String> cachedStringRepresentation;
+	
+	//the width of this node when printed as a tree
+	private final int width;
+	
+	//the number of levels below this node
+	private final int depth;
+	
+	//the number of tokens below this node
+	private final int tokenCount;
+	
+	//the number of operators below this node
+	private final int operatorCount;
 	
 	//the characters used in representing the tree as a string
 	private static final String representationOpenBracket = "[";
@@ -33,11 +51,31 @@ public class InternalNode implements Node {
 
 	/**
 	 * Constructor for creating an internal node
-	 * @param children the child nodes of this internal node
+	 * @param children the child nodes of this internal node, which must not be changed afterwards
 	 */
-	private InternalNode(List<Node> children) {
-		//store a copy of the list of children provided
-		this.children = ListHandler.shallowCopy(children);
+	private InternalNode(Node[] children) {
+		this.children = children;
+		this.childList = Collections.unmodifiableList(Arrays.asList(children));
+		this.hash = Arrays.hashCode(children);
+		
+		//the children are complete, so their metrics are known and these take constant time per child
+		int width = 2;
+		int depth = 0;
+		int tokenCount = 0;
+		int operatorCount = 0;
+		for (Node child : children) {
+			width += child.getWidth();
+			depth = Math.max(depth, child.getDepth());
+			tokenCount += child.getTokenCount();
+			operatorCount += child.getOperatorCount();
+		}
+		this.width = width;
+		this.depth = depth + 1;
+		this.tokenCount = tokenCount;
+		this.operatorCount = operatorCount;
+		
+		this.cachedTokenList = Lazy.of(this::collectTokens);
+		this.cachedStringRepresentation = Lazy.of(this::render);
 	}
 	
 	/**
@@ -46,22 +84,107 @@ public class InternalNode implements Node {
 	 */
 	@Override
 	public List<Token> toList() {
-		return Collections.unmodifiableList(cachedTokenList = 
-				ObjectHandler.createObjectIfNull(cachedTokenList, 
-						(Void throwaway) -> {
-							return children.stream()
-								.map(node -> node.toList())
-								.collect(LinkedList::new, List::addAll, List::addAll);
-							}));
+		return cachedTokenList.get();
+	}
+	
+	/**
+	 * Collect the tokens of the leaves below this node, reusing the token lists already computed for
+	 * nodes below it but without computing new ones, so that deep trees take linear time and memory
+	 * @return an unmodifiable list of the tokens of all children
+	 */
+	private List<Token> collectTokens() {
+		List<Token> tokens = ListHandler.createEmptyList(tokenCount);
+		TreeWalker.walk(this, new NodeVisitor() {
+			@Override
+			public boolean enter(Node node) {
+				if (node != InternalNode.this && node instanceof InternalNode && ((InternalNode) node).cachedTokenList.isInitialized()) {
+					tokens.addAll(node.toList());
+					return false;
+				}
+				return true;
+			}
+			
+			@Override
+			public void visitLeaf(Node leaf) {
+				tokens.addAll(leaf.toList());
+			}
+		});
+		return Collections.unmodifiableList(tokens);
+	}
+	
+	/**
+	 * Build the string representation of this node, reusing the strings already computed for nodes below it
+	 * but without computing new ones, since the strings of all the nodes of a deep tree would take quadratic memory
+	 * @return the children of this node, separated by commas and surrounded by brackets
+	 */
+	private String render() {
+		StringBuilder representation = new StringBuilder();
+		TreeWalker.walk(this, new NodeVisitor() {
+			//whether a separator is needed before the next child
+			private boolean afterSibling = false;
+			
+			@Override
+			public boolean enter(Node node) {
+				appendSeparator();
+				if (node != InternalNode.this && node instanceof InternalNode && ((InternalNode) node).cachedStringRepresentation.isInitialized()) {
+					representation.append(node.toString());
+					afterSibling = true;
+					return false;
+				}
+				representation.append(representationOpenBracket);
+				return true;
+			}
+			
+			@Override
+			public void exit(Node node) {
+				representation.append(representationCloseBracket);
+				afterSibling = true;
+			}
+			
+			@Override
+			public void visitLeaf(Node leaf) {
+				appendSeparator();
+				representation.append(leaf.toString());
+				afterSibling = true;
+			}
+			
+			/**
+			 * Append a separator if the next node is not the first child of its parent
+			 */
+			private void appendSeparator() {
+				if (afterSibling) {
+					representation.append(representationSeparator);
+					afterSibling = false;
+				}
+			}
+		});
+		return representation.toString();
 	}
 	
 	/**
 	 * Getter for this internal node's children
-	 * @return list of children nodes
+	 * @return a read-only list of children nodes, which is not copied
 	 */
 	public List<Node> getChildren() {
-		//return a copy of the list of this node's children
-		return ListHandler.shallowCopy(children);
+		return childList;
+	}
+	
+	/**
+	 * Get the number of children of this node
+	 * @return the number of children
+	 */
+	public int childCount() {
+		return children.length;
+	}
+	
+	/**
+	 * Get a child of this node
+	 * @param index the position of the child, starting at 0
+	 * @return the child at the given position
+	 * @throws IndexOutOfBoundsException if there is no child at the given position
+	 */
+	public Node childAt(int index) {
+		return children[index];
 	}
 	
 	/**
@@ -72,7 +195,31 @@ public class InternalNode implements Node {
 	public static InternalNode build(List<Node> children) {
 		Objects.requireNonNull(children, "children passed on InternalNode::build() must not be null");
 		
-		return new InternalNode(children);
+		//store a copy of the list of children provided
+		return new InternalNode(children.toArray(new Node[0]));
+	}
+	
+	/**
+	 * Method that returns the internal node of an interner with the given children, so that equal subtrees are shared
+	 * @param children list of child nodes
+	 * @param interner the interner holding the shared nodes
+	 * @return the internal node of the interner that is equal to a node with the given children
+	 */
+	public static InternalNode build(List<Node> children, NodeInterner interner) {
+		Objects.requireNonNull(interner, "interner passed on InternalNode::build() must not be null");
+		
+		return (InternalNode) interner.intern(build(children));
+	}
+	
+	/**
+	 * Method that creates an internal node from a range of an array of child nodes
+	 * @param children the array holding the child nodes
+	 * @param from the index of the first child
+	 * @param to the index after the last child
+	 * @return an internal node with a copy of the children in the range
+	 */
+	static InternalNode build(Node[] children, int from, int to) {
+		return new InternalNode(Arrays.copyOfRange(children, from, to));
 	}
 	
 	/**
@@ -81,12 +228,61 @@ public class InternalNode implements Node {
 	 * @return a string representation of the node
 	 */
 	public String toString() {
-		return cachedStringRepresentation = ObjectHandler.createObjectIfNull(cachedStringRepresentation, 
-				(Void throwaway) -> {
-					return children.stream()
-							.map(child -> child.toString())
-							.collect(Collectors.joining(representationSeparator, representationOpenBracket, representationCloseBracket));
-				});
+		return cachedStringRepresentation.get();
+	}
+	
+	/**
+	 * Compare this node with another node by structure
+	 * @param o the object to compare with
+	 * @return true if o is an internal node whose children are equal to the children of this node, false otherwise
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		}
+		if (!(o instanceof InternalNode)) {
+			return false;
+		}
+		
+		//compare pairs of nodes from an explicit stack, so that deep trees can be compared
+		Deque<Node> left = new ArrayDeque<>();
+		Deque<Node> right = new ArrayDeque<>();
+		left.push(this);
+		right.push((Node) o);
+		while (!left.isEmpty()) {
+			Node first = left.pop();
+			Node second = right.pop();
+			if (first == second) {
+				continue;
+			}
+			if (!(first instanceof InternalNode) || !(second instanceof InternalNode)) {
+				if (!first.equals(second)) {
+					return false;
+				}
+				continue;
+			}
+			
+			InternalNode firstInternal = (InternalNode) first;
+			InternalNode secondInternal = (InternalNode) second;
+			if (firstInternal.hash != secondInternal.hash || firstInternal.children.length != secondInternal.children.length) {
+				return false;
+			}
+			for (int i = 0; i < firstInternal.children.length; i++) {
+				left.push(firstInternal.children[i]);
+				right.push(secondInternal.children[i]);
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Get the structural hash code of this node, which equal nodes share
+	 * @return the hash code, computed once when the node is created
+	 */
+	@Override
+	public int hashCode() {
+		return hash;
 	}
 	
 	/**
@@ -94,14 +290,14 @@ public class InternalNode implements Node {
 	 * @return An InternalNode object that is exactly the same as this object
 	 */
 	public Node clone() {
-		return InternalNode.build(children);
+		return new InternalNode(children);
 	}
 	
 	/**
 	 * Check if this node has children
 	 */
 	public boolean isFruitful() {
-		return ListHandler.nonEmptyList(getChildren());
+		return children.length > 0;
 	}
 	
 	/**
@@ -117,7 +313,7 @@ public class InternalNode implements Node {
 	 * @return Returns true if the first child of this node starts with an operator, false otherwise
 	 */
 	public boolean isStartedByOperator() {
-		return firstChild().map(node -> node.isOperator()).orElse(false);
+		return isFruitful() && children[0].isOperator();
 	}
 	
 	/**
@@ -125,7 +321,7 @@ public class InternalNode implements Node {
 	 * @return Returns the first child of this node or empty is the node has no child
 	 */
 	public Optional<Node> firstChild() {
-		return isFruitful() ? Optional.of(ListHandler.listHead(getChildren())) : Optional.empty();
+		return isFruitful() ? Optional.of(children[0]) : Optional.empty();
 	}
 	
 	/**
@@ -133,11 +329,39 @@ public class InternalNode implements Node {
 	 * @return Returns true if this node has only one child and the child is a leaf node, false otherwise
 	 */
 	public boolean isSingleLeafParent() {
-		return ListHandler.containsSingleItem(getChildren()) && firstChild().map(node -> node instanceof LeafNode).orElse(false);
+		return children.length == 1 && children[0] instanceof LeafNode;
 	}
 	
+	/**
+	 * Get the width of this node when the tree is printed
+	 * @return the sum of the widths of the children plus room for the brackets
+	 */
 	public int getWidth() {
-		return getChildren().stream().map(node -> node.getWidth()).collect(Collectors.summingInt(Integer::intValue)) + 2;
+		return width;
+	}
+	
+	/**
+	 * Get the number of levels below this node
+	 * @return one more than the greatest depth of the children, or 1 if there are none
+	 */
+	public int getDepth() {
+		return depth;
+	}
+	
+	/**
+	 * Get the number of tokens below this node
+	 * @return the size of toList(), without building it
+	 */
+	public int getTokenCount() {
+		return tokenCount;
+	}
+	
+	/**
+	 * Get the number of operators below this node
+	 * @return the number of leaves below this node that are operators
+	 */
+	public int getOperatorCount() {
+		return operatorCount;
 	}
 
 	public boolean isLeaf() {
@@ -145,8 +369,14 @@ public class InternalNode implements Node {
 	}
 	
 	public static class Builder {
-		//the children of this builder
-		private List<Node> children = ListHandler.createEmptyList();
+		//the number of children a builder has room for before it grows, enough for any production of the grammar
+		private static final int initialCapacity = 4;
+		
+		//the children of this builder, in the order they were added
+		private Node[] children = new Node[initialCapacity];
+		
+		//the number of children added to this builder
+		private int size = 0;
 		
 		/**
 		 * Add a child node to this builder
@@ -154,94 +384,158 @@ public class InternalNode implements Node {
 		 * @return Always returns true
 		 */
 		public boolean addChild(Node node) {
-			return children.add(node);
+			if (size == children.length) {
+				children = Arrays.copyOf(children, Math.max(initialCapacity, 2 * size));
+			}
+			children[size++] = node;
+			return true;
 		}
 		
 		/**
-		 * Get the children of this builder
-		 * @return Returns a copy of the children of this builder
+		 * Get the children added to this builder so far
+		 * @return a new array holding the children, in the order they were added
 		 */
-		private List<Node> getChildren() {
-			return ListHandler.shallowCopy(children);
+		Node[] children() {
+			return Arrays.copyOf(children, size);
 		}
 		
 		/**
-		 * If the only Node in this list is an InternalNode, replace that InternalNode with its children
-		 * @param list The list of Nodes being checked
-		 * @return If the only item in the provided list is an InternalNode, that InternalNode's children, the input list otherwise
+		 * Count the children of this builder that have children of their own (or are leaves)
+		 * @return the number of fruitful children
 		 */
-		private static List<Node> unnestSingleChildren(List<Node> list) {
-			return ListHandler.containsSingleItem(list) && ListHandler.listHead(list) instanceof InternalNode ? ListHandler.listHead(list).getChildren() : list;
+		private int fruitfulChildCount() {
+			int count = 0;
+			for (int i = 0; i < size; i++) {
+				if (children[i].isFruitful()) {
+					count++;
+				}
+			}
+			return count;
 		}
 		
 		/**
-		 * Add all items in a specified list to the current position at a list iterator
-		 * @param list The list of items to be added
-		 * @param iterator The iterator to which items are added
+		 * Find the first fruitful child of this builder
+		 * @return the index of the first fruitful child, or size if there is none
 		 */
-		private static <T> void addAllToListIterator(List<T> list, ListIterator<T> iterator) {
-			list.stream().forEachOrdered(item -> iterator.add(item));
+		private int firstFruitfulIndex() {
+			int index = 0;
+			while (index < size && !children[index].isFruitful()) {
+				index++;
+			}
+			return index;
 		}
 		
 		/**
-		 * Return whether a node starts with a binary operator, given the last child
-		 * (i.e. whether the a node starts with an operator and the previous node does NOT start with an operator)
-		 * @param curChild The node being checked
-		 * @param lastChild The node that appears before it
-		 * @return Returns true if curChild starts with a binary operator (given lastChild), false otherwise
+		 * Replace a node that is only the parent of a single leaf with its child
+		 * @param node The node being considered
+		 * @return The only child of the node if it is a single leaf parent, the node itself otherwise
 		 */
-		private static boolean startsWithBinaryOperator(Node curChild, Node lastChild) {
-			return !lastChild.isOperator() && curChild.isStartedByOperator();
+		private static Node replaceSingleLeafParent(Node node) {
+			return node.isSingleLeafParent() ? node.childAt(0) : node;
 		}
 		
 		/**
-		 * Remove unnecessarily nested operators from a list of nodes
-		 * @param list The list to remove nested operators from
-		 * @return Returns a list of nodes that is equivalent to the input list except that binary operators have been un-nested
+		 * Count the nodes a node following the first child is expanded into, since it is un-nested if it
+		 * starts with a binary operator (i.e. it starts with an operator and the first child is not an operator)
+		 * @param node The node to add
+		 * @param unnestOperators Whether the first child allows nodes that start with an operator to be un-nested
+		 * @return the number of children of the node if it is un-nested, 1 otherwise
 		 */
-		private static List<Node> unnestOperators(List<Node> list) {
-			List<Node> workingList = ListHandler.shallowCopy(list);
-			
-			if (workingList.size() > 1) {
-				ListIterator<Node> iterator = workingList.listIterator(1);
-				Node lastChild = ListHandler.listHead(workingList);
-				
-				while (iterator.hasNext()) {
-					Node curChild = iterator.next();
-					if (startsWithBinaryOperator(curChild, lastChild)) {
-						iterator.remove();
-						addAllToListIterator(curChild.getChildren(), iterator);
-					}
+		private static int unnestedCount(Node node, boolean unnestOperators) {
+			return unnestOperators && node.isStartedByOperator() ? node.childCount() : 1;
+		}
+		
+		/**
+		 * Write the nodes a node following the first child is expanded into, with single leaf parents replaced by their leaf
+		 * @param node The node to add
+		 * @param unnestOperators Whether the first child allows nodes that start with an operator to be un-nested
+		 * @param target the array receiving the nodes
+		 * @param index the position of the first node in the array
+		 * @return the position after the last node written
+		 */
+		private static int writeUnnested(Node node, boolean unnestOperators, Node[] target, int index) {
+			if (unnestOperators && node.isStartedByOperator()) {
+				for (int i = 0; i < node.childCount(); i++) {
+					target[index++] = replaceSingleLeafParent(node.childAt(i));
 				}
+			} else {
+				target[index++] = replaceSingleLeafParent(node);
+			}
+			return index;
+		}
+		
+		/**
+		 * Replace the only fruitful child of a node with its children, which are not filtered, as simplify does
+		 * @param head the only fruitful child, which is an internal node
+		 * @return an array holding exactly the simplified children
+		 */
+		private static Node[] expandOnlyChild(Node head) {
+			Node newHead = head.childAt(0);
+			boolean unnestOperators = !newHead.isOperator();
+			int count = 1;
+			for (int i = 1; i < head.childCount(); i++) {
+				count += unnestedCount(head.childAt(i), unnestOperators);
 			}
 			
-			return workingList;
+			Node[] simplified = new Node[count];
+			simplified[0] = replaceSingleLeafParent(newHead);
+			int index = 1;
+			for (int i = 1; i < head.childCount(); i++) {
+				index = writeUnnested(head.childAt(i), unnestOperators, simplified, index);
+			}
+			return simplified;
 		}
 		
 		/**
-		 * Replace each node that is only the parent of a single leaf with its child
-		 * @param list The list of nodes being considered
-		 * @return The same list of nodes, but with each InternalNode with only one child being replaced with its child
+		 * Simplify some children in one pass, as simplify does, into an array of exactly the right size
+		 * @param nodes the array holding the children
+		 * @param count the number of children
+		 * @return an array holding exactly the simplified children
 		 */
-		private static List<Node> replaceSingleLeafParent(List<Node> list){
-			return ListHandler.replaceItemsMatching(list, (Node node) -> { return node.isSingleLeafParent(); }, (Node node) -> { return ListHandler.listHead(node.getChildren()); });
+		private static Node[] simplifyChildren(Node[] nodes, int count) {
+			int headIndex = 0;
+			while (headIndex < count && !nodes[headIndex].isFruitful()) {
+				headIndex++;
+			}
+			if (headIndex == count) {
+				return new Node[0];
+			}
+			
+			Node head = nodes[headIndex];
+			boolean unnestOperators = !head.isOperator();
+			int simplifiedCount = 1;
+			for (int i = headIndex + 1; i < count; i++) {
+				if (nodes[i].isFruitful()) {
+					simplifiedCount += unnestedCount(nodes[i], unnestOperators);
+				}
+			}
+			if (simplifiedCount == 1) {
+				//the only child is replaced with its children
+				return head instanceof InternalNode ? expandOnlyChild(head) : new Node[] {head};
+			}
+			
+			Node[] simplified = new Node[simplifiedCount];
+			simplified[0] = replaceSingleLeafParent(head);
+			int index = 1;
+			for (int i = headIndex + 1; i < count; i++) {
+				if (nodes[i].isFruitful()) {
+					index = writeUnnested(nodes[i], unnestOperators, simplified, index);
+				}
+			}
+			return simplified;
 		}
 		
 		/**
-		 * Simplify this builder
+		 * Simplify this builder: throw out non-fruitful children, replace a single internal child with its
+		 * children, un-nest children that start with a binary operator and replace single leaf parents with their leaf.
+		 * All four steps are done in one pass over the children.
 		 * @return Returns a simplified version of this builder
 		 */
 		public Builder simplify() {
-			//throw out non-fruitful nodes
-			List<Node> newChildren = getChildren().stream().filter(child -> child.isFruitful()).collect(Collectors.toList());
-			newChildren = unnestSingleChildren(newChildren);
-			newChildren = unnestOperators(newChildren);
-			newChildren = replaceSingleLeafParent(newChildren);
-
-			InternalNode.Builder newBuilder = new InternalNode.Builder();
-			newBuilder.children = newChildren;
-			
-			return newBuilder;
+			Builder simplified = new Builder();
+			simplified.children = simplifyChildren(children, size);
+			simplified.size = simplified.children.length;
+			return simplified;
 		}
 		
 		/**
@@ -249,8 +543,80 @@ public class InternalNode implements Node {
 		 * @return a new InternalNode with the simplified children of this builder
 		 */
 		public InternalNode build() {
-			return new InternalNode(this.simplify().getChildren());
-		}	
+			return simplify().toNode();
+		}
+		
+		/**
+		 * Create the same InternalNode as simplify().build(), without the builder and the array of the first simplification.
+		 * Once the first fruitful child is known, the later children are visited twice: once to count the children
+		 * of the node, and once to expand each of them directly into an array of exactly that size, which becomes
+		 * the children of the node. A node left with fewer than two children is simplified one array at a time.
+		 * @return a new InternalNode with the twice simplified children of this builder
+		 */
+		public InternalNode buildSimplified() {
+			int headIndex = firstFruitfulIndex();
+			if (headIndex == size || fruitfulChildCount() == 1) {
+				//the only child is replaced with its children, which are then simplified once more, each pass into an array of exactly the right size
+				Node[] once = simplifyChildren(children, size);
+				return new InternalNode(simplifyChildren(once, once.length));
+			}
+			
+			Node head = children[headIndex];
+			Node newHead = replaceSingleLeafParent(head);
+			boolean unnestFirstPass = !head.isOperator();
+			boolean unnestSecondPass = !newHead.isOperator();
+			
+			int count = 1;
+			for (int i = headIndex + 1; i < size; i++) {
+				Node child = children[i];
+				if (!child.isFruitful()) {
+					continue;
+				}
+				if (unnestFirstPass && child.isStartedByOperator()) {
+					for (int j = 0; j < child.childCount(); j++) {
+						Node grandchild = child.childAt(j);
+						if (grandchild.isFruitful()) {
+							count += unnestedCount(replaceSingleLeafParent(grandchild), unnestSecondPass);
+						}
+					}
+				} else {
+					count += unnestedCount(replaceSingleLeafParent(child), unnestSecondPass);
+				}
+			}
+			if (count == 1) {
+				//every other child was un-nested into nothing, so the new head is the only child of the second pass
+				return new InternalNode(simplifyChildren(new Node[] {newHead}, 1));
+			}
+			
+			Node[] simplified = new Node[count];
+			simplified[0] = newHead;
+			int index = 1;
+			for (int i = headIndex + 1; i < size; i++) {
+				Node child = children[i];
+				if (!child.isFruitful()) {
+					continue;
+				}
+				if (unnestFirstPass && child.isStartedByOperator()) {
+					for (int j = 0; j < child.childCount(); j++) {
+						Node grandchild = child.childAt(j);
+						if (grandchild.isFruitful()) {
+							index = writeUnnested(replaceSingleLeafParent(grandchild), unnestSecondPass, simplified, index);
+						}
+					}
+				} else {
+					index = writeUnnested(replaceSingleLeafParent(child), unnestSecondPass, simplified, index);
+				}
+			}
+			return new InternalNode(simplified);
+		}
+		
+		/**
+		 * Create an InternalNode with exactly the children of this builder
+		 * @return a new InternalNode with the children of this builder, unchanged
+		 */
+		private InternalNode toNode() {
+			return new InternalNode(Arrays.copyOf(children, size));
+		}
 		
 	}
 	
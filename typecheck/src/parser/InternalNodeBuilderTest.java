@@ -0,0 +1,139 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * java class InternalNodeBuilderTest
+ * Compares InternalNode.Builder with the list based simplification it replaced
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class InternalNodeBuilderTest {
+	private static final Token[] leafTokens = {
+			Variable.build("a"), Variable.build("b"),
+			Connector.build(TerminalSymbol.PLUS), Connector.build(TerminalSymbol.MINUS),
+			Connector.build(TerminalSymbol.TIMES), Connector.build(TerminalSymbol.DIVIDE),
+			Connector.build(TerminalSymbol.OPEN), Connector.build(TerminalSymbol.CLOSE)
+	};
+
+	//test that an empty builder gives an empty node
+	@Test
+	public void testEmptyBuilder() {
+		assertEquals(new InternalNode.Builder().build().toString(), "[]");
+		assertEquals(new InternalNode.Builder().buildSimplified().toString(), "[]");
+	}
+
+	//test that a builder grows past its initial capacity
+	@Test
+	public void testManyChildren() {
+		InternalNode.Builder builder = new InternalNode.Builder();
+		List<Node> children = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Node child = LeafNode.build(leafTokens[i % 2]);
+			children.add(child);
+			builder.addChild(child);
+		}
+
+		assertEquals(builder.build().toString(), InternalNode.build(children).toString());
+	}
+
+	//test that the builder agrees with the old simplification on random children
+	@Test
+	public void testMatchesListSimplification() {
+		Random random = new Random(293);
+		for (int i = 0; i < 20000; i++) {
+			List<Node> children = randomChildren(random, 3);
+			InternalNode.Builder builder = new InternalNode.Builder();
+			children.forEach(builder::addChild);
+
+			List<Node> once = listSimplify(children);
+			String message = InternalNode.build(children).toString();
+			assertEquals(message, builder.build().toString(), InternalNode.build(once).toString());
+			assertEquals(message, builder.simplify().build().toString(), InternalNode.build(listSimplify(once)).toString());
+			assertEquals(message, builder.buildSimplified().toString(), InternalNode.build(listSimplify(once)).toString());
+		}
+	}
+
+	//test that a single fruitful child, as from UNARY -> FACTOR or a production with an empty tail, is simplified twice like simplify().build()
+	@Test
+	public void testSingleFruitfulChild() {
+		Node empty = InternalNode.build(new ArrayList<>());
+		for (String expression : new String[] {"a", "-a", "(a+b)", "a*b*c*d", "a+b+c+d+e"}) {
+			Node only = NonTerminalSymbol.parseInput(Lexer.lex(expression)).get();
+			InternalNode.Builder builder = new InternalNode.Builder();
+			builder.addChild(empty);
+			builder.addChild(only);
+			builder.addChild(empty);
+
+			assertEquals(expression, builder.buildSimplified(), builder.simplify().build());
+		}
+
+		//a simplified builder can still grow, even when it has no children
+		InternalNode.Builder simplified = new InternalNode.Builder().simplify();
+		simplified.addChild(LeafNode.build(leafTokens[0]));
+		assertEquals(simplified.build().toString(), "[a]");
+	}
+
+	//test that parsers using the builder still give the same trees as before
+	@Test
+	public void testParsedTreesUnchanged() {
+		assertEquals(NonTerminalSymbol.parseInput(Lexer.lex("a+b+c+d+e")).get().toString(), "[a,+,b,+,c,[+,d,[+,e]]]");
+		assertEquals(NonTerminalSymbol.parseInput(Lexer.lex("-(a+b)")).get().toString(), "[-,[(,[a,+,b],)]]");
+		assertEquals(NonTerminalSymbol.parseInput(Lexer.lex("a*-b")).get().toString(), "[a,*,-,b]");
+		assertEquals(NonTerminalSymbol.parseInput(Lexer.lex("((a))")).get().toString(), "[(,[(,a,)],)]");
+	}
+
+	/**
+	 * Generate random children for a builder, including empty and nested internal nodes
+	 * @param random the source of the random choices
+	 * @param depth the maximum depth of internal nodes among the children
+	 * @return the children
+	 */
+	private static List<Node> randomChildren(Random random, int depth) {
+		List<Node> children = new ArrayList<>();
+		int count = random.nextInt(5);
+		for (int i = 0; i < count; i++) {
+			if (depth > 0 && random.nextInt(3) == 0) {
+				children.add(InternalNode.build(randomChildren(random, depth - 1)));
+			} else {
+				children.add(LeafNode.build(leafTokens[random.nextInt(leafTokens.length)]));
+			}
+		}
+		return children;
+	}
+
+	/**
+	 * The simplification done by InternalNode.Builder::simplify before it worked in a single pass
+	 * @param children the children to simplify
+	 * @return the simplified children
+	 */
+	private static List<Node> listSimplify(List<Node> children) {
+		List<Node> list = children.stream().filter(Node::isFruitful).collect(Collectors.toList());
+		if (list.size() == 1 && list.get(0) instanceof InternalNode) {
+			list = new ArrayList<>(list.get(0).getChildren());
+		}
+
+		if (list.size() > 1) {
+			ListIterator<Node> iterator = list.listIterator(1);
+			Node lastChild = list.get(0);
+			while (iterator.hasNext()) {
+				Node child = iterator.next();
+				if (!lastChild.isOperator() && child.isStartedByOperator()) {
+					iterator.remove();
+					child.getChildren().forEach(iterator::add);
+				}
+			}
+		}
+
+		return list.stream()
+				.map(node -> node.isSingleLeafParent() ? node.getChildren().get(0) : node)
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,69 @@
+package parser;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Java class Lazy
+ * This class holds a value that is only computed the first time it is requested.
+ * The supplier is called at most once, even if several threads ask for the value
+ * at the same time, and the computed value is returned on every later call.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+final class Lazy<T> implements Supplier<T> {
+	//the supplier that computes the value (null once the value has been computed)
+	private Supplier<? extends T> supplier;
+
+	//the computed value (only meaningful once initialized is true)
+	private T value;
+
+	//whether the value has been computed, written last so that it publishes the value to other threads
+	private volatile boolean initialized = false;
+
+	/**
+	 * Constructor for a lazy value
+	 * @param supplier the supplier that computes the value when it is first requested
+	 */
+	private Lazy(Supplier<? extends T> supplier) {
+		this.supplier = supplier;
+	}
+
+	/**
+	 * Create a lazy value that is computed by the given supplier on first use
+	 * @param supplier the supplier that computes the value
+	 * @return a lazy value that has not been computed yet
+	 */
+	static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+		Objects.requireNonNull(supplier, "supplier passed to Lazy::of() cannot be null");
+
+		return new Lazy<>(supplier);
+	}
+
+	/**
+	 * Get the value, computing it if this is the first request
+	 * @return the value computed by the supplier
+	 */
+	@Override
+	public T get() {
+		if (!initialized) {
+			synchronized (this) {
+				if (!initialized) {
+					value = supplier.get();
+					initialized = true;
+					//the supplier is no longer needed, so let go of anything it captured
+					supplier = null;
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * See whether the value has already been computed
+	 * @return true if the value has been computed, false otherwise
+	 */
+	boolean isInitialized() {
+		return initialized;
+	}
+}
@@ -0,0 +1,115 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * java class LazyTest
+ * The set of unit tests for the Lazy class and the memoization that relies on it
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class LazyTest {
+	private final Node aVarNode = LeafNode.build(Variable.build("a"));
+	private final Node timesNode = LeafNode.build(Connector.build(TerminalSymbol.TIMES));
+
+	//test that Lazy::of() rejects a null supplier
+	@Test(expected = NullPointerException.class)
+	public void testRejectsNull() {
+		Lazy.of(null);
+	}
+
+	//test that the supplier is not called until the value is requested, and only once after that
+	@Test
+	public void testSupplierCalledOnce() {
+		AtomicInteger calls = new AtomicInteger();
+		Lazy<String> lazy = Lazy.of(() -> "value" + calls.incrementAndGet());
+
+		assertFalse(lazy.isInitialized());
+		assertEquals(calls.get(), 0);
+
+		assertEquals(lazy.get(), "value1");
+		assertEquals(lazy.get(), "value1");
+		assertTrue(lazy.isInitialized());
+		assertEquals(calls.get(), 1);
+	}
+
+	//test that a null value is remembered instead of being recomputed
+	@Test
+	public void testNullValueIsCached() {
+		AtomicInteger calls = new AtomicInteger();
+		Lazy<String> lazy = Lazy.of(() -> {
+			calls.incrementAndGet();
+			return null;
+		});
+
+		lazy.get();
+		lazy.get();
+		assertEquals(calls.get(), 1);
+	}
+
+	//test that many threads racing for the value only compute it once and all see the same instance
+	@Test
+	public void testConcurrentInitialization() throws InterruptedException {
+		AtomicInteger calls = new AtomicInteger();
+		Lazy<Object> lazy = Lazy.of(() -> {
+			calls.incrementAndGet();
+			return new Object();
+		});
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Object> seen = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				Object value = lazy.get();
+				synchronized (seen) {
+					seen.add(value);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(calls.get(), 1);
+		assertEquals(seen.size(), 8);
+		seen.forEach(value -> assertSame(value, seen.get(0)));
+	}
+
+	//test that InternalNode only builds its token list and string once
+	@Test
+	public void testInternalNodeMemoizes() {
+		InternalNode node = InternalNode.build(Arrays.asList(aVarNode, timesNode,
+				InternalNode.build(Arrays.asList(aVarNode, timesNode, aVarNode))));
+
+		assertSame(node.toList(), node.toList());
+		assertSame(node.toString(), node.toString());
+		assertEquals(node.toString(), "[a,*,[a,*,a]]");
+		assertEquals(node.getWidth(), 9);
+	}
+
+	//test that LeafNode does not build a new list every time
+	@Test
+	public void testLeafNodeMemoizes() {
+		assertSame(aVarNode.toList(), aVarNode.toList());
+		assertEquals(aVarNode.getWidth(), 1);
+	}
+}
@@ -1,6 +1,6 @@
 package parser;
 
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -18,12 +18,20 @@ public class LeafNode implements Node {
 	//the token represented by this leaf node
 	private final Token token;
 	
+	//the list representation of this leaf node, which never changes
+	private final List<Token> tokenList;
+	
+	//the width of this node when printed as a tree
+	private final int width;
+	
 	/**
 	 * Constructor for leaf node
 	 * @param token the token value for this leaf node
 	 */
 	private LeafNode(Token token) {
 		this.token = token;
+		this.tokenList = Collections.singletonList(token);
+		this.width = token.toString().length();
 	}
 	
 	/**
@@ -32,7 +40,7 @@ public class LeafNode implements Node {
 	 */
 	@Override
 	public List<Token> toList() {
-		return Arrays.asList(token);
+		return tokenList;
 	}
 	
 	/**
@@ -54,6 +62,19 @@ public class LeafNode implements Node {
 		return new LeafNode(token);
 	}
 	
+	/**
+	 * Method that returns the leaf node of an interner for a given token, so that equal leaves are shared
+	 * @param token the token to be stored in the leaf node
+	 * @param interner the interner holding the shared nodes
+	 * @return the leaf node of the interner that stores an equal token
+	 */
+	public static LeafNode build(Token token, NodeInterner interner) {
+		Objects.requireNonNull(token, "token provided to LeafNode::build must not be null");
+		Objects.requireNonNull(interner, "interner provided to LeafNode::build must not be null");
+		
+		return interner.leaf(token);
+	}
+	
 	/**
 	 * Method that returns a string representation of the token stored by this node
 	 * @return the string representation of this leaf node
@@ -62,6 +83,25 @@ public class LeafNode implements Node {
 		return token.toString();
 	}
 	
+	/**
+	 * Compare this leaf with another node
+	 * @param o the object to compare with
+	 * @return true if o is a leaf node with an equal token, false otherwise
+	 */
+	@Override
+	public boolean equals(Object o) {
+		return o == this || (o instanceof LeafNode && token.equals(((LeafNode) o).token));
+	}
+	
+	/**
+	 * Get the hash code of this leaf, which is that of its token
+	 * @return the hash code of the token
+	 */
+	@Override
+	public int hashCode() {
+		return token.hashCode();
+	}
+	
 	/**
 	 * Get the children of this node (null since there are no children of a leaf node)
 	 */
@@ -69,6 +109,24 @@ public class LeafNode implements Node {
 		return null;
 	}
 	
+	/**
+	 * Get the number of children of this node
+	 * @return Always returns 0 since leaves have no children
+	 */
+	public int childCount() {
+		return 0;
+	}
+	
+	/**
+	 * Get a child of this node
+	 * @param index the position of the child
+	 * @return never returns, since leaves have no children
+	 * @throws IndexOutOfBoundsException always
+	 */
+	public Node childAt(int index) {
+		throw new IndexOutOfBoundsException("leaf node " + this + " has no child at " + index);
+	}
+	
 	/**
 	 * Check if this node has data (always true since this is a leaf node)
 	 */
@@ -93,7 +151,19 @@ public class LeafNode implements Node {
 	}
 	
 	public int getWidth() {
-		return toString().length();
+		return width;
+	}
+	
+	public int getDepth() {
+		return 0;
+	}
+	
+	public int getTokenCount() {
+		return 1;
+	}
+	
+	public int getOperatorCount() {
+		return isOperator() ? 1 : 0;
 	}
 
 	public boolean isLeaf() { return true; }
@@ -0,0 +1,186 @@
+package parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Java class Lexer
+ * This class splits text into tokens. Variable names are runs of ASCII letters and
+ * digits, the characters + - * / ( ) are connectors, and every other character only
+ * separates tokens. This is the same language as the regular expression that
+ * UserInterface used to use, but the input is read in chunks and classified with a
+ * lookup table, so inputs of many megabytes can be split quickly. The tokens are
+ * collected as PackedTokens, which the lex methods return either as they are or as
+ * a list that reads from them.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class Lexer {
+	//how many characters are read from a Reader at a time
+	private static final int chunkSize = 8192;
+
+	//how many bytes of a file are mapped into memory at a time
+	private static final long mappedRegionSize = 64L * 1024 * 1024;
+
+	//the symbol for each ASCII character that is a connector, null for every other character
+	private static final TerminalSymbol[] connectors = new TerminalSymbol[128];
+
+	//whether each ASCII character can be part of a variable name
+	private static final boolean[] nameCharacters = new boolean[128];
+
+	static {
+		for (char c : "+-*/()".toCharArray()) {
+			connectors[c] = TerminalSymbol.symbolFor(c);
+		}
+		for (char c = 'a'; c <= 'z'; c++) {
+			nameCharacters[c] = true;
+		}
+		for (char c = 'A'; c <= 'Z'; c++) {
+			nameCharacters[c] = true;
+		}
+		for (char c = '0'; c <= '9'; c++) {
+			nameCharacters[c] = true;
+		}
+	}
+
+	//the tokens found so far
+	private final PackedTokens.Builder tokens = new PackedTokens.Builder();
+
+	//the characters of the variable name being read, which may span several chunks
+	private final StringBuilder name = new StringBuilder();
+
+	/**
+	 * Constructor for a lexer that has not seen any input yet
+	 */
+	private Lexer() {
+
+	}
+
+	/**
+	 * Split a string into tokens
+	 * @param input the text to split
+	 * @return the tokens of the text, in order
+	 */
+	public static List<Token> lex(CharSequence input) {
+		return lexPacked(input).asList();
+	}
+
+	/**
+	 * Split everything a reader provides into tokens, reading it in chunks
+	 * @param reader the reader providing the text, which is read to its end but not closed
+	 * @return the tokens of the text, in order
+	 * @throws IOException if the reader fails
+	 */
+	public static List<Token> lex(Reader reader) throws IOException {
+		return lexPacked(reader).asList();
+	}
+
+	/**
+	 * Split the contents of a file into tokens, mapping the file into memory rather than copying it
+	 * @param file the path of a file containing ASCII or UTF-8 text
+	 * @return the tokens of the file, in order
+	 * @throws IOException if the file cannot be read
+	 */
+	public static List<Token> lex(Path file) throws IOException {
+		return lexPacked(file).asList();
+	}
+
+	/**
+	 * Split a string into packed tokens
+	 * @param input the text to split
+	 * @return the tokens of the text, in order
+	 */
+	public static PackedTokens lexPacked(CharSequence input) {
+		Objects.requireNonNull(input, "input passed to Lexer::lex() cannot be null");
+
+		Lexer lexer = new Lexer();
+		for (int i = 0; i < input.length(); i++) {
+			lexer.accept(input.charAt(i));
+		}
+		return lexer.finish();
+	}
+
+	/**
+	 * Split everything a reader provides into packed tokens, reading it in chunks
+	 * @param reader the reader providing the text, which is read to its end but not closed
+	 * @return the tokens of the text, in order
+	 * @throws IOException if the reader fails
+	 */
+	public static PackedTokens lexPacked(Reader reader) throws IOException {
+		Objects.requireNonNull(reader, "reader passed to Lexer::lex() cannot be null");
+
+		Lexer lexer = new Lexer();
+		char[] chunk = new char[chunkSize];
+		int read;
+		while ((read = reader.read(chunk)) != -1) {
+			for (int i = 0; i < read; i++) {
+				lexer.accept(chunk[i]);
+			}
+		}
+		return lexer.finish();
+	}
+
+	/**
+	 * Split the contents of a file into packed tokens, mapping the file into memory rather than copying it
+	 * @param file the path of a file containing ASCII or UTF-8 text
+	 * @return the tokens of the file, in order
+	 * @throws IOException if the file cannot be read
+	 */
+	public static PackedTokens lexPacked(Path file) throws IOException {
+		Objects.requireNonNull(file, "file passed to Lexer::lex() cannot be null");
+
+		Lexer lexer = new Lexer();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long length = channel.size();
+			for (long position = 0; position < length; position += mappedRegionSize) {
+				MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(mappedRegionSize, length - position));
+				while (region.hasRemaining()) {
+					//bytes of multi-byte UTF-8 characters are all negative, so they are treated as separators
+					byte b = region.get();
+					lexer.accept(b < 0 ? '\u0080' : (char) b);
+				}
+			}
+		}
+		return lexer.finish();
+	}
+
+	/**
+	 * Handle the next character of the input
+	 * @param c the next character
+	 */
+	private void accept(char c) {
+		if (c < 128 && nameCharacters[c]) {
+			name.append(c);
+		} else {
+			endName();
+			if (c < 128 && connectors[c] != null) {
+				tokens.addConnector(connectors[c]);
+			}
+		}
+	}
+
+	/**
+	 * Emit the variable whose name is being read, if there is one
+	 */
+	private void endName() {
+		if (name.length() > 0) {
+			tokens.addVariable(name.toString());
+			name.setLength(0);
+		}
+	}
+
+	/**
+	 * Finish the input and return the tokens found
+	 * @return every token found
+	 */
+	private PackedTokens finish() {
+		endName();
+		return tokens.build();
+	}
+}
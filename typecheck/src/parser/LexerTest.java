@@ -0,0 +1,111 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * java class LexerTest
+ * The set of unit tests for the Lexer class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class LexerTest {
+	//split a string into tokens with the regular expression the user interface used before the lexer existed
+	private static List<Token> lexWithPattern(String input) {
+		Matcher m = Pattern.compile("([a-zA-Z0-9]+|\\+|\\-|\\*|/|\\(|\\))").matcher(input);
+		List<Token> tokens = new ArrayList<>();
+		while (m.find()) {
+			tokens.add(TerminalSymbol.stringToToken(m.group(0)));
+		}
+		return tokens;
+	}
+
+	//generate random text that mixes names, connectors, whitespace and other characters
+	private static String randomText(Random random, int length) {
+		String alphabet = "abcXYZ0189+-*/()  \t\n.,_é";
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return builder.toString();
+	}
+
+	//test that the lexer rejects null input
+	@Test(expected = NullPointerException.class)
+	public void testRejectsNull() {
+		Lexer.lex((CharSequence) null);
+	}
+
+	//test a simple expression
+	@Test
+	public void testSimpleExpression() {
+		assertEquals(Lexer.lex("(ab + c1)*-d"), Arrays.asList(
+				Connector.build(TerminalSymbol.OPEN),
+				Variable.build("ab"),
+				Connector.build(TerminalSymbol.PLUS),
+				Variable.build("c1"),
+				Connector.build(TerminalSymbol.CLOSE),
+				Connector.build(TerminalSymbol.TIMES),
+				Connector.build(TerminalSymbol.MINUS),
+				Variable.build("d")
+		));
+		assertTrue(Lexer.lex("  \t ").isEmpty());
+	}
+
+	//test that variables are interned like the rest of the parser expects
+	@Test
+	public void testInternsVariables() {
+		List<Token> tokens = Lexer.lex("xyz+xyz");
+		assertSame(tokens.get(0), tokens.get(2));
+		assertSame(tokens.get(0), Variable.build("xyz"));
+	}
+
+	//test that the lexer splits text exactly like the old regular expression did
+	@Test
+	public void testMatchesPattern() {
+		Random random = new Random(293);
+		for (int i = 0; i < 500; i++) {
+			String text = randomText(random, random.nextInt(40));
+			assertEquals(text, lexWithPattern(text), Lexer.lex(text));
+		}
+	}
+
+	//test that names are not split where the reader's chunks end
+	@Test
+	public void testReaderAcrossChunks() throws IOException {
+		StringBuilder text = new StringBuilder();
+		while (text.length() < 50_000) {
+			text.append("alpha1+beta2*(gamma3-delta4)/");
+		}
+		text.append("omega");
+
+		assertEquals(Lexer.lex(new StringReader(text.toString())), lexWithPattern(text.toString()));
+	}
+
+	//test that lexing a file through a memory map gives the same tokens as lexing its text
+	@Test
+	public void testFile() throws IOException {
+		String text = randomText(new Random(42), 20_000);
+		Path file = Files.createTempFile("lexer", ".txt");
+		try {
+			Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+			assertEquals(Lexer.lex(file), lexWithPattern(text));
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
@@ -1,11 +1,10 @@
 package parser;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public abstract class ListHandler {
 	/**
@@ -21,7 +20,31 @@ public abstract class ListHandler {
 	 * @return Returns a shallow copy of the list, or returns null if the list is null
 	 */
 	public static <T> List<T> shallowCopy(List<T> list) {
-		return ObjectHandler.returnIfNotNull(list, Optional.ofNullable(list).map(List::stream).orElseGet(Stream::empty).collect(Collectors.toList()));
+		return list == null ? null : new ArrayList<T>(list);
+	}
+	
+	/**
+	 * Make a copy of a list that cannot be changed
+	 * @param list The list to copy
+	 * @return Returns an unmodifiable, array-backed copy of the list
+	 */
+	public static <T> List<T> immutableCopy(List<T> list) {
+		return Collections.unmodifiableList(new ArrayList<T>(list));
+	}
+	
+	/**
+	 * Make a list of the given items that cannot be changed
+	 * @param items The items of the list
+	 * @return Returns an unmodifiable, array-backed list of the items
+	 */
+	@SafeVarargs
+	public static <T> List<T> immutableList(T... items) {
+		//the items are copied one by one, so the varargs array itself is never passed on
+		List<T> copy = new ArrayList<>(items.length);
+		for (T item : items) {
+			copy.add(item);
+		}
+		return Collections.unmodifiableList(copy);
 	}
 	
 	/**
@@ -48,10 +71,19 @@ public abstract class ListHandler {
 	
 	/**
 	 * Create an empty list
-	 * @return An empty list
+	 * @return An empty array-backed list
 	 */
 	public static <T> List<T> createEmptyList() {
-		return new LinkedList<T>();
+		return new ArrayList<T>();
+	}
+	
+	/**
+	 * Create an empty list with room for a given number of items
+	 * @param expectedSize The number of items the list is expected to hold
+	 * @return An empty array-backed list that holds expectedSize items without growing
+	 */
+	public static <T> List<T> createEmptyList(int expectedSize) {
+		return new ArrayList<T>(expectedSize);
 	}
 	
 	/**
@@ -0,0 +1,65 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * java class ListHandlerTest
+ * The set of unit tests for the list factories of ListHandler
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class ListHandlerTest {
+	//test that new lists support fast indexed access and can be filled
+	@Test
+	public void testEmptyListsAreArrayBacked() {
+		List<String> list = ListHandler.createEmptyList();
+		List<String> sized = ListHandler.createEmptyList(3);
+		list.add("a");
+		sized.addAll(Arrays.asList("a", "b", "c", "d"));
+
+		assertTrue(list instanceof RandomAccess);
+		assertTrue(sized instanceof RandomAccess);
+		assertEquals(ListHandler.listLast(sized), "d");
+	}
+
+	//test that a shallow copy is independent of the original
+	@Test
+	public void testShallowCopy() {
+		List<String> original = new ArrayList<>(Arrays.asList("a", "b"));
+		List<String> copy = ListHandler.shallowCopy(original);
+		original.add("c");
+
+		assertEquals(copy, Arrays.asList("a", "b"));
+		assertNull(ListHandler.shallowCopy(null));
+	}
+
+	//test that an immutable copy does not follow the original
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutableCopy() {
+		List<String> original = new ArrayList<>(Arrays.asList("a", "b"));
+		List<String> copy = ListHandler.immutableCopy(original);
+		original.set(0, "c");
+
+		assertEquals(ListHandler.listHead(copy), "a");
+		copy.add("d");
+	}
+
+	//test that an immutable list does not follow the array it was made from
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutableList() {
+		String[] items = {"a", "b"};
+		List<String> list = ListHandler.immutableList(items);
+		items[1] = "c";
+
+		assertEquals(ListHandler.listSecond(list), "b");
+		list.set(0, "d");
+	}
+}
@@ -20,11 +20,50 @@ public interface Node {
 	 */
 	List<Token> toList();
 	List<Node> getChildren();
+	
+	/**
+	 * Get the number of children of a node, without copying them
+	 * @return the number of children, which is 0 for a leaf
+	 */
+	int childCount();
+	
+	/**
+	 * Get a child of a node, without copying the children
+	 * @param index the position of the child, starting at 0
+	 * @return the child at the given position
+	 * @throws IndexOutOfBoundsException if there is no child at the given position
+	 */
+	Node childAt(int index);
+	
 	boolean isFruitful();
 	boolean isOperator();
 	boolean isStartedByOperator();
 	Optional<Node> firstChild();
 	boolean isSingleLeafParent();
+	
+	/**
+	 * Get the width of a node when its tree is printed, computed when the node is built
+	 * @return the length of the token of a leaf, or the sum of the widths of the children plus 2 for the brackets
+	 */
 	int getWidth();
+	
+	/**
+	 * Get the number of levels below a node, computed when the node is built
+	 * @return 0 for a leaf, or one more than the greatest depth of the children
+	 */
+	int getDepth();
+	
+	/**
+	 * Get the number of tokens stored in a node, computed when the node is built
+	 * @return the size of toList(), without building it
+	 */
+	int getTokenCount();
+	
+	/**
+	 * Get the number of operators stored in a node, computed when the node is built
+	 * @return the number of leaves below the node (or the node itself) that are operators
+	 */
+	int getOperatorCount();
+	
 	boolean isLeaf();
 }
@@ -0,0 +1,81 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * java class NodeChildrenTest
+ * The set of unit tests for the indexed access to the children of nodes
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class NodeChildrenTest {
+	private final Node aVarNode = LeafNode.build(Variable.build("a"));
+	private final Node timesNode = LeafNode.build(Connector.build(TerminalSymbol.TIMES));
+
+	//test that children can be read by position
+	@Test
+	public void testChildAt() {
+		Node node = InternalNode.build(Arrays.asList(aVarNode, timesNode, aVarNode));
+
+		assertEquals(node.childCount(), 3);
+		assertSame(node.childAt(0), aVarNode);
+		assertSame(node.childAt(1), timesNode);
+		assertSame(node.childAt(2), aVarNode);
+	}
+
+	//test that reading past the last child fails
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testChildAtOutOfBounds() {
+		InternalNode.build(Arrays.asList(aVarNode)).childAt(1);
+	}
+
+	//test that leaves have no children
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testLeafHasNoChildren() {
+		assertEquals(aVarNode.childCount(), 0);
+		aVarNode.childAt(0);
+	}
+
+	//test that the children are not copied on every call, and cannot be changed
+	@Test(expected = UnsupportedOperationException.class)
+	public void testChildrenReadOnly() {
+		Node node = InternalNode.build(Arrays.asList(aVarNode, timesNode, aVarNode));
+
+		assertSame(node.getChildren(), node.getChildren());
+		node.getChildren().set(0, timesNode);
+	}
+
+	//test that changing the list a node was built from does not change the node
+	@Test
+	public void testBuildCopiesChildren() {
+		List<Node> children = new ArrayList<>(Arrays.asList(aVarNode, timesNode, aVarNode));
+		Node node = InternalNode.build(children);
+		children.clear();
+
+		assertEquals(node.childCount(), 3);
+		assertEquals(node.toString(), "[a,*,a]");
+	}
+
+	//test the properties computed from the children
+	@Test
+	public void testChildProperties() {
+		Node empty = InternalNode.build(new ArrayList<>());
+		Node singleLeaf = InternalNode.build(Arrays.asList(aVarNode));
+		Node startedByOperator = InternalNode.build(Arrays.asList(timesNode, aVarNode));
+
+		assertFalse(empty.isFruitful());
+		assertFalse(empty.isStartedByOperator());
+		assertTrue(singleLeaf.isSingleLeafParent());
+		assertFalse(InternalNode.build(Arrays.asList(singleLeaf)).isSingleLeafParent());
+		assertTrue(startedByOperator.isStartedByOperator());
+		assertEquals(startedByOperator.getWidth(), 4);
+	}
+}
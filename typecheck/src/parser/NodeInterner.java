@@ -0,0 +1,207 @@
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Java class NodeInterner
+ * This class hash-conses parse trees: it keeps one shared node for each distinct
+ * subtree, so that nodes built through it are the same object whenever they are
+ * structurally equal, and trees become DAGs. Nodes are only shared when they are
+ * built through an interner; LeafNode::build and InternalNode::build without one
+ * still create a new node every time.
+ *
+ * The children of a shared node are shared nodes themselves, and two shared nodes
+ * are equal only if they are the same object, so the shared internal nodes are looked
+ * up by the identity of their children instead of by structural equality: a lookup
+ * takes time proportional to the number of children, not to the size of the subtree.
+ * A tree is interned from the leaves up, sharing the children of a node before the
+ * node itself, with an explicit stack so that interning a deep tree does not use the
+ * thread's stack; a subtree whose children are already shared is found without
+ * visiting anything below them.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class NodeInterner {
+	//the shared leaf of each token
+	private final Cache<Token, LeafNode> leaves;
+
+	//the shared internal nodes, each one keyed by its children
+	private final Cache<Children, InternalNode> internalNodes;
+
+	/**
+	 * Constructor for an interner
+	 * @param maximumSize how many leaves and how many internal nodes to keep at most
+	 */
+	private NodeInterner(int maximumSize) {
+		this.leaves = new Cache<>(maximumSize);
+		this.internalNodes = new Cache<>(maximumSize);
+	}
+
+	/**
+	 * Create an interner that keeps every node it has seen
+	 * @return a new, empty interner
+	 */
+	public static NodeInterner build() {
+		return new NodeInterner(Cache.UNBOUNDED);
+	}
+
+	/**
+	 * Create an interner that forgets the least recently used nodes once it holds too many.
+	 * A forgotten node stays valid, but nodes equal to it built afterwards are no longer shared with it.
+	 * @param maximumSize how many leaves and how many internal nodes to keep at most
+	 * @return a new, empty interner
+	 * @throws IllegalArgumentException if maximumSize is not positive
+	 */
+	public static NodeInterner build(int maximumSize) {
+		return new NodeInterner(maximumSize);
+	}
+
+	/**
+	 * Get the shared leaf for a token
+	 * @param token the token of the leaf
+	 * @return the shared leaf node storing a token equal to the given one
+	 */
+	LeafNode leaf(Token token) {
+		return leaves.get(token, LeafNode::build);
+	}
+
+	/**
+	 * Get the shared node that is structurally equal to a given tree, sharing the tree's own nodes where there is none yet
+	 * @param node the root of the tree
+	 * @return the shared node equal to the tree
+	 */
+	public Node intern(Node node) {
+		Objects.requireNonNull(node, "node passed to NodeInterner::intern() cannot be null");
+
+		Node shared = sharedIfPresent(node);
+		if (shared != null) {
+			return shared;
+		}
+
+		//share the children first, so that the shared node only has shared children
+		Deque<Frame> stack = new ArrayDeque<>();
+		stack.push(new Frame((InternalNode) node));
+		while (true) {
+			Frame frame = stack.peek();
+			if (frame.next < frame.children.length) {
+				Node child = frame.node.childAt(frame.next);
+				Node sharedChild = sharedIfPresent(child);
+				if (sharedChild == null) {
+					stack.push(new Frame((InternalNode) child));
+				} else {
+					frame.share(sharedChild);
+				}
+				continue;
+			}
+
+			stack.pop();
+			shared = internalNodes.get(new Children(Arrays.asList(frame.children)),
+					key -> frame.childrenShared ? frame.node : InternalNode.build(key.nodes));
+			if (stack.isEmpty()) {
+				return shared;
+			}
+			stack.peek().share(shared);
+		}
+	}
+
+	/**
+	 * Get the shared leaf for a leaf, or the shared internal node with the same children as an internal node if there is one
+	 * @param node the node to look up
+	 * @return the shared node, or null if the node is an internal node whose children are not the children of a shared node
+	 */
+	private Node sharedIfPresent(Node node) {
+		if (node instanceof LeafNode) {
+			return leaves.get(((LeafNode) node).getToken(), token -> (LeafNode) node);
+		}
+		if (!(node instanceof InternalNode)) {
+			throw new IllegalArgumentException("node passed to NodeInterner::intern() must be a LeafNode or an InternalNode");
+		}
+		return internalNodes.getIfPresent(new Children(node.getChildren()));
+	}
+
+	/**
+	 * The children of an internal node, which are equal to other children only if they are the same objects
+	 */
+	private static final class Children {
+		//the children, never modified after construction
+		private final List<Node> nodes;
+
+		//the hash code of the children, which is the structural hash code of their parent
+		private final int hash;
+
+		/**
+		 * Constructor for the key of some children
+		 * @param nodes the children, which must not be changed afterwards
+		 */
+		private Children(List<Node> nodes) {
+			this.nodes = nodes;
+			this.hash = nodes.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Children) || ((Children) o).nodes.size() != nodes.size()) {
+				return false;
+			}
+			List<Node> other = ((Children) o).nodes;
+			for (int i = 0; i < nodes.size(); i++) {
+				if (nodes.get(i) != other.get(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * An internal node whose children are being shared
+	 */
+	private static final class Frame {
+		//the node being shared
+		private final InternalNode node;
+
+		//the shared children found so far
+		private final Node[] children;
+
+		//the index of the next child to share
+		private int next = 0;
+
+		//whether every shared child so far is the child of the node itself
+		private boolean childrenShared = true;
+
+		/**
+		 * Constructor for the frame of a node none of whose children are shared yet
+		 * @param node the node being shared
+		 */
+		private Frame(InternalNode node) {
+			this.node = node;
+			this.children = new Node[node.childCount()];
+		}
+
+		/**
+		 * Record the shared node of the next child
+		 * @param shared the shared node equal to the next child
+		 */
+		private void share(Node shared) {
+			childrenShared &= shared == node.childAt(next);
+			children[next++] = shared;
+		}
+	}
+
+	/**
+	 * Get the number of distinct nodes this interner holds
+	 * @return the number of shared leaves and internal nodes
+	 */
+	public int size() {
+		return leaves.size() + internalNodes.size();
+	}
+}
@@ -0,0 +1,117 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * java class NodeInternerTest
+ * The set of unit tests for the NodeInterner class and the equality of nodes
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class NodeInternerTest {
+	private final Token aVarToken = Variable.build("a");
+	private final Token timesToken = Connector.build(TerminalSymbol.TIMES);
+
+	//test that structurally equal nodes are equal and have the same hash code
+	@Test
+	public void testStructuralEquality() {
+		Node first = TableDrivenParser.parseInput(Lexer.lex("(a+b)*c")).get();
+		Node second = TableDrivenParser.parseInput(Lexer.lex("(a+b)*c")).get();
+		Node other = TableDrivenParser.parseInput(Lexer.lex("(a+b)*d")).get();
+
+		assertNotSame(first, second);
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+		assertNotEquals(first, other);
+		assertNotEquals(LeafNode.build(aVarToken), InternalNode.build(Arrays.asList(LeafNode.build(aVarToken))));
+	}
+
+	//test that nodes built without an interner are still not shared
+	@Test
+	public void testNotSharedByDefault() {
+		assertFalse(LeafNode.build(timesToken) == LeafNode.build(timesToken));
+	}
+
+	//test that nodes built through an interner are shared
+	@Test
+	public void testBuildShares() {
+		NodeInterner interner = NodeInterner.build();
+		LeafNode a = LeafNode.build(aVarToken, interner);
+		LeafNode times = LeafNode.build(timesToken, interner);
+
+		assertSame(LeafNode.build(Variable.build("a"), interner), a);
+		assertSame(InternalNode.build(Arrays.asList(a, times, a), interner),
+				InternalNode.build(Arrays.asList(LeafNode.build(aVarToken), times, a), interner));
+	}
+
+	//test that equal subexpressions of a parse are the same object
+	@Test
+	public void testParseSharesSubtrees() {
+		NodeInterner interner = NodeInterner.build();
+		Node tree = TableDrivenParser.parseInput(Lexer.lex("(a+b)*(a+b)"), interner).get();
+
+		assertEquals(tree.toString(), "[[(,[a,+,b],)],*,[(,[a,+,b],)]]");
+		assertSame(tree.childAt(0), tree.childAt(2));
+		assertSame(TableDrivenParser.parseInput(Lexer.lex("(a+b)*(a+b)"), interner).get(), tree);
+	}
+
+	//test that interning an existing tree gives the same nodes as parsing through the interner
+	@Test
+	public void testInternExistingTree() {
+		NodeInterner interner = NodeInterner.build();
+		Random random = new Random(293);
+		for (int i = 0; i < 500; i++) {
+			String expression = TableDrivenParserTest.randomValidExpression(random, 3);
+			Node tree = TableDrivenParser.parseInput(Lexer.lex(expression)).get();
+			Node interned = interner.intern(tree);
+
+			assertEquals(interned, tree);
+			assertEquals(interned.toString(), tree.toString());
+			assertSame(TableDrivenParser.parseInput(Lexer.lex(expression), interner).get(), interned);
+		}
+	}
+
+	//test that interning deep trees only compares the children of each node, so that it takes time linear in the size of the trees
+	@Test(timeout = 10_000)
+	public void testInternDeepTrees() {
+		StringBuilder expression = new StringBuilder();
+		for (int i = 0; i < 20_000; i++) {
+			expression.append("(a*");
+		}
+		expression.append('b');
+		for (int i = 0; i < 20_000; i++) {
+			expression.append(')');
+		}
+
+		NodeInterner interner = NodeInterner.build(100);
+		for (int i = 0; i < 5; i++) {
+			Node tree = PrattParser.parseInput(Lexer.lex(expression)).get();
+			Node interned = interner.intern(tree);
+			assertSame(interner.intern(interned), interned);
+			assertTrue(interner.size() <= 200);
+		}
+	}
+
+	//test that a bounded interner stays within its size and still gives equal nodes
+	@Test
+	public void testBoundedInterner() {
+		NodeInterner interner = NodeInterner.build(4);
+		Random random = new Random(293);
+		for (int i = 0; i < 200; i++) {
+			String expression = TableDrivenParserTest.randomValidExpression(random, 2);
+			Node tree = TableDrivenParser.parseInput(Lexer.lex(expression), interner).get();
+
+			assertEquals(tree, TableDrivenParser.parseInput(Lexer.lex(expression)).get());
+			assertTrue(interner.size() <= 8);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+
+/**
+ * java class NodeMetricsTest
+ * The set of unit tests for the width, depth and counts stored in nodes
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class NodeMetricsTest {
+	//test the metrics of leaves
+	@Test
+	public void testLeafMetrics() {
+		Node variable = LeafNode.build(Variable.build("abc"));
+		Node plus = LeafNode.build(Connector.build(TerminalSymbol.PLUS));
+		Node open = LeafNode.build(Connector.build(TerminalSymbol.OPEN));
+
+		assertEquals(variable.getWidth(), 3);
+		assertEquals(variable.getDepth(), 0);
+		assertEquals(variable.getTokenCount(), 1);
+		assertEquals(variable.getOperatorCount(), 0);
+		assertEquals(plus.getOperatorCount(), 1);
+		assertEquals(open.getOperatorCount(), 0);
+	}
+
+	//test the metrics of an empty node
+	@Test
+	public void testEmptyNodeMetrics() {
+		Node empty = InternalNode.build(new ArrayList<>());
+
+		assertEquals(empty.getWidth(), 2);
+		assertEquals(empty.getDepth(), 1);
+		assertEquals(empty.getTokenCount(), 0);
+		assertEquals(empty.getOperatorCount(), 0);
+	}
+
+	//test the metrics of a parsed tree
+	@Test
+	public void testParsedTreeMetrics() {
+		Node root = NonTerminalSymbol.parseInput(Lexer.lex("a*(b+-c)/d")).get();
+
+		assertEquals(root.toString(), "[a,*,[(,[b,+,-,c],)],/,d]");
+		assertEquals(root.getWidth(), 16);
+		assertEquals(root.getDepth(), 3);
+		assertEquals(root.getTokenCount(), root.toList().size());
+		assertEquals(root.getOperatorCount(), 4);
+	}
+
+	//test that the picture of a tree has one line per level
+	@Test
+	public void testDepthIsLineCount() {
+		Node root = NonTerminalSymbol.parseInput(Lexer.lex("a*(b+-c)/((d))")).get();
+		String[] lines = UserInterface.getStringRepresentation(root).split("\n");
+
+		assertEquals(lines.length, root.getDepth() + 1);
+		assertEquals(lines[0].length(), root.getWidth());
+	}
+}
@@ -0,0 +1,36 @@
+package parser;
+
+/**
+ * Java interface NodeVisitor
+ * This interface is for code that walks a parse tree with TreeWalker, which
+ * calls it for every node in depth-first order without recursing, so that
+ * trees of any depth can be walked.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public interface NodeVisitor {
+	/**
+	 * Called when the walk reaches a node that is not a leaf, before its children
+	 * @param node the node being entered
+	 * @return true to walk the children of the node and then exit it, false to skip both
+	 */
+	default boolean enter(Node node) {
+		return true;
+	}
+
+	/**
+	 * Called after all the children of an entered node have been walked
+	 * @param node the node being exited
+	 */
+	default void exit(Node node) {
+
+	}
+
+	/**
+	 * Called when the walk reaches a leaf
+	 * @param leaf the leaf node
+	 */
+	default void visitLeaf(Node leaf) {
+
+	}
+}
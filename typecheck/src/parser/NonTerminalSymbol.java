@@ -13,15 +13,15 @@ import java.util.*;
 public enum NonTerminalSymbol implements Symbol{
 	EXPRESSION, EXPRESSION_TAIL, TERM, TERM_TAIL, UNARY, FACTOR;
 	
-	// Creating a hash table to represent productions
-    private static final Map<NonTerminalSymbol, Map<TerminalSymbol, SymbolSequence>> production = new HashMap<>();
+	// The parse table, compiled and checked at the end of the static initializer
+	// (read-only afterwards, so it can be shared between threads)
+    private static final ParseTable table;
     
-    private static Map<TerminalSymbol, SymbolSequence> getProductionTable(NonTerminalSymbol lookupSymbol) {
-    	return production.get(lookupSymbol);
-    }
+    // The entries of the parse table, only used while the static initializer adds them
+    private static ParseTable.Builder tableBuilder = new ParseTable.Builder(EXPRESSION);
     
     //hash table to map string to terminal symbol
-    private static Map<String, TerminalSymbol> mapSymbol= new HashMap<>();
+    private static final Map<String, TerminalSymbol> mapSymbol= new HashMap<>();
     
     /**
      * Add a production
@@ -30,8 +30,7 @@ public enum NonTerminalSymbol implements Symbol{
      * @param symbols The sequence of symbols for this production
      */
     private static void addProduction(NonTerminalSymbol lookupSymbol, TerminalSymbol lookAhead, SymbolSequence symbols) {
-    	production.putIfAbsent(lookupSymbol, new HashMap<>());
-    	getProductionTable(lookupSymbol).put(lookAhead, symbols);
+    	tableBuilder.add(lookupSymbol, lookAhead, symbols);
     }
     
     /**
@@ -51,8 +50,9 @@ public enum NonTerminalSymbol implements Symbol{
      * @return Returns a SymbolSequence containing a list with the first symbol followed by symbols in remainder
      */
     private static SymbolSequence makeSymbolSequence(TerminalSymbol firstSymbol, List<Symbol> remainder) {
-    	List<Symbol> symbols = ListHandler.shallowCopy(remainder);
-    	symbols.add(0, firstSymbol);
+    	List<Symbol> symbols = ListHandler.createEmptyList(remainder.size() + 1);
+    	symbols.add(firstSymbol);
+    	symbols.addAll(remainder);
     	return SymbolSequence.build(symbols);
     }
 	
@@ -97,6 +97,9 @@ public enum NonTerminalSymbol implements Symbol{
 	    mapSymbol.put("/", TerminalSymbol.DIVIDE);
 	    mapSymbol.put("(", TerminalSymbol.OPEN);
 	    mapSymbol.put(")", TerminalSymbol.CLOSE);   
+	    
+	    table = tableBuilder.build();
+	    tableBuilder = null;
 	}
 	
 	/**
@@ -108,7 +111,7 @@ public enum NonTerminalSymbol implements Symbol{
 	public static final Optional<Node> parseInput(List<Token> input) {
 		Objects.requireNonNull(input, "Input provided to NonTerminalSymbol::parseInput must not be null");
 		
-		ParseState state = EXPRESSION.parse(input);
+		ParseState state = EXPRESSION.parse(TokenBuffer.build(input), 0);
 		if (!state.getSuccess() || !state.hasNoRemainder()) {
 			return Optional.empty();
 		} else {
@@ -116,6 +119,23 @@ public enum NonTerminalSymbol implements Symbol{
 		}
 	}
 	
+	/**
+	 * Get the production to use for this symbol given the next token of the input
+	 * @param lookAhead the type of the next token, or null at the end of the input
+	 * @return the production to expand this symbol with, or null if there is none for this lookahead
+	 */
+	SymbolSequence productionFor(TerminalSymbol lookAhead) {
+		return table.production(this, lookAhead);
+	}
+	
+	/**
+	 * Get the parse table of the grammar, with its FIRST and FOLLOW sets
+	 * @return the parse table
+	 */
+	static ParseTable parseTable() {
+		return table;
+	}
+	
 	/**
 	 * Non-terminal parses its input by going through its productions
 	 *  in the order given by the table and attempting to match them to the input.
@@ -126,11 +146,19 @@ public enum NonTerminalSymbol implements Symbol{
 	public ParseState parse(List<Token> input) {
 		Objects.requireNonNull(input, "Input to NonTerminalSymbol::parse() cannot be null");
 		
-		TerminalSymbol lookAhead = input.isEmpty() ? null : ListHandler.listHead(input).getType();
-		if (getProductionTable(this).containsKey(lookAhead)) {
-			return getProductionTable(this).get(lookAhead).match(input);
-		} else {
-			return ParseState.FAILURE;
-		}
+		return parse(TokenBuffer.build(input), 0);
+	}
+	
+	/**
+	 * Non-terminal parses its input starting at a given position by expanding the production
+	 *  that the table gives for the token at that position. The nonterminals inside the production
+	 *  are expanded from an explicit stack, so deeply nested input does not overflow the thread's stack.
+	 * @param input the tokens being parsed
+	 * @param offset the position of the first token to parse
+	 * @return a ParseState corresponding to the parsing result
+	 */
+	@Override
+	public ParseState parse(TokenBuffer input, int offset) {
+		return TableDrivenParser.parse(this, input, offset, null, null);
 	}
 }
@@ -15,12 +15,12 @@ abstract class ObjectHandler {
 	}
 	
 	/**
-	 * Create an object with a given constructor if 
+	 * Create an object with a given constructor if the object to check is null
 	 * @param objectToCheck The object to check if it's null
-	 * @param constructor The constructor to use to create a new object if 
+	 * @param constructor The constructor to use to create a new object if objectToCheck is null (not called otherwise)
 	 * @return Returns the constructor applied if the object is null, and the checked object otherwise
 	 */
 	public static <T> T createObjectIfNull(T objectToCheck, Function<Void, T> constructor) {
-		return Optional.ofNullable(objectToCheck).orElse(constructor.apply(null));
+		return Optional.ofNullable(objectToCheck).orElseGet(() -> constructor.apply(null));
 	}
 }
@@ -0,0 +1,273 @@
+package parser;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Java class OptimizedProgram
+ * This class evaluates an expression after turning its postfix code into a graph in
+ * which every distinct subexpression appears once. Operations on the same operands
+ * are looked up in a table as they are built, so a subexpression that the tree repeats
+ * is computed once and its value shared, and the operands of + and * are put in a
+ * fixed order first so that a+b and b+a are shared as well. Every name is a variable
+ * with a slot, even one made of digits, as in the other evaluators and in TypeSynthesis,
+ * since the grammar has no literals to fold. Every value of the graph has its own
+ * register, and an evaluation computes the registers in order, so it does at most as
+ * many operations as PostfixProgram, and fewer whenever something was shared.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class OptimizedProgram {
+	//what computes each register: a slot to load or an operator from Postfix
+	private final int[] operators;
+
+	//the registers holding the operands of each operator (the right one is unused for a negation)
+	private final int[] lefts;
+	private final int[] rights;
+
+	//the register holding the value of the expression
+	private final int result;
+
+	//the variables of the expression, in the order of their slots
+	private final List<Variable> variables;
+
+	//the number of registers computed by an operator
+	private final int operationCount;
+
+	/**
+	 * Constructor for a program
+	 * @param graph the graph of the expression
+	 * @param result the register holding the value of the expression
+	 * @param variables the unmodifiable list of the variables, in the order of their slots
+	 */
+	private OptimizedProgram(Graph graph, int result, List<Variable> variables) {
+		this.operators = Arrays.copyOf(graph.operators, graph.size);
+		this.lefts = Arrays.copyOf(graph.lefts, graph.size);
+		this.rights = Arrays.copyOf(graph.rights, graph.size);
+		this.result = result;
+		this.variables = variables;
+
+		int count = 0;
+		for (int operator : operators) {
+			if (!Postfix.isLoad(operator)) {
+				count++;
+			}
+		}
+		this.operationCount = count;
+	}
+
+	/**
+	 * Compile an expression, giving its variables slots in the order they first appear
+	 * @param root the root of the parse tree
+	 * @return the program computing the expression
+	 * @throws IllegalArgumentException if the tree is not a valid expression
+	 */
+	public static OptimizedProgram build(Node root) {
+		return build(root, VariableSlots.build());
+	}
+
+	/**
+	 * Compile an expression with given slots, binding the variables that have none yet to the next free slots
+	 * @param root the root of the parse tree
+	 * @param slots the slots of the variables
+	 * @return the program computing the expression
+	 * @throws IllegalArgumentException if the tree is not a valid expression
+	 */
+	public static OptimizedProgram build(Node root, VariableSlots slots) {
+		Objects.requireNonNull(slots, "slots passed to OptimizedProgram::build() cannot be null");
+
+		int[] code = Postfix.compile(root, slots::bind);
+		Graph graph = new Graph();
+		int[] stack = new int[Postfix.maximumStack(code)];
+		int top = 0;
+		for (int instruction : code) {
+			if (Postfix.isLoad(instruction)) {
+				stack[top++] = graph.load(instruction);
+			} else if (instruction == Postfix.NEGATE) {
+				stack[top - 1] = graph.operation(instruction, stack[top - 1], stack[top - 1]);
+			} else {
+				top--;
+				stack[top - 1] = graph.operation(instruction, stack[top - 1], stack[top]);
+			}
+		}
+		return new OptimizedProgram(graph, stack[0], slots.getVariables());
+	}
+
+	/**
+	 * Get the variables of this program
+	 * @return an unmodifiable list of the variables, in the order of their slots
+	 */
+	public List<Variable> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Get the number of operators an evaluation applies
+	 * @return the number of operations left after sharing
+	 */
+	public int getOperationCount() {
+		return operationCount;
+	}
+
+	/**
+	 * Compute the value of the expression with double arithmetic
+	 * @param values the value of each variable, indexed by its slot
+	 * @return the value of the expression, the same as from PostfixProgram
+	 * @throws IllegalArgumentException if there are fewer values than variables
+	 */
+	public double evaluate(double[] values) {
+		Objects.requireNonNull(values, "values passed to OptimizedProgram::evaluate() cannot be null");
+		if (values.length < variables.size()) {
+			throw new IllegalArgumentException("expected " + variables.size() + " values but got " + values.length);
+		}
+
+		double[] registers = new double[operators.length];
+		for (int i = 0; i < operators.length; i++) {
+			int operator = operators[i];
+			if (Postfix.isLoad(operator)) {
+				registers[i] = values[operator];
+			} else {
+				registers[i] = apply(operator, registers[lefts[i]], registers[rights[i]]);
+			}
+		}
+		return registers[result];
+	}
+
+	/**
+	 * Apply an operator to its operands
+	 * @param operator the operator from Postfix
+	 * @param left the left operand, or the operand of a negation
+	 * @param right the right operand (ignored by a negation)
+	 * @return the value of the operation
+	 */
+	private static double apply(int operator, double left, double right) {
+		if (operator == Postfix.ADD) {
+			return left + right;
+		} else if (operator == Postfix.SUBTRACT) {
+			return left - right;
+		} else if (operator == Postfix.MULTIPLY) {
+			return left * right;
+		} else if (operator == Postfix.DIVIDE) {
+			return left / right;
+		}
+		return -left;
+	}
+
+	/**
+	 * The graph of an expression being built, in which each value is created once
+	 */
+	private static final class Graph {
+		//the number of registers a graph has room for before it grows
+		private static final int initialCapacity = 16;
+
+		//what computes each register and its operands (only the first size entries are used)
+		private int[] operators = new int[initialCapacity];
+		private int[] lefts = new int[initialCapacity];
+		private int[] rights = new int[initialCapacity];
+		private int size = 0;
+
+		//the registers created so far, found by what computes them through open addressing: each entry is
+		//a register plus one, or 0 if it is free, and the length is a power of two at least twice the size
+		private int[] table = new int[2 * initialCapacity];
+
+		/**
+		 * Get the register holding a variable
+		 * @param slot the slot of the variable
+		 * @return the register loading the slot
+		 */
+		private int load(int slot) {
+			return register(slot, 0, 0);
+		}
+
+		/**
+		 * Get the register holding the value of an operator
+		 * @param operator the operator from Postfix
+		 * @param left the register of the left operand, or of the operand of a negation
+		 * @param right the register of the right operand, or the same as left for a negation
+		 * @return the register holding the value of the operation
+		 */
+		private int operation(int operator, int left, int right) {
+			//addition and multiplication of doubles are commutative, so the operands are put in order
+			if ((operator == Postfix.ADD || operator == Postfix.MULTIPLY) && left > right) {
+				int swap = left;
+				left = right;
+				right = swap;
+			}
+			return register(operator, left, right);
+		}
+
+		/**
+		 * Get the register computed from given operands, adding it if there is none. Registers are compared
+		 * by what computes them, so two different operations never share a register however many there are.
+		 * @param operator what computes the register
+		 * @param left the register of the left operand
+		 * @param right the register of the right operand
+		 * @return the register
+		 */
+		private int register(int operator, int left, int right) {
+			int mask = table.length - 1;
+			int index = hash(operator, left, right) & mask;
+			while (table[index] != 0) {
+				int register = table[index] - 1;
+				if (operators[register] == operator && lefts[register] == left && rights[register] == right) {
+					return register;
+				}
+				index = (index + 1) & mask;
+			}
+
+			int register = add(operator, left, right);
+			table[index] = register + 1;
+			if (2 * size > table.length) {
+				rehash();
+			}
+			return register;
+		}
+
+		/**
+		 * Double the length of the table, putting every register back in it
+		 */
+		private void rehash() {
+			table = new int[2 * table.length];
+			int mask = table.length - 1;
+			for (int register = 0; register < size; register++) {
+				int index = hash(operators[register], lefts[register], rights[register]) & mask;
+				while (table[index] != 0) {
+					index = (index + 1) & mask;
+				}
+				table[index] = register + 1;
+			}
+		}
+
+		/**
+		 * Mix what computes a register into a hash code whose low bits all depend on it
+		 * @param operator what computes the register
+		 * @param left the register of the left operand
+		 * @param right the register of the right operand
+		 * @return the hash code
+		 */
+		private static int hash(int operator, int left, int right) {
+			int hash = (31 * (31 * operator + left) + right) * 0x9E3779B9;
+			return hash ^ (hash >>> 16);
+		}
+
+		/**
+		 * Add a register, growing the arrays if they are full
+		 * @param operator what computes the register
+		 * @param left the register of the left operand
+		 * @param right the register of the right operand
+		 * @return the new register
+		 */
+		private int add(int operator, int left, int right) {
+			if (size == operators.length) {
+				operators = Arrays.copyOf(operators, 2 * size);
+				lefts = Arrays.copyOf(lefts, 2 * size);
+				rights = Arrays.copyOf(rights, 2 * size);
+			}
+			operators[size] = operator;
+			lefts[size] = left;
+			rights[size] = right;
+			return size++;
+		}
+	}
+}
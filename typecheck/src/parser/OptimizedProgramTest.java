@@ -0,0 +1,79 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * java class OptimizedProgramTest
+ * The set of unit tests for the OptimizedProgram class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class OptimizedProgramTest {
+	/**
+	 * Compile an expression whose variables are a, b, c and d, in that order
+	 * @param expression the expression to parse
+	 * @return the optimized program computing the expression
+	 */
+	private static OptimizedProgram compile(String expression) {
+		return TestExpressions.compile(expression, OptimizedProgram::build);
+	}
+
+	//test that repeated subexpressions are computed once
+	@Test
+	public void testCommonSubexpressions() {
+		assertEquals(compile("(a+b)*(a+b)").getOperationCount(), 2);
+		assertEquals(compile("(a+b)*(b+a)").getOperationCount(), 2);
+		assertEquals(compile("(a-b)*(b-a)").getOperationCount(), 3);
+		assertEquals(compile("a*b+c-a*b/(c-a*b)").getOperationCount(), 5);
+		assertEquals(compile("(a+b)*(a+b)").evaluate(new double[] {2, 3, 0, 0}), 25, 0);
+	}
+
+	//test that a large expression keeps distinct operations apart and shares the repeated ones
+	@Test
+	public void testManyRegisters() {
+		StringBuilder sum = new StringBuilder("v0*v1");
+		for (int i = 1; i < 1000; i++) {
+			sum.append("+v").append(i).append("*v").append(i + 1);
+		}
+		Node tree = NonTerminalSymbol.parseInput(Lexer.lex(sum + "-(" + sum + ")")).get();
+		OptimizedProgram program = OptimizedProgram.build(tree);
+		double[] values = new double[program.getVariables().size()];
+		Arrays.fill(values, 1.5);
+		values[7] = -2;
+
+		assertEquals(program.getOperationCount(), 2000);
+		assertEquals(program.evaluate(values), PostfixProgram.build(tree).evaluate(values), 0);
+	}
+
+	//test that names made of digits are variables with slots, as in PostfixProgram
+	@Test
+	public void testDigitNamesAreVariables() {
+		Node tree = NonTerminalSymbol.parseInput(Lexer.lex("x*10+y")).get();
+		OptimizedProgram program = OptimizedProgram.build(tree);
+		double[] values = {1.5, 4, 2};
+
+		assertEquals(program.getVariables(), Arrays.asList(Variable.build("x"), Variable.build("10"), Variable.build("y")));
+		assertEquals(program.getVariables(), PostfixProgram.build(tree).getVariables());
+		assertEquals(program.evaluate(values), PostfixProgram.build(tree).evaluate(values), 0);
+	}
+
+	//test that random expressions get the same value as from PostfixProgram, with no more operations
+	@Test
+	public void testMatchesPostfixProgram() {
+		Random random = new Random(293);
+		double[] values = {1.5, -2.25, 3.75, 0.5};
+		for (int i = 0; i < 2000; i++) {
+			String expression = TestExpressions.randomExpression(random, 2);
+			Node tree = TestExpressions.parse(expression);
+			PostfixProgram program = PostfixProgram.build(tree, TestExpressions.slots());
+
+			assertEquals(expression, compile(expression).evaluate(values), program.evaluate(values), 0);
+			assertTrue(expression, compile(expression).getOperationCount() <= tree.getOperatorCount());
+		}
+	}
+}
@@ -0,0 +1,295 @@
+package parser;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Java class PackedTokens
+ * This class stores a sequence of tokens as primitive codes instead of objects: the
+ * ordinal of the TerminalSymbol of every token, and for variables an index into a
+ * table holding each distinct name once. A token takes 8 bytes however long its name
+ * is, and the parser reads the symbols without touching any Token object. The tokens
+ * can still be read as a List, whose variables are built once per distinct name.
+ * Packed tokens are equal when they hold the same tokens, and their hash code is
+ * computed once from the codes and names, so they serve as compact keys.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class PackedTokens {
+	//the index stored for tokens that are not variables
+	static final int NO_NAME = -1;
+
+	//the symbols in the order of their ordinals, so that codes can be turned back into symbols
+	private static final TerminalSymbol[] symbols = TerminalSymbol.values();
+
+	//the connector of each symbol, or null for symbols that are not connectors
+	private static final Connector[] connectors = new Connector[symbols.length];
+
+	static {
+		for (TerminalSymbol symbol : symbols) {
+			if (symbol != TerminalSymbol.VARIABLE) {
+				connectors[symbol.ordinal()] = Connector.build(symbol);
+			}
+		}
+	}
+
+	//the ordinal of the symbol of each token
+	private final int[] codes;
+
+	//the index in names of the name of each variable, or NO_NAME for connectors
+	private final int[] nameIndices;
+
+	//the distinct variable names, in the order they first appear
+	private final String[] names;
+
+	//the variable for each name, built the first time a token with that name is read as an object
+	private final Variable[] variables;
+
+	//the tokens as a read-only list
+	private final List<Token> tokenList = new TokenList();
+
+	//the hash code of the tokens, computed from the codes, name indices and names
+	private final int hash;
+
+	/**
+	 * Constructor for packed tokens
+	 * @param codes the ordinal of the symbol of each token, not shared with anyone else
+	 * @param nameIndices the index of the name of each token, not shared with anyone else
+	 * @param names the distinct variable names, not shared with anyone else
+	 */
+	private PackedTokens(int[] codes, int[] nameIndices, String[] names) {
+		this.codes = codes;
+		this.nameIndices = nameIndices;
+		this.names = names;
+		this.variables = new Variable[names.length];
+		this.hash = 31 * (31 * Arrays.hashCode(codes) + Arrays.hashCode(nameIndices)) + Arrays.hashCode(names);
+	}
+
+	/**
+	 * Pack a list of tokens
+	 * @param tokens the tokens to pack
+	 * @return packed tokens equal to the given tokens, in the same order
+	 */
+	public static PackedTokens build(List<Token> tokens) {
+		Objects.requireNonNull(tokens, "tokens passed to PackedTokens::build() cannot be null");
+
+		Builder builder = new Builder();
+		for (Token token : tokens) {
+			if (token instanceof Variable) {
+				builder.addVariable(((Variable) token).getRepresentation());
+			} else {
+				builder.addConnector(Objects.requireNonNull(token, "tokens passed to PackedTokens::build() cannot contain null").getType());
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Get the number of tokens
+	 * @return the number of tokens
+	 */
+	public int size() {
+		return codes.length;
+	}
+
+	/**
+	 * Get the code of the token at a given position
+	 * @param index the position of the token
+	 * @return the ordinal of the TerminalSymbol of the token
+	 */
+	public int codeAt(int index) {
+		return codes[index];
+	}
+
+	/**
+	 * Get the type of the token at a given position
+	 * @param index the position of the token
+	 * @return the TerminalSymbol of the token
+	 */
+	public TerminalSymbol typeAt(int index) {
+		return symbols[codes[index]];
+	}
+
+	/**
+	 * Get the index of the name of the token at a given position
+	 * @param index the position of the token
+	 * @return the index of the name of the variable in the name table, or -1 if the token is not a variable
+	 */
+	public int nameIndexAt(int index) {
+		return nameIndices[index];
+	}
+
+	/**
+	 * Get the number of distinct variable names
+	 * @return the size of the name table
+	 */
+	public int nameCount() {
+		return names.length;
+	}
+
+	/**
+	 * Get a name from the name table
+	 * @param nameIndex the index of the name
+	 * @return the name at that index
+	 */
+	public String name(int nameIndex) {
+		return names[nameIndex];
+	}
+
+	/**
+	 * Get the token at a given position as an object
+	 * @param index the position of the token
+	 * @return the variable or connector at that position
+	 */
+	public Token tokenAt(int index) {
+		int nameIndex = nameIndices[index];
+		if (nameIndex == NO_NAME) {
+			return connectors[codes[index]];
+		}
+
+		//several threads may build the same variable, but they all build an equal one
+		Variable variable = variables[nameIndex];
+		if (variable == null) {
+			variable = Variable.build(names[nameIndex]);
+			variables[nameIndex] = variable;
+		}
+		return variable;
+	}
+
+	/**
+	 * Get the tokens as a list, for code that works with tokens as objects
+	 * @return an unmodifiable list that reads the tokens from this object
+	 */
+	public List<Token> asList() {
+		return tokenList;
+	}
+
+	/**
+	 * Compare these tokens with other packed tokens
+	 * @param o the object to compare with
+	 * @return true if o is packed tokens holding the same tokens in the same order, false otherwise
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		}
+		if (!(o instanceof PackedTokens)) {
+			return false;
+		}
+
+		//names are numbered in the order they first appear, so the same tokens always have the same indices
+		PackedTokens other = (PackedTokens) o;
+		return hash == other.hash
+				&& Arrays.equals(codes, other.codes)
+				&& Arrays.equals(nameIndices, other.nameIndices)
+				&& Arrays.equals(names, other.names);
+	}
+
+	/**
+	 * Get the hash code of these tokens, which equal packed tokens share
+	 * @return the hash code, computed once when the tokens are packed
+	 */
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * A read-only view of the tokens as objects
+	 */
+	private final class TokenList extends AbstractList<Token> implements RandomAccess {
+		@Override
+		public Token get(int index) {
+			return tokenAt(index);
+		}
+
+		@Override
+		public int size() {
+			return codes.length;
+		}
+
+		/**
+		 * Get the tokens this list reads from
+		 * @return the packed tokens
+		 */
+		private PackedTokens packed() {
+			return PackedTokens.this;
+		}
+	}
+
+	/**
+	 * Get the packed tokens a list reads from, if it is the list of some packed tokens
+	 * @param tokens a list of tokens
+	 * @return the packed tokens whose asList() is the list, or null if it is any other list
+	 */
+	static PackedTokens unwrap(List<Token> tokens) {
+		return tokens instanceof TokenList ? ((TokenList) tokens).packed() : null;
+	}
+
+	/**
+	 * Builder that packs tokens one at a time
+	 */
+	static final class Builder {
+		//the number of tokens a builder has room for before it grows
+		private static final int initialCapacity = 16;
+
+		//the codes and name indices of the tokens added so far (only the first size entries are used)
+		private int[] codes = new int[initialCapacity];
+		private int[] nameIndices = new int[initialCapacity];
+		private int size = 0;
+
+		//the index of each name added so far
+		private final Map<String, Integer> nameTable = new HashMap<>();
+
+		/**
+		 * Add a connector
+		 * @param symbol the symbol of the connector
+		 */
+		void addConnector(TerminalSymbol symbol) {
+			add(symbol.ordinal(), NO_NAME);
+		}
+
+		/**
+		 * Add a variable
+		 * @param name the name of the variable
+		 */
+		void addVariable(String name) {
+			Integer nameIndex = nameTable.get(name);
+			if (nameIndex == null) {
+				nameIndex = nameTable.size();
+				nameTable.put(name, nameIndex);
+			}
+			add(TerminalSymbol.VARIABLE.ordinal(), nameIndex);
+		}
+
+		/**
+		 * Add a token, growing the arrays if they are full
+		 * @param code the ordinal of the symbol of the token
+		 * @param nameIndex the index of the name of the token
+		 */
+		private void add(int code, int nameIndex) {
+			if (size == codes.length) {
+				codes = Arrays.copyOf(codes, 2 * size);
+				nameIndices = Arrays.copyOf(nameIndices, 2 * size);
+			}
+			codes[size] = code;
+			nameIndices[size++] = nameIndex;
+		}
+
+		/**
+		 * Build the packed tokens added so far
+		 * @return packed tokens holding the added tokens in order
+		 */
+		PackedTokens build() {
+			String[] names = new String[nameTable.size()];
+			nameTable.forEach((name, index) -> names[index] = name);
+			return new PackedTokens(Arrays.copyOf(codes, size), Arrays.copyOf(nameIndices, size), names);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * java class PackedTokensTest
+ * The set of unit tests for the PackedTokens class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class PackedTokensTest {
+	//test that the codes and name table describe the tokens
+	@Test
+	public void testCodes() {
+		PackedTokens packed = Lexer.lexPacked("ab*(c+ab)");
+
+		assertEquals(packed.size(), 7);
+		assertEquals(packed.codeAt(1), TerminalSymbol.TIMES.ordinal());
+		assertEquals(packed.typeAt(0), TerminalSymbol.VARIABLE);
+		assertEquals(packed.typeAt(6), TerminalSymbol.CLOSE);
+		assertEquals(packed.nameCount(), 2);
+		assertEquals(packed.nameIndexAt(0), packed.nameIndexAt(5));
+		assertEquals(packed.name(packed.nameIndexAt(3)), "c");
+		assertEquals(packed.nameIndexAt(2), -1);
+	}
+
+	//test that the list view has the same tokens as packing a list of tokens
+	@Test
+	public void testAsList() {
+		List<Token> tokens = Arrays.asList(Variable.build("x"), Connector.build(TerminalSymbol.MINUS),
+				Connector.build(TerminalSymbol.OPEN), Variable.build("y"), Connector.build(TerminalSymbol.CLOSE));
+		List<Token> packed = PackedTokens.build(tokens).asList();
+
+		assertEquals(packed, tokens);
+		assertEquals(new ArrayList<>(packed), tokens);
+		assertSame(packed.get(0), packed.get(0));
+	}
+
+	//test that the list view cannot be changed
+	@Test(expected = UnsupportedOperationException.class)
+	public void testAsListReadOnly() {
+		Lexer.lexPacked("a+b").asList().set(0, Variable.build("c"));
+	}
+
+	//test that a packed token list cannot hold null
+	@Test(expected = NullPointerException.class)
+	public void testBuildNullToken() {
+		PackedTokens.build(Arrays.asList(Variable.build("a"), null));
+	}
+
+	//test that the parsers give the same trees from packed tokens as from tokens
+	@Test
+	public void testParsePacked() {
+		for (String input : new String[] {"a+b+c+d+e", "-(a+b)", "a*-b", "((a))", "a+(d-e)*c", "a+", ""}) {
+			PackedTokens packed = Lexer.lexPacked(input);
+			List<Token> tokens = new ArrayList<>(packed.asList());
+
+			assertEquals(input, TableDrivenParser.parsePacked(packed).toString(), TableDrivenParser.parseInput(tokens).toString());
+			assertEquals(input, NonTerminalSymbol.parseInput(packed.asList()).toString(), NonTerminalSymbol.parseInput(tokens).toString());
+		}
+	}
+
+	//test that editing packed tokens gives the same tokens as editing the tokens
+	@Test
+	public void testIncrementalEdit() {
+		IncrementalParser parser = IncrementalParser.build(Lexer.lex("a+b*c"))
+				.edit(1, 2, Lexer.lex("-"));
+
+		assertEquals(parser.getTokens(), Lexer.lex("a-b*c"));
+		assertEquals(parser.getTree(), NonTerminalSymbol.parseInput(Lexer.lex("a-b*c")));
+	}
+}
@@ -0,0 +1,322 @@
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Java class PackratParser
+ * This class parses tokens by trying the productions of each nonterminal in turn
+ * and backtracking to the next one when a production fails, so it can handle
+ * productions that need more than one token of lookahead. The outcome of every
+ * nonterminal at every position, whether a node and where it ended or a failure,
+ * is remembered in a table indexed by the ordinal of the nonterminal and the
+ * position, so each of them is parsed at most once and the time stays linear in the
+ * number of tokens however much the productions backtrack.
+ *
+ * The productions of a nonterminal are tried in order, and the first one that
+ * matches is used. Productions can be given for each lookahead, and the parser for
+ * the grammar of NonTerminalSymbol tries the single production of the parse table, so
+ * its trees and failures are the same as the ones from NonTerminalSymbol::parseInput.
+ * The nonterminals being parsed are kept on an explicit stack, as in
+ * TableDrivenParser, and left recursive productions fail.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class PackratParser {
+	//the parser for the productions of the parse table
+	private static final PackratParser grammarParser;
+
+	//the number of columns of the productions, one for each lookahead and one for the end of the input
+	private static final int columnCount = ParseTable.END_OF_INPUT + 1;
+
+	static {
+		ParseTable table = NonTerminalSymbol.parseTable();
+		SymbolSequence[][][] alternatives = new SymbolSequence[NonTerminalSymbol.values().length][columnCount][];
+		for (NonTerminalSymbol symbol : NonTerminalSymbol.values()) {
+			for (int column = 0; column < columnCount; column++) {
+				SymbolSequence production = table.production(symbol, column == ParseTable.END_OF_INPUT ? null : TerminalSymbol.values()[column]);
+				alternatives[symbol.ordinal()][column] = production == null ? new SymbolSequence[0] : new SymbolSequence[] {production};
+			}
+		}
+		grammarParser = new PackratParser(alternatives);
+	}
+
+	//the productions to try for each nonterminal and lookahead, in order, indexed by the ordinal of the nonterminal and then the column of the lookahead
+	private final SymbolSequence[][][] alternatives;
+
+	/**
+	 * Constructor for a packrat parser
+	 * @param alternatives the productions to try for each nonterminal and lookahead
+	 */
+	private PackratParser(SymbolSequence[][][] alternatives) {
+		this.alternatives = alternatives;
+	}
+
+	/**
+	 * Get the packrat parser for the grammar of NonTerminalSymbol
+	 * @return a parser that tries the productions of the parse table
+	 */
+	public static PackratParser build() {
+		return grammarParser;
+	}
+
+	/**
+	 * Create a packrat parser for other productions of the nonterminals, which may need backtracking,
+	 * trying every production of a nonterminal whatever the lookahead
+	 * @param alternatives the productions of each nonterminal in the order they are tried (a nonterminal without any never matches)
+	 * @return a parser that tries the given productions
+	 */
+	static PackratParser build(Map<NonTerminalSymbol, List<SymbolSequence>> alternatives) {
+		Objects.requireNonNull(alternatives, "alternatives passed to PackratParser::build() cannot be null");
+
+		//every production is tried whatever the lookahead
+		SymbolSequence[][][] table = new SymbolSequence[NonTerminalSymbol.values().length][columnCount][];
+		for (NonTerminalSymbol symbol : NonTerminalSymbol.values()) {
+			List<SymbolSequence> productions = alternatives.get(symbol);
+			Arrays.fill(table[symbol.ordinal()], productions == null ? new SymbolSequence[0] : productions.toArray(new SymbolSequence[0]));
+		}
+		return new PackratParser(table);
+	}
+
+	/**
+	 * Attempts to parse the input with an EXPRESSION, and returns the root node
+	 * if the parsing process is successful and has no remainder, and an empty Optional otherwise.
+	 * @param input a list of tokens
+	 * @return the root node of the parse tree, or an empty Optional if the input is not a valid expression
+	 */
+	public Optional<Node> parseInput(List<Token> input) {
+		Objects.requireNonNull(input, "Input provided to PackratParser::parseInput must not be null");
+
+		TokenBuffer buffer = TokenBuffer.build(input);
+		ParseState state = parse(NonTerminalSymbol.EXPRESSION, buffer, 0, new Memo(buffer.size()));
+		return state.getSuccess() && state.hasNoRemainder() ? Optional.of(state.getNode()) : Optional.empty();
+	}
+
+	/**
+	 * The outcome of every nonterminal at every position parsed so far
+	 */
+	static final class Memo {
+		//the value of ends for outcomes that are not known yet
+		private static final int UNKNOWN = 0;
+
+		//the value of ends for nonterminals that failed
+		private static final int FAILED = -1;
+
+		//the number of positions, which is one more than the number of tokens
+		private final int positions;
+
+		//the node matched by each nonterminal at each position, indexed by ordinal * positions + offset
+		private final Node[] nodes;
+
+		//one more than the position after the match of each nonterminal at each position, or UNKNOWN or FAILED
+		private final int[] ends;
+
+		//the number of nonterminals parsed, as opposed to looked up
+		private int expansions = 0;
+
+		/**
+		 * Constructor for an empty table
+		 * @param tokenCount the number of tokens of the input
+		 */
+		Memo(int tokenCount) {
+			this.positions = tokenCount + 1;
+			this.nodes = new Node[NonTerminalSymbol.values().length * positions];
+			this.ends = new int[NonTerminalSymbol.values().length * positions];
+		}
+
+		/**
+		 * Get the number of nonterminals that were parsed rather than looked up
+		 * @return the number of expansions
+		 */
+		int expansions() {
+			return expansions;
+		}
+	}
+
+	/**
+	 * A nonterminal that is being parsed, along with the production being tried
+	 */
+	private static final class Frame {
+		//the nonterminal being parsed
+		private final NonTerminalSymbol symbol;
+
+		//the position of the first token of the nonterminal
+		private final int offset;
+
+		//the productions of the nonterminal
+		private final SymbolSequence[] productions;
+
+		//the index of the production being tried
+		private int alternative = 0;
+
+		//the position of the next symbol of the production to match
+		private int position = 0;
+
+		//the position of the next token to match
+		private int cursor;
+
+		//the children matched so far by the production being tried
+		private InternalNode.Builder builder = new InternalNode.Builder();
+
+		/**
+		 * Constructor for a frame that tries the first production of a nonterminal
+		 * @param symbol the nonterminal to parse
+		 * @param offset the position of the first token to match
+		 * @param productions the productions of the nonterminal
+		 */
+		private Frame(NonTerminalSymbol symbol, int offset, SymbolSequence[] productions) {
+			this.symbol = symbol;
+			this.offset = offset;
+			this.productions = productions;
+			this.cursor = offset;
+		}
+
+		/**
+		 * See whether the production being tried is fully matched
+		 * @return true if every symbol of the production has been matched, false otherwise
+		 */
+		private boolean isComplete() {
+			return position == productions[alternative].size();
+		}
+
+		/**
+		 * Give up on the production being tried and start over with the next one
+		 * @return true if there is another production to try, false if every production failed
+		 */
+		private boolean backtrack() {
+			alternative++;
+			position = 0;
+			cursor = offset;
+			builder = new InternalNode.Builder();
+			return alternative < productions.length;
+		}
+	}
+
+	/**
+	 * Parse the tokens of a buffer from a given position as a nonterminal, without requiring the whole input to be matched
+	 * @param symbol the nonterminal to match
+	 * @param input the tokens to parse
+	 * @param offset the position of the first token to match
+	 * @param memo the outcomes known so far, to which the new ones are added
+	 * @return a ParseState with the node matched and the tokens after it, or ParseState.FAILURE if the nonterminal does not match
+	 */
+	ParseState parse(NonTerminalSymbol symbol, TokenBuffer input, int offset, Memo memo) {
+		Deque<Frame> stack = new ArrayDeque<>();
+		int outcome = lookUp(memo, symbol, offset);
+		if (outcome == Memo.UNKNOWN) {
+			outcome = expand(memo, stack, symbol, input, offset);
+		}
+
+		while (!stack.isEmpty()) {
+			Frame frame = stack.peek();
+			if (outcome == Memo.FAILED) {
+				//the last symbol failed, so the production being tried fails
+				if (!frame.backtrack()) {
+					stack.pop();
+					record(memo, frame.symbol, frame.offset, null, Memo.FAILED);
+					continue;
+				}
+			}
+			outcome = Memo.UNKNOWN;
+
+			if (frame.isComplete()) {
+				stack.pop();
+				Node node = frame.builder.buildSimplified();
+				record(memo, frame.symbol, frame.offset, node, frame.cursor + 1);
+				if (!stack.isEmpty()) {
+					Frame parent = stack.peek();
+					parent.builder.addChild(node);
+					parent.cursor = frame.cursor;
+				}
+				continue;
+			}
+
+			Symbol next = frame.productions[frame.alternative].symbolAt(frame.position++);
+			if (next instanceof TerminalSymbol) {
+				if (input.typeAt(frame.cursor) == next) {
+					frame.builder.addChild(LeafNode.build(input.get(frame.cursor++)));
+				} else {
+					outcome = Memo.FAILED;
+				}
+			} else {
+				NonTerminalSymbol nonTerminal = (NonTerminalSymbol) next;
+				int known = lookUp(memo, nonTerminal, frame.cursor);
+				if (known == Memo.FAILED) {
+					outcome = Memo.FAILED;
+				} else if (known != Memo.UNKNOWN) {
+					frame.builder.addChild(memo.nodes[index(memo, nonTerminal, frame.cursor)]);
+					frame.cursor = known - 1;
+				} else {
+					outcome = expand(memo, stack, nonTerminal, input, frame.cursor);
+				}
+			}
+		}
+
+		int end = lookUp(memo, symbol, offset);
+		return end == Memo.FAILED ? ParseState.FAILURE : ParseState.build(memo.nodes[index(memo, symbol, offset)], input, end - 1);
+	}
+
+	/**
+	 * Start parsing a nonterminal by pushing a frame for its first production
+	 * @param memo the outcomes known so far
+	 * @param stack the nonterminals being parsed
+	 * @param symbol the nonterminal to parse
+	 * @param input the tokens being parsed
+	 * @param offset the position of the first token to match
+	 * @return Memo.FAILED if the nonterminal has no productions for the lookahead, Memo.UNKNOWN otherwise
+	 */
+	private int expand(Memo memo, Deque<Frame> stack, NonTerminalSymbol symbol, TokenBuffer input, int offset) {
+		memo.expansions++;
+		TerminalSymbol lookAhead = input.typeAt(offset);
+		SymbolSequence[] productions = alternatives[symbol.ordinal()][lookAhead == null ? ParseTable.END_OF_INPUT : lookAhead.ordinal()];
+		if (productions.length == 0) {
+			record(memo, symbol, offset, null, Memo.FAILED);
+			return Memo.FAILED;
+		}
+		//a nonterminal that needs itself at the same position (left recursion) fails there instead of looping
+		record(memo, symbol, offset, null, Memo.FAILED);
+		stack.push(new Frame(symbol, offset, productions));
+		return Memo.UNKNOWN;
+	}
+
+	/**
+	 * Get the position of the outcome of a nonterminal at a position in the table
+	 * @param memo the table
+	 * @param symbol the nonterminal
+	 * @param offset the position of the first token of the nonterminal
+	 * @return the index of the outcome in the arrays of the table
+	 */
+	private static int index(Memo memo, NonTerminalSymbol symbol, int offset) {
+		return symbol.ordinal() * memo.positions + offset;
+	}
+
+	/**
+	 * Look up the outcome of a nonterminal at a position
+	 * @param memo the table
+	 * @param symbol the nonterminal
+	 * @param offset the position of the first token of the nonterminal
+	 * @return one more than the end of the match, Memo.FAILED, or Memo.UNKNOWN if the nonterminal was not parsed there yet
+	 */
+	private static int lookUp(Memo memo, NonTerminalSymbol symbol, int offset) {
+		return memo.ends[index(memo, symbol, offset)];
+	}
+
+	/**
+	 * Remember the outcome of a nonterminal at a position
+	 * @param memo the table
+	 * @param symbol the nonterminal
+	 * @param offset the position of the first token of the nonterminal
+	 * @param node the node matched, or null if the nonterminal failed
+	 * @param end one more than the end of the match, or Memo.FAILED
+	 */
+	private static void record(Memo memo, NonTerminalSymbol symbol, int offset, Node node, int end) {
+		int index = index(memo, symbol, offset);
+		memo.nodes[index] = node;
+		memo.ends[index] = end;
+	}
+}
@@ -0,0 +1,104 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * java class PackratParserTest
+ * The set of unit tests for the PackratParser class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class PackratParserTest {
+	private static final Token[] tokenChoices = {
+			Variable.build("a"), Variable.build("b"),
+			Connector.build(TerminalSymbol.PLUS), Connector.build(TerminalSymbol.MINUS),
+			Connector.build(TerminalSymbol.TIMES), Connector.build(TerminalSymbol.DIVIDE),
+			Connector.build(TerminalSymbol.OPEN), Connector.build(TerminalSymbol.CLOSE)
+	};
+
+	//test that the trees of the grammar are the same as the ones of the table driven parser
+	@Test
+	public void testMatchesParseInput() {
+		for (String input : new String[] {"a+b+c+d+e", "-(a+b)", "a*-b", "((a))", "(a+b)*(a+b)", "a+(d-e)*c", "", "a+", ")"}) {
+			List<Token> tokens = Lexer.lex(input);
+			assertEquals(input, PackratParser.build().parseInput(tokens), NonTerminalSymbol.parseInput(tokens));
+		}
+	}
+
+	//test that random token sequences, valid or not, get the same result as from the table driven parser
+	@Test
+	public void testMatchesParseInputOnRandomTokens() {
+		Random random = new Random(293);
+		for (int i = 0; i < 20000; i++) {
+			List<Token> tokens = new ArrayList<>();
+			int length = random.nextInt(10);
+			for (int j = 0; j < length; j++) {
+				tokens.add(tokenChoices[random.nextInt(tokenChoices.length)]);
+			}
+			assertEquals(tokens.toString(), PackratParser.build().parseInput(tokens), NonTerminalSymbol.parseInput(tokens));
+		}
+	}
+
+	//test that productions sharing a prefix backtrack in linear time
+	@Test
+	public void testBacktrackingIsLinear() {
+		//EXPRESSION -> TERM + EXPRESSION | TERM, TERM -> ( EXPRESSION ) | a, which needs exponential time without memoization
+		Map<NonTerminalSymbol, List<SymbolSequence>> alternatives = new EnumMap<>(NonTerminalSymbol.class);
+		alternatives.put(NonTerminalSymbol.EXPRESSION, Arrays.asList(
+				SymbolSequence.build(NonTerminalSymbol.TERM, TerminalSymbol.PLUS, NonTerminalSymbol.EXPRESSION),
+				SymbolSequence.build(NonTerminalSymbol.TERM)));
+		alternatives.put(NonTerminalSymbol.TERM, Arrays.asList(
+				SymbolSequence.build(TerminalSymbol.OPEN, NonTerminalSymbol.EXPRESSION, TerminalSymbol.CLOSE),
+				SymbolSequence.build(TerminalSymbol.VARIABLE)));
+		PackratParser parser = PackratParser.build(alternatives);
+
+		StringBuilder input = new StringBuilder("a");
+		for (int i = 0; i < 40; i++) {
+			input.insert(0, '(').append(")+a");
+		}
+		TokenBuffer tokens = TokenBuffer.build(Lexer.lex(input));
+		PackratParser.Memo memo = new PackratParser.Memo(tokens.size());
+		ParseState state = parser.parse(NonTerminalSymbol.EXPRESSION, tokens, 0, memo);
+
+		assertTrue(state.getSuccess());
+		assertTrue(state.hasNoRemainder());
+		assertTrue(memo.expansions() <= 2 * (tokens.size() + 1));
+	}
+
+	//test that left recursive productions fail instead of looping
+	@Test
+	public void testLeftRecursion() {
+		//EXPRESSION -> EXPRESSION + TERM | TERM, TERM -> a
+		Map<NonTerminalSymbol, List<SymbolSequence>> alternatives = new EnumMap<>(NonTerminalSymbol.class);
+		alternatives.put(NonTerminalSymbol.EXPRESSION, Arrays.asList(
+				SymbolSequence.build(NonTerminalSymbol.EXPRESSION, TerminalSymbol.PLUS, NonTerminalSymbol.TERM),
+				SymbolSequence.build(NonTerminalSymbol.TERM)));
+		alternatives.put(NonTerminalSymbol.TERM, Arrays.asList(SymbolSequence.build(TerminalSymbol.VARIABLE)));
+		PackratParser parser = PackratParser.build(alternatives);
+
+		assertTrue(parser.parseInput(Lexer.lex("a")).isPresent());
+		assertFalse(parser.parseInput(Lexer.lex("a+a")).isPresent());
+	}
+
+	//test that deeply nested input does not overflow the stack
+	@Test
+	public void testDeepNesting() {
+		StringBuilder input = new StringBuilder("a");
+		for (int i = 0; i < 50000; i++) {
+			input.insert(0, "-(").append(')');
+		}
+		List<Token> tokens = Lexer.lex(input);
+
+		assertEquals(PackratParser.build().parseInput(tokens), NonTerminalSymbol.parseInput(tokens));
+	}
+}
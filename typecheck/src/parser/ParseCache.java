@@ -0,0 +1,104 @@
+package parser;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Java class ParseCache
+ * This class remembers the results of NonTerminalSymbol::parseInput, so that an
+ * expression that is parsed again gets the tree it got the first time instead of
+ * being parsed from scratch. The results are keyed by the tokens packed into
+ * PackedTokens, which take a few bytes per token (no copy at all for tokens that come
+ * from the Lexer), and the least recently used results are forgotten once the cache
+ * is full. Trees are immutable, so handing the same tree out more than once is safe,
+ * and so is using the cache from several threads at once. No lock is held while an
+ * expression is parsed, so threads parsing different expressions never wait for each
+ * other, and threads parsing the same one wait for its first parse instead of repeating it.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class ParseCache {
+	//the result of parsing each of the most recently parsed token sequences
+	private final Cache<PackedTokens, Optional<Node>> results;
+
+	//the parser called for the tokens that are not remembered
+	private final Function<List<Token>, Optional<Node>> parser;
+
+	/**
+	 * Constructor for an empty parse cache
+	 * @param maximumSize how many results to keep at most
+	 * @param parser the parser called for the tokens that are not remembered
+	 */
+	ParseCache(int maximumSize, Function<List<Token>, Optional<Node>> parser) {
+		this.results = new Cache<>(maximumSize);
+		this.parser = Objects.requireNonNull(parser, "parser passed to ParseCache::ParseCache() cannot be null");
+	}
+
+	/**
+	 * Create a cache that keeps at most a given number of results
+	 * @param maximumSize how many results to keep at most
+	 * @return a new, empty cache
+	 * @throws IllegalArgumentException if maximumSize is not positive
+	 */
+	public static ParseCache build(int maximumSize) {
+		return new ParseCache(maximumSize, NonTerminalSymbol::parseInput);
+	}
+
+	/**
+	 * Parse the input in the same way as NonTerminalSymbol::parseInput, or return the result of an earlier
+	 * parse of the same tokens if it is still remembered
+	 * @param input a list of tokens
+	 * @return the root node of the parse tree, or an empty Optional if the input is not a valid expression
+	 */
+	public Optional<Node> parseInput(List<Token> input) {
+		Objects.requireNonNull(input, "Input provided to ParseCache::parseInput must not be null");
+
+		PackedTokens packed = PackedTokens.unwrap(input);
+		PackedTokens key = packed != null ? packed : PackedTokens.build(input);
+		return results.get(key, tokens -> parser.apply(tokens.asList()));
+	}
+
+	/**
+	 * Get the number of results this cache holds
+	 * @return the number of remembered results
+	 */
+	public int size() {
+		return results.size();
+	}
+
+	/**
+	 * Get the number of parses answered with a remembered result
+	 * @return the number of hits so far
+	 */
+	public long hitCount() {
+		return results.hitCount();
+	}
+
+	/**
+	 * Get the number of parses that were not remembered and had to be done
+	 * @return the number of misses so far
+	 */
+	public long missCount() {
+		return results.missCount();
+	}
+
+	/**
+	 * Get the number of results forgotten to make room for new ones
+	 * @return the number of evictions so far
+	 */
+	public long evictionCount() {
+		return results.evictionCount();
+	}
+
+	/**
+	 * Get the fraction of parses answered with a remembered result
+	 * @return the number of hits divided by the number of parses, or 0 if nothing was parsed yet
+	 */
+	public double hitRate() {
+		long hits = hitCount();
+		long requests = hits + missCount();
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+}
@@ -0,0 +1,129 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * java class ParseCacheTest
+ * The set of unit tests for the ParseCache class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class ParseCacheTest {
+	//test that parsing the same tokens again returns the same tree
+	@Test
+	public void testRepeatedParse() {
+		ParseCache cache = ParseCache.build(16);
+		Optional<Node> first = cache.parseInput(Lexer.lex("a*(b+c)"));
+		Optional<Node> second = cache.parseInput(Lexer.lex("a*(b+c)"));
+
+		assertSame(first.get(), second.get());
+		assertEquals(first, NonTerminalSymbol.parseInput(Lexer.lex("a*(b+c)")));
+		assertEquals(cache.hitCount(), 1);
+		assertEquals(cache.missCount(), 1);
+		assertEquals(cache.hitRate(), 0.5, 0);
+	}
+
+	//test that tokens given as objects and as packed tokens share their results
+	@Test
+	public void testTokenObjectsShareResults() {
+		ParseCache cache = ParseCache.build(16);
+		List<Token> tokens = new ArrayList<>(Lexer.lex("a-b"));
+		Optional<Node> first = cache.parseInput(tokens);
+
+		assertSame(cache.parseInput(Lexer.lex("a - b")).get(), first.get());
+		assertEquals(cache.size(), 1);
+	}
+
+	//test that sequences that differ only in their names or in where names repeat get different results
+	@Test
+	public void testDifferentNames() {
+		ParseCache cache = ParseCache.build(16);
+		Node aPlusB = cache.parseInput(Lexer.lex("a+b")).get();
+
+		assertEquals(cache.parseInput(Lexer.lex("a+a")).get().toString(), "[a,+,a]");
+		assertEquals(cache.parseInput(Lexer.lex("b+a")).get().toString(), "[b,+,a]");
+		assertSame(cache.parseInput(Lexer.lex("a+b")).get(), aPlusB);
+		assertEquals(cache.size(), 3);
+	}
+
+	//test that failed parses are remembered as well
+	@Test
+	public void testInvalidInput() {
+		ParseCache cache = ParseCache.build(16);
+
+		assertFalse(cache.parseInput(Lexer.lex("a+")).isPresent());
+		assertFalse(cache.parseInput(Lexer.lex("a+")).isPresent());
+		assertEquals(cache.hitCount(), 1);
+	}
+
+	//test that the least recently used result is forgotten when the cache is full
+	@Test
+	public void testEviction() {
+		ParseCache cache = ParseCache.build(2);
+		Node a = cache.parseInput(Lexer.lex("a")).get();
+		cache.parseInput(Lexer.lex("b"));
+		cache.parseInput(Lexer.lex("a"));
+		cache.parseInput(Lexer.lex("c"));
+
+		assertEquals(cache.evictionCount(), 1);
+		assertSame(cache.parseInput(Lexer.lex("a")).get(), a);
+		assertEquals(cache.missCount(), 3);
+	}
+
+	//test that the cache can be the parser of a batch
+	@Test
+	public void testBatchParser() {
+		ParseCache cache = ParseCache.build(16);
+		BatchParser batchParser = BatchParser.build(Runnable::run, 1, cache::parseInput);
+		List<BatchParser.Result> results = batchParser.parseAll(Arrays.asList(Lexer.lex("a+b"), Lexer.lex("a+b"), Lexer.lex("(")));
+
+		assertSame(results.get(0).getNode().get(), results.get(1).getNode().get());
+		assertFalse(results.get(2).isSuccess());
+		assertEquals(cache.hitCount(), 1);
+	}
+
+	//test that different expressions are parsed at the same time, by bounded and unbounded caches alike
+	@Test(timeout = 10_000)
+	public void testParsesConcurrently() throws Exception {
+		for (int maximumSize : new int[] {16, Integer.MAX_VALUE}) {
+			CyclicBarrier bothParsing = new CyclicBarrier(2);
+			//each parse only returns once the other one has started, so they must run concurrently
+			ParseCache cache = new ParseCache(maximumSize, tokens -> {
+				try {
+					bothParsing.await(5, TimeUnit.SECONDS);
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+				return NonTerminalSymbol.parseInput(tokens);
+			});
+			ExecutorService executor = Executors.newFixedThreadPool(2);
+
+			Future<Optional<Node>> sum = executor.submit(() -> cache.parseInput(Lexer.lex("a+b")));
+			Future<Optional<Node>> product = executor.submit(() -> cache.parseInput(Lexer.lex("a*b")));
+
+			assertEquals(sum.get().get().toString(), "[a,+,b]");
+			assertEquals(product.get().get().toString(), "[a,*,b]");
+			assertEquals(cache.missCount(), 2);
+			executor.shutdown();
+		}
+	}
+
+	//test that a cache must be able to hold something
+	@Test(expected = IllegalArgumentException.class)
+	public void testNonPositiveSize() {
+		ParseCache.build(0);
+	}
+}
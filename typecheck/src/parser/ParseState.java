@@ -16,22 +16,27 @@ final class ParseState {
 	//the first node of this parse state
 	private final Node node;
 	
-	//the remainder of this parse state
-	private final List<Token> remainder;
+	//the tokens being parsed, shared with every other parse state of the same input (null for a failure)
+	private final TokenBuffer input;
+	
+	//the position in the input where the remainder of this parse state starts
+	private final int offset;
 	
 	//the parse state that will always be returned for a failure to parse
-	final static ParseState FAILURE = new ParseState(false, null, null);
+	final static ParseState FAILURE = new ParseState(false, null, null, 0);
 	
 	/**
-	 * Create a ParseState with a given success state, initial node, and remainder list
+	 * Create a ParseState with a given success state, initial node, and remainder
 	 * @param success the success state
 	 * @param node the first node
-	 * @param remainder the list of tokens remaining to be parsed
+	 * @param input the tokens being parsed
+	 * @param offset the position of the first token remaining to be parsed
 	 */
-	private ParseState(boolean success, Node node, List<Token> remainder) {		
+	private ParseState(boolean success, Node node, TokenBuffer input, int offset) {		
 		this.success = success;
 		this.node = node;
-		this.remainder = ListHandler.shallowCopy(remainder);
+		this.input = input;
+		this.offset = offset;
 	}
 	
 	/**
@@ -44,7 +49,21 @@ final class ParseState {
 		Objects.requireNonNull(node, "node passed to ParseState::build() must not be null");
 		Objects.requireNonNull(remainder, "remainder passed to ParseState::build() must not be null");
 		
-		return new ParseState(true, node, remainder);
+		return new ParseState(true, node, TokenBuffer.build(remainder), 0);
+	}
+	
+	/**
+	 * Return a new parse state with a given node whose remainder starts at a position of the input
+	 * @param node the node for the first element of the ParseState
+	 * @param input the tokens being parsed
+	 * @param offset the position of the first token remaining to be parsed
+	 * @return a new ParseState object with the provided properties
+	 */
+	static ParseState build(Node node, TokenBuffer input, int offset) {
+		Objects.requireNonNull(node, "node passed to ParseState::build() must not be null");
+		Objects.requireNonNull(input, "input passed to ParseState::build() must not be null");
+		
+		return new ParseState(true, node, input, offset);
 	}
 	
 	/**
@@ -68,7 +87,15 @@ final class ParseState {
 	 * @return the remaining tokens to be parsed, and null if there is no remainder
 	 */
 	public List<Token> getRemainder() {
-		return ListHandler.shallowCopy(remainder);
+		return input == null ? null : ListHandler.shallowCopy(input.subList(offset));
+	}
+	
+	/**
+	 * Get the position in the input where the remainder starts, without copying the remainder
+	 * @return the position of the first token remaining to be parsed
+	 */
+	int getOffset() {
+		return offset;
 	}
 	
 	/**
@@ -76,6 +103,6 @@ final class ParseState {
 	 * @return true if there is no remainder to this list, false otherwise
 	 */
 	public final boolean hasNoRemainder() {
-		return !ListHandler.nonEmptyList(remainder);
+		return input == null || offset == input.size();
 	}
 }
@@ -0,0 +1,328 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Java class ParseTable
+ * This class is the LL(1) parse table of the grammar, compiled into a dense array
+ * indexed by the ordinals of the nonterminal and of the lookahead terminal, with an
+ * extra column for the end of the input. Building a table also computes the FIRST and
+ * FOLLOW sets of the grammar and checks that every entry agrees with them and that
+ * no two productions of a nonterminal can start with the same lookahead.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+final class ParseTable {
+	//the column used when there is no token left in the input
+	static final int END_OF_INPUT = TerminalSymbol.values().length;
+
+	//the productions, indexed by nonterminal ordinal and then by lookahead ordinal or END_OF_INPUT (null if there is none)
+	private final SymbolSequence[][] table;
+
+	//the terminals that can start each nonterminal
+	private final Map<NonTerminalSymbol, Set<TerminalSymbol>> first;
+
+	//the nonterminals that can match no tokens at all
+	private final Set<NonTerminalSymbol> nullable;
+
+	//the terminals that can come right after each nonterminal
+	private final Map<NonTerminalSymbol, Set<TerminalSymbol>> follow;
+
+	//the nonterminals that can come right before the end of the input
+	private final Set<NonTerminalSymbol> followedByEnd;
+
+	/**
+	 * Constructor for a parse table
+	 * @param table the productions indexed by nonterminal and lookahead
+	 * @param first the FIRST set of each nonterminal
+	 * @param nullable the nonterminals that can be empty
+	 * @param follow the FOLLOW set of each nonterminal
+	 * @param followedByEnd the nonterminals whose FOLLOW set contains the end of the input
+	 */
+	private ParseTable(SymbolSequence[][] table, Map<NonTerminalSymbol, Set<TerminalSymbol>> first, Set<NonTerminalSymbol> nullable,
+			Map<NonTerminalSymbol, Set<TerminalSymbol>> follow, Set<NonTerminalSymbol> followedByEnd) {
+		this.table = table;
+		this.first = first;
+		this.nullable = nullable;
+		this.follow = follow;
+		this.followedByEnd = followedByEnd;
+	}
+
+	/**
+	 * Get the production to expand a nonterminal with
+	 * @param symbol the nonterminal to expand
+	 * @param lookAhead the type of the next token, or null at the end of the input
+	 * @return the production, or null if the nonterminal cannot start with this lookahead
+	 */
+	SymbolSequence production(NonTerminalSymbol symbol, TerminalSymbol lookAhead) {
+		return table[symbol.ordinal()][lookAhead == null ? END_OF_INPUT : lookAhead.ordinal()];
+	}
+
+	/**
+	 * Get the terminals that can start a nonterminal
+	 * @param symbol the nonterminal
+	 * @return the FIRST set of the nonterminal
+	 */
+	Set<TerminalSymbol> first(NonTerminalSymbol symbol) {
+		return Collections.unmodifiableSet(first.get(symbol));
+	}
+
+	/**
+	 * See whether a nonterminal can match no tokens at all
+	 * @param symbol the nonterminal
+	 * @return true if the nonterminal can be empty, false otherwise
+	 */
+	boolean isNullable(NonTerminalSymbol symbol) {
+		return nullable.contains(symbol);
+	}
+
+	/**
+	 * Get the terminals that can come right after a nonterminal
+	 * @param symbol the nonterminal
+	 * @return the FOLLOW set of the nonterminal, without the end of the input
+	 */
+	Set<TerminalSymbol> follow(NonTerminalSymbol symbol) {
+		return Collections.unmodifiableSet(follow.get(symbol));
+	}
+
+	/**
+	 * See whether a nonterminal can come right before the end of the input
+	 * @param symbol the nonterminal
+	 * @return true if the FOLLOW set of the nonterminal contains the end of the input, false otherwise
+	 */
+	boolean isFollowedByEnd(NonTerminalSymbol symbol) {
+		return followedByEnd.contains(symbol);
+	}
+
+	/**
+	 * Collects the entries of a parse table before the table is checked and compiled
+	 */
+	static final class Builder {
+		//the start symbol of the grammar, which is followed by the end of the input
+		private final NonTerminalSymbol start;
+
+		//the productions added so far, indexed in the same way as the table
+		private final SymbolSequence[][] table = new SymbolSequence[NonTerminalSymbol.values().length][END_OF_INPUT + 1];
+
+		/**
+		 * Constructor for a builder
+		 * @param start the start symbol of the grammar
+		 */
+		Builder(NonTerminalSymbol start) {
+			this.start = Objects.requireNonNull(start, "start symbol passed to ParseTable.Builder cannot be null");
+		}
+
+		/**
+		 * Add an entry to the table
+		 * @param symbol the nonterminal being expanded
+		 * @param lookAhead the type of the next token, or null for the end of the input
+		 * @param production the production to expand the nonterminal with
+		 * @return this builder
+		 * @throws IllegalStateException if the entry already holds a different production
+		 */
+		Builder add(NonTerminalSymbol symbol, TerminalSymbol lookAhead, SymbolSequence production) {
+			int column = lookAhead == null ? END_OF_INPUT : lookAhead.ordinal();
+			SymbolSequence existing = table[symbol.ordinal()][column];
+			if (existing != null && existing != production) {
+				throw new IllegalStateException("grammar is not LL(1): " + symbol + " on " + lookAhead + " could be " + existing + " or " + production);
+			}
+
+			table[symbol.ordinal()][column] = production;
+			return this;
+		}
+
+		/**
+		 * Compute the FIRST and FOLLOW sets of the grammar and check the table against them
+		 * @return the compiled table
+		 * @throws IllegalStateException if an entry does not agree with the FIRST and FOLLOW sets, or two productions of a nonterminal conflict
+		 */
+		ParseTable build() {
+			Map<NonTerminalSymbol, List<SymbolSequence>> productions = productions();
+			Map<NonTerminalSymbol, Set<TerminalSymbol>> first = emptySets();
+			Set<NonTerminalSymbol> nullable = EnumSet.noneOf(NonTerminalSymbol.class);
+			computeFirst(productions, first, nullable);
+
+			Map<NonTerminalSymbol, Set<TerminalSymbol>> follow = emptySets();
+			Set<NonTerminalSymbol> followedByEnd = EnumSet.of(start);
+			computeFollow(productions, first, nullable, follow, followedByEnd);
+
+			for (NonTerminalSymbol symbol : NonTerminalSymbol.values()) {
+				checkEntries(symbol, productions.get(symbol), first, nullable, follow, followedByEnd);
+			}
+
+			SymbolSequence[][] compiled = new SymbolSequence[table.length][];
+			for (int i = 0; i < table.length; i++) {
+				compiled[i] = table[i].clone();
+			}
+			return new ParseTable(compiled, first, nullable, follow, followedByEnd);
+		}
+
+		/**
+		 * Collect the distinct productions of every nonterminal in the table
+		 * @return the productions of each nonterminal
+		 */
+		private Map<NonTerminalSymbol, List<SymbolSequence>> productions() {
+			Map<NonTerminalSymbol, List<SymbolSequence>> productions = new EnumMap<>(NonTerminalSymbol.class);
+			for (NonTerminalSymbol symbol : NonTerminalSymbol.values()) {
+				Set<SymbolSequence> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+				List<SymbolSequence> list = new ArrayList<>();
+				for (SymbolSequence production : table[symbol.ordinal()]) {
+					if (production != null && distinct.add(production)) {
+						list.add(production);
+					}
+				}
+				productions.put(symbol, list);
+			}
+			return productions;
+		}
+
+		/**
+		 * Create an empty set of terminals for every nonterminal
+		 * @return a map from every nonterminal to an empty set
+		 */
+		private static Map<NonTerminalSymbol, Set<TerminalSymbol>> emptySets() {
+			Map<NonTerminalSymbol, Set<TerminalSymbol>> sets = new EnumMap<>(NonTerminalSymbol.class);
+			for (NonTerminalSymbol symbol : NonTerminalSymbol.values()) {
+				sets.put(symbol, EnumSet.noneOf(TerminalSymbol.class));
+			}
+			return sets;
+		}
+
+		/**
+		 * Compute the FIRST sets and nullable nonterminals, repeating until nothing changes
+		 * @param productions the productions of each nonterminal
+		 * @param first the FIRST sets, which are filled in
+		 * @param nullable the nullable nonterminals, which are filled in
+		 */
+		private static void computeFirst(Map<NonTerminalSymbol, List<SymbolSequence>> productions,
+				Map<NonTerminalSymbol, Set<TerminalSymbol>> first, Set<NonTerminalSymbol> nullable) {
+			boolean changed = true;
+			while (changed) {
+				changed = false;
+				for (Map.Entry<NonTerminalSymbol, List<SymbolSequence>> entry : productions.entrySet()) {
+					for (SymbolSequence production : entry.getValue()) {
+						Set<TerminalSymbol> sequenceFirst = EnumSet.noneOf(TerminalSymbol.class);
+						boolean sequenceNullable = addFirst(production, 0, first, nullable, sequenceFirst);
+						changed |= first.get(entry.getKey()).addAll(sequenceFirst);
+						if (sequenceNullable) {
+							changed |= nullable.add(entry.getKey());
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Add the terminals that can start the end of a production to a set
+		 * @param production the production
+		 * @param from the position of the first symbol to consider
+		 * @param first the FIRST sets known so far
+		 * @param nullable the nullable nonterminals known so far
+		 * @param result the set the terminals are added to
+		 * @return true if the symbols from the given position on can all be empty, false otherwise
+		 */
+		private static boolean addFirst(SymbolSequence production, int from, Map<NonTerminalSymbol, Set<TerminalSymbol>> first,
+				Set<NonTerminalSymbol> nullable, Set<TerminalSymbol> result) {
+			for (int i = from; i < production.size(); i++) {
+				Symbol symbol = production.symbolAt(i);
+				if (symbol instanceof TerminalSymbol) {
+					result.add((TerminalSymbol) symbol);
+					return false;
+				}
+				result.addAll(first.get((NonTerminalSymbol) symbol));
+				if (!nullable.contains(symbol)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Compute the FOLLOW sets, repeating until nothing changes
+		 * @param productions the productions of each nonterminal
+		 * @param first the FIRST sets
+		 * @param nullable the nullable nonterminals
+		 * @param follow the FOLLOW sets, which are filled in
+		 * @param followedByEnd the nonterminals that can come right before the end of the input, which are filled in
+		 */
+		private static void computeFollow(Map<NonTerminalSymbol, List<SymbolSequence>> productions, Map<NonTerminalSymbol, Set<TerminalSymbol>> first,
+				Set<NonTerminalSymbol> nullable, Map<NonTerminalSymbol, Set<TerminalSymbol>> follow, Set<NonTerminalSymbol> followedByEnd) {
+			boolean changed = true;
+			while (changed) {
+				changed = false;
+				for (Map.Entry<NonTerminalSymbol, List<SymbolSequence>> entry : productions.entrySet()) {
+					for (SymbolSequence production : entry.getValue()) {
+						for (int i = 0; i < production.size(); i++) {
+							if (!(production.symbolAt(i) instanceof NonTerminalSymbol)) {
+								continue;
+							}
+							NonTerminalSymbol symbol = (NonTerminalSymbol) production.symbolAt(i);
+							Set<TerminalSymbol> rest = EnumSet.noneOf(TerminalSymbol.class);
+							boolean restNullable = addFirst(production, i + 1, first, nullable, rest);
+							changed |= follow.get(symbol).addAll(rest);
+							if (restNullable) {
+								changed |= follow.get(symbol).addAll(follow.get(entry.getKey()));
+								if (followedByEnd.contains(entry.getKey())) {
+									changed |= followedByEnd.add(symbol);
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Check that every entry of a nonterminal is predicted by its production, and that the productions
+		 * of the nonterminal are never predicted by the same lookahead
+		 * @param symbol the nonterminal
+		 * @param productions the productions of the nonterminal
+		 * @param first the FIRST sets
+		 * @param nullable the nullable nonterminals
+		 * @param follow the FOLLOW sets
+		 * @param followedByEnd the nonterminals that can come right before the end of the input
+		 * @throws IllegalStateException if the check fails
+		 */
+		private void checkEntries(NonTerminalSymbol symbol, List<SymbolSequence> productions, Map<NonTerminalSymbol, Set<TerminalSymbol>> first,
+				Set<NonTerminalSymbol> nullable, Map<NonTerminalSymbol, Set<TerminalSymbol>> follow, Set<NonTerminalSymbol> followedByEnd) {
+			boolean[] predicted = new boolean[END_OF_INPUT + 1];
+			for (SymbolSequence production : productions) {
+				//the lookaheads for which the production can be the right one
+				boolean[] predicts = new boolean[END_OF_INPUT + 1];
+				Set<TerminalSymbol> lookAheads = EnumSet.noneOf(TerminalSymbol.class);
+				if (addFirst(production, 0, first, nullable, lookAheads)) {
+					lookAheads.addAll(follow.get(symbol));
+					predicts[END_OF_INPUT] = followedByEnd.contains(symbol);
+				}
+				lookAheads.forEach(lookAhead -> predicts[lookAhead.ordinal()] = true);
+
+				for (int column = 0; column <= END_OF_INPUT; column++) {
+					if (predicts[column] && predicted[column]) {
+						throw new IllegalStateException("grammar is not LL(1): two productions of " + symbol + " start with " + columnName(column));
+					}
+					predicted[column] |= predicts[column];
+					if (table[symbol.ordinal()][column] == production && !predicts[column]) {
+						throw new IllegalStateException("production " + production + " of " + symbol + " cannot start with " + columnName(column));
+					}
+				}
+			}
+		}
+
+		/**
+		 * Describe a column of the table
+		 * @param column the column
+		 * @return the name of the terminal of the column, or "end of input"
+		 */
+		private static String columnName(int column) {
+			return column == END_OF_INPUT ? "end of input" : TerminalSymbol.values()[column].name();
+		}
+	}
+}
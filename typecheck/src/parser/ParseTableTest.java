@@ -0,0 +1,80 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+
+/**
+ * java class ParseTableTest
+ * The set of unit tests for the ParseTable class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class ParseTableTest {
+	private final ParseTable table = NonTerminalSymbol.parseTable();
+
+	//test the FIRST sets of the grammar
+	@Test
+	public void testFirst() {
+		EnumSet<TerminalSymbol> operand = EnumSet.of(TerminalSymbol.VARIABLE, TerminalSymbol.MINUS, TerminalSymbol.OPEN);
+
+		assertEquals(table.first(NonTerminalSymbol.EXPRESSION), operand);
+		assertEquals(table.first(NonTerminalSymbol.UNARY), operand);
+		assertEquals(table.first(NonTerminalSymbol.FACTOR), EnumSet.of(TerminalSymbol.VARIABLE, TerminalSymbol.OPEN));
+		assertEquals(table.first(NonTerminalSymbol.TERM_TAIL), EnumSet.of(TerminalSymbol.TIMES, TerminalSymbol.DIVIDE));
+		assertTrue(table.isNullable(NonTerminalSymbol.EXPRESSION));
+		assertTrue(table.isNullable(NonTerminalSymbol.TERM_TAIL));
+		assertFalse(table.isNullable(NonTerminalSymbol.TERM));
+	}
+
+	//test the FOLLOW sets of the grammar
+	@Test
+	public void testFollow() {
+		assertEquals(table.follow(NonTerminalSymbol.EXPRESSION), EnumSet.of(TerminalSymbol.CLOSE));
+		assertEquals(table.follow(NonTerminalSymbol.TERM), EnumSet.of(TerminalSymbol.PLUS, TerminalSymbol.MINUS, TerminalSymbol.CLOSE));
+		assertEquals(table.follow(NonTerminalSymbol.FACTOR),
+				EnumSet.of(TerminalSymbol.PLUS, TerminalSymbol.MINUS, TerminalSymbol.TIMES, TerminalSymbol.DIVIDE, TerminalSymbol.CLOSE));
+		assertTrue(table.isFollowedByEnd(NonTerminalSymbol.EXPRESSION));
+		assertTrue(table.isFollowedByEnd(NonTerminalSymbol.FACTOR));
+	}
+
+	//test looking up productions, including at the end of the input
+	@Test
+	public void testProduction() {
+		assertEquals(table.production(NonTerminalSymbol.FACTOR, TerminalSymbol.OPEN).toString(), "[(, EXPRESSION, )]");
+		assertEquals(table.production(NonTerminalSymbol.EXPRESSION, null), SymbolSequence.EPSILON);
+		assertNull(table.production(NonTerminalSymbol.EXPRESSION, TerminalSymbol.CLOSE));
+		assertNull(table.production(NonTerminalSymbol.FACTOR, null));
+	}
+
+	//test that two productions cannot be put in the same entry
+	@Test(expected = IllegalStateException.class)
+	public void testRejectsSameEntry() {
+		new ParseTable.Builder(NonTerminalSymbol.EXPRESSION)
+				.add(NonTerminalSymbol.FACTOR, TerminalSymbol.VARIABLE, SymbolSequence.build(TerminalSymbol.VARIABLE))
+				.add(NonTerminalSymbol.FACTOR, TerminalSymbol.VARIABLE, SymbolSequence.build(TerminalSymbol.VARIABLE));
+	}
+
+	//test that a production must be able to start with the lookahead of its entry
+	@Test(expected = IllegalStateException.class)
+	public void testRejectsUnpredictedEntry() {
+		new ParseTable.Builder(NonTerminalSymbol.EXPRESSION)
+				.add(NonTerminalSymbol.FACTOR, TerminalSymbol.PLUS, SymbolSequence.build(TerminalSymbol.VARIABLE))
+				.build();
+	}
+
+	//test that productions of a nonterminal cannot start with the same lookahead
+	@Test(expected = IllegalStateException.class)
+	public void testRejectsConflict() {
+		new ParseTable.Builder(NonTerminalSymbol.EXPRESSION)
+				.add(NonTerminalSymbol.EXPRESSION, TerminalSymbol.VARIABLE, SymbolSequence.build(TerminalSymbol.VARIABLE))
+				.add(NonTerminalSymbol.EXPRESSION, null, SymbolSequence.build(NonTerminalSymbol.TERM))
+				.add(NonTerminalSymbol.TERM, TerminalSymbol.VARIABLE, SymbolSequence.build(TerminalSymbol.VARIABLE))
+				.add(NonTerminalSymbol.TERM, null, SymbolSequence.EPSILON)
+				.build();
+	}
+}
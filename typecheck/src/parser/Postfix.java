@@ -0,0 +1,284 @@
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Java class Postfix
+ * This class flattens a parse tree into postfix code: an array of instructions in
+ * which a value that is not negative loads the variable in that slot, and a negative
+ * value applies an operator to the values computed before it. The tree is read as
+ * the infix tokens it holds, where an internal node that stands for an operand is
+ * a parenthesized subexpression, and the operators are ordered by precedence (a
+ * unary minus binds tightest, as in UNARY -> - FACTOR, and binary operators are
+ * left associative). The tree is read without recursion, so any depth works.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+final class Postfix {
+	//the instruction that adds the two values on top of the stack
+	static final int ADD = operator(TerminalSymbol.PLUS);
+
+	//the instruction that subtracts the value on top of the stack from the one below it
+	static final int SUBTRACT = operator(TerminalSymbol.MINUS);
+
+	//the instruction that multiplies the two values on top of the stack
+	static final int MULTIPLY = operator(TerminalSymbol.TIMES);
+
+	//the instruction that divides the value below the top of the stack by the one on top
+	static final int DIVIDE = operator(TerminalSymbol.DIVIDE);
+
+	//the instruction that negates the value on top of the stack, numbered after every symbol
+	static final int NEGATE = -1 - TerminalSymbol.values().length;
+
+	//the marker kept on the operator stack for an open parenthesis, which is never emitted
+	private static final int OPEN = operator(TerminalSymbol.OPEN);
+
+	/**
+	 * A constructor that cannot be accessed to prevent creating instances of this class
+	 */
+	private Postfix() {
+
+	}
+
+	/**
+	 * Get the instruction that applies the binary operator of a symbol
+	 * @param symbol the symbol of the operator
+	 * @return the negative instruction for the symbol
+	 */
+	static int operator(TerminalSymbol symbol) {
+		return -1 - symbol.ordinal();
+	}
+
+	/**
+	 * See whether an instruction loads a variable
+	 * @param instruction the instruction
+	 * @return true if the instruction is a slot, false if it is an operator
+	 */
+	static boolean isLoad(int instruction) {
+		return instruction >= 0;
+	}
+
+	/**
+	 * Compute the greatest number of values that postfix code keeps on the stack
+	 * @param code the postfix code
+	 * @return the size of the stack the code needs
+	 */
+	static int maximumStack(int[] code) {
+		int size = 0;
+		int maximum = 0;
+		for (int instruction : code) {
+			if (isLoad(instruction)) {
+				maximum = Math.max(maximum, ++size);
+			} else if (instruction != NEGATE) {
+				size--;
+			}
+		}
+		return maximum;
+	}
+
+	/**
+	 * Get how tightly an operator binds
+	 * @param instruction the operator, or the marker of an open parenthesis
+	 * @return a higher number for operators that are applied first
+	 */
+	private static int precedence(int instruction) {
+		if (instruction == NEGATE) {
+			return 3;
+		}
+		if (instruction == MULTIPLY || instruction == DIVIDE) {
+			return 2;
+		}
+		return instruction == OPEN ? 0 : 1;
+	}
+
+	/**
+	 * An internal node whose children are being read
+	 */
+	private static final class Group {
+		//the node whose children are read
+		private final Node node;
+
+		//whether the node stands for an operand, and so is closed like a parenthesis
+		private final boolean parenthesized;
+
+		//the index of the next child to read
+		private int next = 0;
+
+		/**
+		 * Constructor for a group that has not been read yet
+		 * @param node the node whose children are read
+		 * @param parenthesized whether the node stands for an operand
+		 */
+		private Group(Node node, boolean parenthesized) {
+			this.node = node;
+			this.parenthesized = parenthesized;
+		}
+	}
+
+	/**
+	 * The operators waiting for their right operand and the instructions emitted so far
+	 */
+	private static final class Emitter {
+		//the instructions emitted so far (only the first size entries are used)
+		private final int[] code;
+		private int size = 0;
+
+		//the operators and open parentheses that are not emitted yet (only the first top entries are used)
+		private final int[] operators;
+		private int top = 0;
+
+		/**
+		 * Constructor for an emitter with room for the instructions of a tree
+		 * @param root the root of the tree
+		 */
+		private Emitter(Node root) {
+			this.code = new int[root.getTokenCount()];
+			this.operators = new int[root.getTokenCount() + root.getDepth() + 1];
+		}
+
+		/**
+		 * Emit a load of a variable
+		 * @param slot the slot of the variable
+		 */
+		private void load(int slot) {
+			code[size++] = slot;
+		}
+
+		/**
+		 * Start a parenthesized subexpression
+		 */
+		private void open() {
+			operators[top++] = OPEN;
+		}
+
+		/**
+		 * Start a unary minus, which waits for its operand
+		 */
+		private void negate() {
+			operators[top++] = NEGATE;
+		}
+
+		/**
+		 * Emit the operators that bind at least as tightly as a binary operator, and wait for its right operand
+		 * @param operator the binary operator
+		 */
+		private void binary(int operator) {
+			int precedence = precedence(operator);
+			while (top > 0 && precedence(operators[top - 1]) >= precedence) {
+				code[size++] = operators[--top];
+			}
+			operators[top++] = operator;
+		}
+
+		/**
+		 * Emit the operators of a parenthesized subexpression and end it
+		 * @throws IllegalArgumentException if no subexpression is open
+		 */
+		private void close() {
+			while (top > 0 && operators[top - 1] != OPEN) {
+				code[size++] = operators[--top];
+			}
+			if (top == 0) {
+				throw new IllegalArgumentException("tree is not a valid expression: ')' does not close anything");
+			}
+			top--;
+		}
+
+		/**
+		 * Get the instructions once every subexpression is closed
+		 * @return the postfix code
+		 * @throws IllegalArgumentException if a subexpression is still open
+		 */
+		private int[] build() {
+			if (top != 0) {
+				throw new IllegalArgumentException("tree is not a valid expression: '(' is not closed");
+			}
+			return Arrays.copyOf(code, size);
+		}
+	}
+
+	/**
+	 * Flatten a tree into postfix code
+	 * @param root the root of the tree, which must be an expression such as the ones built by NonTerminalSymbol::parseInput
+	 * @param slotOf the function giving the slot of each variable of the tree
+	 * @return the instructions, which leave the value of the expression as the only value on the stack
+	 * @throws IllegalArgumentException if the tree is not a valid expression
+	 */
+	static int[] compile(Node root, ToIntFunction<Variable> slotOf) {
+		Objects.requireNonNull(root, "root passed to Postfix::compile() cannot be null");
+		Objects.requireNonNull(slotOf, "slotOf passed to Postfix::compile() cannot be null");
+
+		Emitter emitter = new Emitter(root);
+		Deque<Group> groups = new ArrayDeque<>();
+		boolean expectOperand = true;
+		Node next = root;
+
+		while (next != null || !groups.isEmpty()) {
+			if (next == null) {
+				Group group = groups.peek();
+				if (group.next < group.node.childCount()) {
+					next = group.node.childAt(group.next++);
+					continue;
+				}
+				groups.pop();
+				if (group.parenthesized) {
+					checkOperand(expectOperand, false);
+					emitter.close();
+				}
+				continue;
+			}
+
+			Node node = next;
+			next = null;
+			if (!node.isLeaf()) {
+				//an internal node where an operand goes is a subexpression, and anywhere else it only groups tokens
+				if (expectOperand) {
+					emitter.open();
+				}
+				groups.push(new Group(node, expectOperand));
+				continue;
+			}
+
+			Token token = ((LeafNode) node).getToken();
+			TerminalSymbol type = token.getType();
+			if (type == TerminalSymbol.VARIABLE) {
+				checkOperand(expectOperand, true);
+				expectOperand = false;
+				emitter.load(slotOf.applyAsInt((Variable) token));
+			} else if (type == TerminalSymbol.OPEN) {
+				checkOperand(expectOperand, true);
+				emitter.open();
+			} else if (type == TerminalSymbol.CLOSE) {
+				checkOperand(expectOperand, false);
+				emitter.close();
+			} else if (type == TerminalSymbol.MINUS && expectOperand) {
+				emitter.negate();
+			} else if (type == TerminalSymbol.PLUS || type == TerminalSymbol.MINUS || type == TerminalSymbol.TIMES || type == TerminalSymbol.DIVIDE) {
+				checkOperand(expectOperand, false);
+				expectOperand = true;
+				emitter.binary(operator(type));
+			} else {
+				throw new IllegalArgumentException("tree is not a valid expression: unexpected token " + token);
+			}
+		}
+
+		checkOperand(expectOperand, false);
+		return emitter.build();
+	}
+
+	/**
+	 * Check that a token comes where it belongs, either where an operand goes or after a complete operand
+	 * @param expectOperand whether an operand goes here
+	 * @param operand whether the token starts an operand
+	 * @throws IllegalArgumentException if the token does not belong here
+	 */
+	private static void checkOperand(boolean expectOperand, boolean operand) {
+		if (expectOperand != operand) {
+			throw new IllegalArgumentException("tree is not a valid expression: " + (operand ? "an operand follows an operand" : "an operand is missing"));
+		}
+	}
+}
@@ -0,0 +1,256 @@
+package parser;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Java class PostfixProgram
+ * This class evaluates an expression from its postfix code: the variables of the
+ * tree are bound to slots once, when the program is built, and every evaluation runs
+ * through a flat array of slot indexes and operators with a stack of primitive
+ * values, without boxing and without touching the nodes. The same program can be
+ * evaluated over double or long values, one set of values at a time or over columns
+ * holding one value of each variable per row.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class PostfixProgram {
+	//the instructions, which are slots to load or operators from Postfix
+	private final int[] code;
+
+	//the variables of the expression, in the order of their slots
+	private final List<Variable> variables;
+
+	//the greatest number of values on the stack at once
+	private final int maximumStack;
+
+	//the slots the code loads, each once, which are the only columns read by evaluateColumns()
+	private final int[] usedSlots;
+
+	/**
+	 * Constructor for a program
+	 * @param code the postfix code
+	 * @param variables the unmodifiable list of the variables, in the order of their slots
+	 */
+	private PostfixProgram(int[] code, List<Variable> variables) {
+		this.code = code;
+		this.variables = variables;
+		this.maximumStack = Postfix.maximumStack(code);
+		this.usedSlots = Arrays.stream(code).filter(Postfix::isLoad).distinct().sorted().toArray();
+	}
+
+	/**
+	 * Compile an expression, giving its variables slots in the order they first appear
+	 * @param root the root of the parse tree
+	 * @return the program computing the expression
+	 * @throws IllegalArgumentException if the tree is not a valid expression
+	 */
+	public static PostfixProgram build(Node root) {
+		return build(root, VariableSlots.build());
+	}
+
+	/**
+	 * Compile an expression with given slots, binding the variables that have none yet to the next free slots,
+	 * so that several programs can read their values from the same arrays
+	 * @param root the root of the parse tree
+	 * @param slots the slots of the variables
+	 * @return the program computing the expression
+	 * @throws IllegalArgumentException if the tree is not a valid expression
+	 */
+	public static PostfixProgram build(Node root, VariableSlots slots) {
+		Objects.requireNonNull(slots, "slots passed to PostfixProgram::build() cannot be null");
+
+		int[] code = Postfix.compile(root, slots::bind);
+		return new PostfixProgram(code, slots.getVariables());
+	}
+
+	/**
+	 * Get the variables of this program
+	 * @return an unmodifiable list of the variables, in the order of their slots
+	 */
+	public List<Variable> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Compute the value of the expression with double arithmetic
+	 * @param values the value of each variable, indexed by its slot
+	 * @return the value of the expression
+	 * @throws IllegalArgumentException if there are fewer values than variables
+	 */
+	public double evaluate(double[] values) {
+		Objects.requireNonNull(values, "values passed to PostfixProgram::evaluate() cannot be null");
+		checkSize(values.length);
+
+		return run(values, new double[maximumStack]);
+	}
+
+	/**
+	 * Compute the value of the expression with long arithmetic, in which division rounds toward zero
+	 * @param values the value of each variable, indexed by its slot
+	 * @return the value of the expression
+	 * @throws IllegalArgumentException if there are fewer values than variables
+	 * @throws ArithmeticException if the expression divides by zero
+	 */
+	public long evaluate(long[] values) {
+		Objects.requireNonNull(values, "values passed to PostfixProgram::evaluate() cannot be null");
+		checkSize(values.length);
+
+		return run(values, new long[maximumStack]);
+	}
+
+	/**
+	 * Compute the value of the expression for every row of columns of double values
+	 * @param columns the values of each variable, indexed by its slot and then by the row (the columns of variables the expression does not use are not read, and can be null)
+	 * @param results the array receiving the value of each row, whose length is the number of rows
+	 * @throws IllegalArgumentException if there are fewer columns than variables, or a column that is read is shorter than results
+	 */
+	public void evaluateColumns(double[][] columns, double[] results) {
+		Objects.requireNonNull(results, "results passed to PostfixProgram::evaluateColumns() cannot be null");
+		checkColumns(columns, results.length);
+
+		//the values of a row are gathered into one array, so each row runs the same code as evaluate()
+		double[] row = new double[variables.size()];
+		double[] stack = new double[maximumStack];
+		for (int i = 0; i < results.length; i++) {
+			for (int slot : usedSlots) {
+				row[slot] = columns[slot][i];
+			}
+			results[i] = run(row, stack);
+		}
+	}
+
+	/**
+	 * Compute the value of the expression for every row of columns of long values
+	 * @param columns the values of each variable, indexed by its slot and then by the row (the columns of variables the expression does not use are not read, and can be null)
+	 * @param results the array receiving the value of each row, whose length is the number of rows
+	 * @throws IllegalArgumentException if there are fewer columns than variables, or a column that is read is shorter than results
+	 * @throws ArithmeticException if the expression divides by zero in some row
+	 */
+	public void evaluateColumns(long[][] columns, long[] results) {
+		Objects.requireNonNull(results, "results passed to PostfixProgram::evaluateColumns() cannot be null");
+		checkColumns(columns, results.length);
+
+		long[] row = new long[variables.size()];
+		long[] stack = new long[maximumStack];
+		for (int i = 0; i < results.length; i++) {
+			for (int slot : usedSlots) {
+				row[slot] = columns[slot][i];
+			}
+			results[i] = run(row, stack);
+		}
+	}
+
+	/**
+	 * Run the code over double values
+	 * @param values the value of each variable
+	 * @param stack room for the values being computed
+	 * @return the value of the expression
+	 */
+	private double run(double[] values, double[] stack) {
+		int top = 0;
+		for (int instruction : code) {
+			if (instruction >= 0) {
+				stack[top++] = values[instruction];
+			} else if (instruction == Postfix.NEGATE) {
+				stack[top - 1] = -stack[top - 1];
+			} else {
+				double right = stack[--top];
+				double left = stack[top - 1];
+				if (instruction == Postfix.ADD) {
+					stack[top - 1] = left + right;
+				} else if (instruction == Postfix.SUBTRACT) {
+					stack[top - 1] = left - right;
+				} else if (instruction == Postfix.MULTIPLY) {
+					stack[top - 1] = left * right;
+				} else {
+					stack[top - 1] = left / right;
+				}
+			}
+		}
+		return stack[0];
+	}
+
+	/**
+	 * Run the code over long values
+	 * @param values the value of each variable
+	 * @param stack room for the values being computed
+	 * @return the value of the expression
+	 */
+	private long run(long[] values, long[] stack) {
+		int top = 0;
+		for (int instruction : code) {
+			if (instruction >= 0) {
+				stack[top++] = values[instruction];
+			} else if (instruction == Postfix.NEGATE) {
+				stack[top - 1] = -stack[top - 1];
+			} else {
+				long right = stack[--top];
+				long left = stack[top - 1];
+				if (instruction == Postfix.ADD) {
+					stack[top - 1] = left + right;
+				} else if (instruction == Postfix.SUBTRACT) {
+					stack[top - 1] = left - right;
+				} else if (instruction == Postfix.MULTIPLY) {
+					stack[top - 1] = left * right;
+				} else {
+					stack[top - 1] = left / right;
+				}
+			}
+		}
+		return stack[0];
+	}
+
+	/**
+	 * Check that there is a value for every variable
+	 * @param size the number of values
+	 * @throws IllegalArgumentException if there are fewer values than variables
+	 */
+	private void checkSize(int size) {
+		if (size < variables.size()) {
+			throw new IllegalArgumentException("expected " + variables.size() + " values but got " + size);
+		}
+	}
+
+	/**
+	 * Check that there is a column of doubles for every variable, and that the ones read have a value for every row
+	 * @param columns the columns
+	 * @param rows the number of rows
+	 * @throws IllegalArgumentException if there are fewer columns than variables, or a column that is read is too short
+	 */
+	private void checkColumns(double[][] columns, int rows) {
+		Objects.requireNonNull(columns, "columns passed to PostfixProgram::evaluateColumns() cannot be null");
+		checkSize(columns.length);
+		for (int slot : usedSlots) {
+			checkRows(slot, Objects.requireNonNull(columns[slot], "column " + slot + " is null").length, rows);
+		}
+	}
+
+	/**
+	 * Check that there is a column of longs for every variable, and that the ones read have a value for every row
+	 * @param columns the columns
+	 * @param rows the number of rows
+	 * @throws IllegalArgumentException if there are fewer columns than variables, or a column that is read is too short
+	 */
+	private void checkColumns(long[][] columns, int rows) {
+		Objects.requireNonNull(columns, "columns passed to PostfixProgram::evaluateColumns() cannot be null");
+		checkSize(columns.length);
+		for (int slot : usedSlots) {
+			checkRows(slot, Objects.requireNonNull(columns[slot], "column " + slot + " is null").length, rows);
+		}
+	}
+
+	/**
+	 * Check that a column has a value for every row
+	 * @param slot the slot of the column
+	 * @param length the length of the column
+	 * @param rows the number of rows
+	 * @throws IllegalArgumentException if the column is too short
+	 */
+	private static void checkRows(int slot, int length, int rows) {
+		if (length < rows) {
+			throw new IllegalArgumentException("column " + slot + " has fewer than " + rows + " rows");
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+/**
+ * java class PostfixProgramTest
+ * The set of unit tests for the PostfixProgram class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class PostfixProgramTest {
+	/**
+	 * Compile an expression whose variables are a, b, c and d, in that order
+	 * @param expression the expression to parse
+	 * @return the program computing the expression
+	 */
+	private static PostfixProgram compile(String expression) {
+		return TestExpressions.compile(expression, PostfixProgram::build);
+	}
+
+	//test that expressions get the value of ordinary arithmetic
+	@Test
+	public void testEvaluateDoubles() {
+		double[] values = {2, 3, 5, 7};
+
+		assertEquals(compile("a+b*c").evaluate(values), 17, 0);
+		assertEquals(compile("(a+b)*c").evaluate(values), 25, 0);
+		assertEquals(compile("a-b-c").evaluate(values), -6, 0);
+		assertEquals(compile("d/a/a").evaluate(values), 1.75, 0);
+		assertEquals(compile("a*-(b-c)").evaluate(values), 4, 0);
+	}
+
+	//test that long arithmetic divides toward zero
+	@Test
+	public void testEvaluateLongs() {
+		long[] values = {2, 3, 5, 7};
+
+		assertEquals(compile("d/a").evaluate(values), 3);
+		assertEquals(compile("-d/a").evaluate(values), -3);
+		assertEquals(compile("(a+b)*c-d").evaluate(values), 18);
+	}
+
+	//test that long division by zero is reported
+	@Test(expected = ArithmeticException.class)
+	public void testLongDivisionByZero() {
+		compile("a/(b-b)").evaluate(new long[] {1, 2, 3, 4});
+	}
+
+	//test that random expressions get the same value as from the compiled method handles
+	@Test
+	public void testMatchesCompiledExpression() {
+		Random random = new Random(293);
+		double[] values = {1.5, -2.25, 3.75, 0.5};
+		for (int i = 0; i < 2000; i++) {
+			String expression = TestExpressions.randomExpression(random, 3);
+			CompiledExpression compiled = CompiledExpression.build(TestExpressions.parse(expression), TestExpressions.variables);
+
+			assertEquals(expression, compile(expression).evaluate(values), compiled.evaluate(values), 0);
+		}
+	}
+
+	//test that columns are evaluated row by row, without reading the columns of unused variables
+	@Test
+	public void testEvaluateColumns() {
+		PostfixProgram program = compile("a*b-c");
+		double[][] columns = {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}, null};
+		double[] results = new double[3];
+		program.evaluateColumns(columns, results);
+		assertArrayEquals(results, new double[] {-3, 2, 9}, 0);
+
+		long[][] longColumns = {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}, null};
+		long[] longResults = new long[3];
+		program.evaluateColumns(longColumns, longResults);
+		assertArrayEquals(longResults, new long[] {-3, 2, 9});
+	}
+
+	//test that programs sharing slots read their values from the same arrays
+	@Test
+	public void testSharedSlots() {
+		VariableSlots slots = VariableSlots.build();
+		PostfixProgram first = PostfixProgram.build(NonTerminalSymbol.parseInput(Lexer.lex("x*y")).get(), slots);
+		PostfixProgram second = PostfixProgram.build(NonTerminalSymbol.parseInput(Lexer.lex("z-x")).get(), slots);
+		double[] values = {2, 3, 10};
+
+		assertEquals(first.evaluate(values), 6, 0);
+		assertEquals(second.evaluate(values), 8, 0);
+		assertEquals(second.getVariables().size(), 3);
+	}
+
+	//test that a short column is rejected
+	@Test(expected = IllegalArgumentException.class)
+	public void testShortColumn() {
+		compile("a+b").evaluateColumns(new double[][] {{1, 2}, {1}, {}, {}}, new double[2]);
+	}
+}
@@ -0,0 +1,68 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * java class PostfixTest
+ * The set of unit tests for the Postfix class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class PostfixTest {
+	private static final List<String> names = Arrays.asList("a", "b", "c", "d");
+
+	/**
+	 * Flatten an expression, giving the variables a, b, c and d the slots 0 to 3
+	 * @param expression the expression to parse
+	 * @return the postfix code of the expression
+	 */
+	private static int[] compile(String expression) {
+		return Postfix.compile(NonTerminalSymbol.parseInput(Lexer.lex(expression)).get(), variable -> names.indexOf(variable.getRepresentation()));
+	}
+
+	//test that operators follow their operands in the order of precedence
+	@Test
+	public void testPrecedence() {
+		assertArrayEquals(compile("a"), new int[] {0});
+		assertArrayEquals(compile("a+b*c"), new int[] {0, 1, 2, Postfix.MULTIPLY, Postfix.ADD});
+		assertArrayEquals(compile("a*b+c"), new int[] {0, 1, Postfix.MULTIPLY, 2, Postfix.ADD});
+		assertArrayEquals(compile("a-b-c"), new int[] {0, 1, Postfix.SUBTRACT, 2, Postfix.SUBTRACT});
+		assertArrayEquals(compile("a/b*c"), new int[] {0, 1, Postfix.DIVIDE, 2, Postfix.MULTIPLY});
+	}
+
+	//test that parentheses and subtrees group their operands
+	@Test
+	public void testGrouping() {
+		assertArrayEquals(compile("(a+b)*c"), new int[] {0, 1, Postfix.ADD, 2, Postfix.MULTIPLY});
+		assertArrayEquals(compile("a-(b-c)"), new int[] {0, 1, 2, Postfix.SUBTRACT, Postfix.SUBTRACT});
+		assertArrayEquals(compile("a*b*c+d"), new int[] {0, 1, Postfix.MULTIPLY, 2, Postfix.MULTIPLY, 3, Postfix.ADD});
+	}
+
+	//test that a minus where an operand goes negates the factor after it
+	@Test
+	public void testNegation() {
+		assertArrayEquals(compile("-a*b"), new int[] {0, Postfix.NEGATE, 1, Postfix.MULTIPLY});
+		assertArrayEquals(compile("a*-b"), new int[] {0, 1, Postfix.NEGATE, Postfix.MULTIPLY});
+		assertArrayEquals(compile("a--b"), new int[] {0, 1, Postfix.NEGATE, Postfix.SUBTRACT});
+		assertArrayEquals(compile("-(a+b)"), new int[] {0, 1, Postfix.ADD, Postfix.NEGATE});
+	}
+
+	//test that trees that are not expressions are rejected
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingOperand() {
+		InternalNode.Builder builder = new InternalNode.Builder();
+		builder.addChild(LeafNode.build(Variable.build("a")));
+		builder.addChild(LeafNode.build(Connector.build(TerminalSymbol.PLUS)));
+		Postfix.compile(builder.build(), variable -> 0);
+	}
+
+	//test that the empty expression is rejected
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptyExpression() {
+		Postfix.compile(NonTerminalSymbol.parseInput(Lexer.lex("")).get(), variable -> 0);
+	}
+}
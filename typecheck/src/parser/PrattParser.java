@@ -0,0 +1,280 @@
+package parser;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Java class PrattParser
+ * This class parses a list of tokens by operator precedence instead of through the
+ * productions of the grammar. It reads the tokens once, from left to right, keeping
+ * the operands of the sum and of the product being read on a stack and grouping them
+ * as soon as an operator of lower precedence or a closing parenthesis ends them, so it
+ * builds the simplified tree directly: none of the nodes for single symbols, empty
+ * tails and nested productions that NonTerminalSymbol creates and then simplifies away
+ * are ever made, and the operators of long sums and products that the simplification
+ * leaves nested in a tail are nested in the same way. It accepts the same tokens and produces the same trees as
+ * NonTerminalSymbol::parseInput, and it can replace it anywhere a parser is passed as
+ * a function, such as in BatchParser. Parentheses are kept on the same stack, so
+ * deeply nested input does not run out of thread stack either.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class PrattParser {
+	/**
+	 * A constructor that cannot be accessed to prevent creating instances of this class
+	 */
+	private PrattParser() {
+
+	}
+
+	/**
+	 * Attempts to parse the input as an expression, and returns the root node
+	 * if the parsing process is successful and has no remainder, and an empty Optional otherwise.
+	 * @param input a list of tokens
+	 * @return the root node of the parse tree, the same as from NonTerminalSymbol::parseInput, or an empty Optional if the input is not a valid expression
+	 */
+	public static Optional<Node> parseInput(List<Token> input) {
+		Objects.requireNonNull(input, "Input provided to PrattParser::parseInput must not be null");
+
+		return parse(TokenBuffer.build(input));
+	}
+
+	/**
+	 * Parse packed tokens as an expression, reading their symbol codes directly
+	 * @param input the packed tokens
+	 * @return the root node of the parse tree, or an empty Optional if the input is not a valid expression
+	 */
+	public static Optional<Node> parsePacked(PackedTokens input) {
+		Objects.requireNonNull(input, "Input provided to PrattParser::parsePacked must not be null");
+
+		return parse(TokenBuffer.build(input));
+	}
+
+	/**
+	 * Parse a buffer of tokens as an expression
+	 * @param input the tokens to parse
+	 * @return the root node of the parse tree, or an empty Optional if the input is not a valid expression
+	 */
+	static Optional<Node> parse(TokenBuffer input) {
+		Operands operands = new Operands(input.size());
+		boolean expectOperand = true;
+
+		for (int cursor = 0; cursor < input.size(); cursor++) {
+			TerminalSymbol type = input.typeAt(cursor);
+			LeafNode leaf = LeafNode.build(input.get(cursor));
+
+			if (expectOperand) {
+				//a unary minus applies to a variable or a parenthesized expression, never to another unary minus
+				if (type == TerminalSymbol.MINUS && !operands.negated) {
+					operands.negate(leaf);
+				} else if (type == TerminalSymbol.VARIABLE) {
+					operands.addFactor(leaf);
+					expectOperand = false;
+				} else if (type == TerminalSymbol.OPEN) {
+					operands.open(leaf);
+				} else {
+					return Optional.empty();
+				}
+			} else {
+				if (type == TerminalSymbol.TIMES || type == TerminalSymbol.DIVIDE) {
+					operands.push(leaf);
+					expectOperand = true;
+				} else if (type == TerminalSymbol.PLUS || type == TerminalSymbol.MINUS) {
+					operands.endTerm();
+					operands.push(leaf);
+					expectOperand = true;
+				} else if (type == TerminalSymbol.CLOSE && operands.depth > 0) {
+					operands.close(leaf);
+				} else {
+					return Optional.empty();
+				}
+			}
+		}
+
+		if (input.size() == 0) {
+			//the empty expression is an empty node
+			return Optional.of(InternalNode.build(operands.nodes, 0, 0));
+		}
+		if (expectOperand || operands.depth > 0) {
+			return Optional.empty();
+		}
+		operands.endExpression();
+
+		//a lone variable is still the child of the root
+		Node root = operands.nodes[0];
+		return Optional.of(root.isLeaf() ? InternalNode.build(operands.nodes, 0, 1) : root);
+	}
+
+	/**
+	 * The nodes read so far, with the positions where the expression and the term being read start
+	 */
+	private static final class Operands {
+		//the number of operators of a sum or product that are children of its node, since Builder::buildSimplified un-nests the tails of the grammar twice
+		private static final int unnestedOperands = 2;
+
+		//the number of operators that are children of a product that is the whole of its expression, which un-nests the product twice more
+		private static final int unnestedSoleTermOperands = 2 * unnestedOperands;
+
+		//the operands and operators read so far, and the open parentheses and unary minuses waiting for their operand (only the first top entries are used)
+		private final Node[] nodes;
+		private int top = 0;
+
+		//the position of the first node of the expression and of the term being read
+		private int exprStart = 0;
+		private int termStart = 0;
+
+		//whether the factor being read follows a unary minus
+		private boolean negated = false;
+
+		//the positions and unary minus of each enclosing parenthesis, saved when it was opened (only the first depth entries are used)
+		private final int[] exprStarts;
+		private final int[] termStarts;
+		private final boolean[] negations;
+		private int depth = 0;
+
+		//the children of the node being grouped, which are copied into it
+		private final Node[] children = new Node[3 * unnestedSoleTermOperands + 2];
+
+		/**
+		 * Constructor for the operands of some tokens
+		 * @param size the number of tokens, which is the most nodes that can be waiting at once
+		 */
+		private Operands(int size) {
+			this.nodes = new Node[size];
+			this.exprStarts = new int[size];
+			this.termStarts = new int[size];
+			this.negations = new boolean[size];
+		}
+
+		/**
+		 * Add a node on top of the others
+		 * @param node the node to add
+		 */
+		private void push(Node node) {
+			nodes[top++] = node;
+		}
+
+		/**
+		 * Start a unary minus, which waits for its factor
+		 * @param minus the leaf of the minus
+		 */
+		private void negate(LeafNode minus) {
+			push(minus);
+			negated = true;
+		}
+
+		/**
+		 * Start a parenthesized expression, saving the expression and term it is a factor of
+		 * @param open the leaf of the open parenthesis
+		 */
+		private void open(LeafNode open) {
+			exprStarts[depth] = exprStart;
+			termStarts[depth] = termStart;
+			negations[depth++] = negated;
+			push(open);
+			exprStart = top;
+			termStart = top;
+			negated = false;
+		}
+
+		/**
+		 * End a parenthesized expression and add it as a factor of the enclosing term
+		 * @param close the leaf of the closing parenthesis
+		 */
+		private void close(LeafNode close) {
+			endExpression();
+			Node inner = nodes[--top];
+			Node open = nodes[--top];
+
+			//a negated factor inside the parentheses is un-nested, as after any node that is not an operator
+			int size = 0;
+			children[size++] = open;
+			if (inner.isStartedByOperator()) {
+				children[size++] = inner.childAt(0);
+				children[size++] = inner.childAt(1);
+			} else {
+				children[size++] = inner;
+			}
+			children[size++] = close;
+
+			exprStart = exprStarts[--depth];
+			termStart = termStarts[depth];
+			negated = negations[depth];
+			addFactor(InternalNode.build(children, 0, size));
+		}
+
+		/**
+		 * Add a factor to the term being read, along with the unary minus before it
+		 * @param factor the variable or parenthesized expression
+		 */
+		private void addFactor(Node factor) {
+			if (negated) {
+				negated = false;
+				children[0] = nodes[--top];
+				children[1] = factor;
+				factor = InternalNode.build(children, 0, 2);
+			}
+			push(factor);
+		}
+
+		/**
+		 * Group the factors of the term being read into one node, once an operator of lower precedence follows it
+		 */
+		private void endTerm() {
+			group(termStart, unnestedOperands);
+			termStart = top + 1;
+		}
+
+		/**
+		 * Group the terms of the expression being read into one node, once it is closed or the input ends
+		 */
+		private void endExpression() {
+			group(termStart, termStart == exprStart ? unnestedSoleTermOperands : unnestedOperands);
+			group(exprStart, unnestedOperands);
+		}
+
+		/**
+		 * Replace the operands and operators from a position with one node holding them, unless there is only one operand.
+		 * The node is the one the grammar simplifies to: the first operands are its children, and the rest are nested
+		 * to the right, each with the operator before it, as in the tails of the grammar.
+		 * @param start the position of the first operand
+		 * @param unnested the number of operators whose operand is a child of the node
+		 */
+		private void group(int start, int unnested) {
+			int operators = (top - start) / 2;
+			if (operators == 0) {
+				return;
+			}
+
+			Node tail = null;
+			for (int i = operators; i > unnested; i--) {
+				int operator = start + 2 * i - 1;
+				children[0] = nodes[operator];
+				children[1] = nodes[operator + 1];
+				children[2] = tail;
+				tail = InternalNode.build(children, 0, tail == null ? 2 : 3);
+			}
+
+			//every operand but the last of the children has its unary minus un-nested
+			int size = 0;
+			children[size++] = nodes[start];
+			for (int i = 1; i <= Math.min(operators, unnested); i++) {
+				Node operand = nodes[start + 2 * i];
+				children[size++] = nodes[start + 2 * i - 1];
+				if (i < unnested && operand.isStartedByOperator()) {
+					children[size++] = operand.childAt(0);
+					children[size++] = operand.childAt(1);
+				} else {
+					children[size++] = operand;
+				}
+			}
+			if (tail != null) {
+				children[size++] = tail;
+			}
+
+			top = start;
+			push(InternalNode.build(children, 0, size));
+		}
+	}
+}
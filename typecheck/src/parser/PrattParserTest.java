@@ -0,0 +1,110 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * java class PrattParserTest
+ * The set of unit tests for the PrattParser class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class PrattParserTest {
+	//test that both parsers agree on the given expression
+	private void assertSameResult(String expression) {
+		List<Token> tokens = TableDrivenParserTest.tokens(expression);
+
+		assertEquals(expression, PrattParser.parseInput(tokens), NonTerminalSymbol.parseInput(tokens));
+	}
+
+	//test that the parser rejects null input
+	@Test(expected = NullPointerException.class)
+	public void testRejectsNull() {
+		PrattParser.parseInput(null);
+	}
+
+	//test that the trees have the shapes the simplification of the grammar produces
+	@Test
+	public void testSimplifiedShapes() {
+		assertEquals(PrattParser.parseInput(Lexer.lex("a")).get().toString(), "[a]");
+		assertEquals(PrattParser.parseInput(Lexer.lex("a+b*c")).get().toString(), "[a,+,[b,*,c]]");
+		assertEquals(PrattParser.parseInput(Lexer.lex("a-b-c")).get().toString(), "[a,-,b,-,c]");
+		assertEquals(PrattParser.parseInput(Lexer.lex("a--b")).get().toString(), "[a,-,-,b]");
+		assertEquals(PrattParser.parseInput(Lexer.lex("a*-b")).get().toString(), "[a,*,-,b]");
+		assertEquals(PrattParser.parseInput(Lexer.lex("-a*b")).get().toString(), "[[-,a],*,b]");
+		assertEquals(PrattParser.parseInput(Lexer.lex("-(a+b)")).get().toString(), "[-,[(,[a,+,b],)]]");
+		assertEquals(PrattParser.parseInput(Lexer.lex("(-a)")).get().toString(), "[(,-,a,)]");
+		assertEquals(PrattParser.parseInput(Lexer.lex("a+b+c+d")).get().toString(), "[a,+,b,+,c,[+,d]]");
+		assertEquals(PrattParser.parseInput(Lexer.lex("")).get().toString(), "[]");
+	}
+
+	//test a few hand-picked expressions against the recursive parser
+	@Test
+	public void testMatchesRecursiveParser() {
+		Arrays.asList("", "a", "-a", "a+b", "a+b/c", "a+b+c+d+e", "a*b*c*d", "a*-b*c", "-a+b", "-a*-b", "a+-b*c",
+				"((a))", "(-(a))", "-(a)*b", "a/-(b)", "(a+b)*(c-d)/e", "(a+b*(c-d)/e)+f-(g*h/i)", "a/b/c/d+e*f*g",
+				"a+b+c+d+e+f", "a*b*c*d*e*f*g", "-a*b*-c*-d*-e*-f", "a*b*-c*d+e", "(a*b*c*d*e*f)-(a-b-c-d-e)")
+			.forEach(this::assertSameResult);
+	}
+
+	//test that invalid expressions are rejected by both parsers
+	@Test
+	public void testRejectsInvalidExpressions() {
+		Arrays.asList("(a)-", "a)", "ab", "(a+b", "+", "-", "()", "--a", "-()", "a**b", "a(b)", "a-(b*c)d")
+			.forEach(expression -> {
+				assertFalse(expression, PrattParser.parseInput(TableDrivenParserTest.tokens(expression)).isPresent());
+				assertSameResult(expression);
+			});
+	}
+
+	//test that both parsers agree on many random inputs, valid or not
+	@Test
+	public void testMatchesRecursiveParserOnRandomInput() {
+		Random random = new Random(293);
+		for (int i = 0; i < 20000; i++) {
+			assertSameResult(TableDrivenParserTest.randomExpression(random, random.nextInt(12)));
+			assertSameResult(TableDrivenParserTest.randomValidExpression(random, 4));
+		}
+	}
+
+	//test that packed tokens are parsed the same as a list of tokens
+	@Test
+	public void testParsePacked() {
+		for (String expression : new String[] {"a+b*c", "-(a+b)/c", "a+"}) {
+			assertEquals(expression, PrattParser.parsePacked(Lexer.lexPacked(expression)), PrattParser.parseInput(Lexer.lex(expression)));
+		}
+	}
+
+	//test that deeply nested input is parsed without recursion
+	@Test(timeout = 10_000)
+	public void testDeepNesting() {
+		StringBuilder expression = new StringBuilder();
+		for (int i = 0; i < 100_000; i++) {
+			expression.append("-(a*");
+		}
+		expression.append('b');
+		for (int i = 0; i < 100_000; i++) {
+			expression.append(')');
+		}
+
+		Node root = PrattParser.parseInput(TableDrivenParserTest.tokens(expression.toString())).get();
+		assertEquals(root.getTokenCount(), expression.length());
+		assertFalse(PrattParser.parseInput(TableDrivenParserTest.tokens(expression.append(')').toString())).isPresent());
+	}
+
+	//test that the parser can be used in place of the recursive one
+	@Test
+	public void testBatchParser() {
+		List<BatchParser.Result> results = BatchParser.build(Runnable::run, 1, PrattParser::parseInput)
+				.parseAll(Arrays.asList("a*b", "(c)", "d)").stream().map(Lexer::lex));
+
+		assertEquals(results.get(0).getNode().get().toString(), "[a,*,b]");
+		assertEquals(results.get(1).getNode().get().toString(), "[(,c,)]");
+		assertFalse(results.get(2).isSuccess());
+	}
+}
@@ -0,0 +1,376 @@
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Java class RecoveringParser
+ * This class parses a list of tokens with the same parse table as NonTerminalSymbol,
+ * but instead of giving up at the first token that does not fit, it reports the
+ * error and resynchronizes. A nonterminal that cannot start with the next token skips
+ * tokens until one can start it, or until one is in its FOLLOW set and can be matched
+ * by what is left of the productions being parsed, in which case the nonterminal is
+ * left out. A terminal that is missing is skipped over in the same way. Every error of
+ * the input is found in one pass, and the tokens that did fit still make up a partial
+ * tree. An input without errors gets the same tree as from NonTerminalSymbol::parseInput.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class RecoveringParser {
+	//the parse table of the grammar, with its FIRST and FOLLOW sets
+	private static final ParseTable table = NonTerminalSymbol.parseTable();
+
+	//the symbols in the order of their ordinals, so that columns can be turned back into symbols
+	private static final TerminalSymbol[] symbols = TerminalSymbol.values();
+
+	//the tokens being parsed
+	private final TokenBuffer input;
+
+	//the position of the next token to match
+	private int cursor = 0;
+
+	//the productions being matched, the innermost on top
+	private final Deque<Frame> stack = new ArrayDeque<>();
+
+	//the errors found so far, in the order of their positions
+	private final List<SyntaxError> errors = new ArrayList<>();
+
+	/**
+	 * Constructor for a parser of a buffer of tokens
+	 * @param input the tokens to parse
+	 */
+	private RecoveringParser(TokenBuffer input) {
+		this.input = input;
+	}
+
+	/**
+	 * A token that does not fit the grammar where it was found
+	 */
+	public static final class SyntaxError {
+		//the position of the token in the input
+		private final int offset;
+
+		//the token found, or null if the input ended
+		private final Token found;
+
+		//the symbols that would have fit instead
+		private final Set<TerminalSymbol> expected;
+
+		//whether the end of the input would have fit instead
+		private final boolean endExpected;
+
+		/**
+		 * Constructor for a syntax error
+		 * @param offset the position of the token in the input
+		 * @param found the token found, or null if the input ended
+		 * @param expected the symbols that would have fit instead
+		 * @param endExpected whether the end of the input would have fit instead
+		 */
+		private SyntaxError(int offset, Token found, Set<TerminalSymbol> expected, boolean endExpected) {
+			this.offset = offset;
+			this.found = found;
+			this.expected = Collections.unmodifiableSet(expected);
+			this.endExpected = endExpected;
+		}
+
+		/**
+		 * Get the position of the token that does not fit
+		 * @return the index of the token in the input, or the number of tokens if the input ended too early
+		 */
+		public int getOffset() {
+			return offset;
+		}
+
+		/**
+		 * Get the token that does not fit
+		 * @return the token, or an empty Optional if the input ended too early
+		 */
+		public Optional<Token> getFound() {
+			return Optional.ofNullable(found);
+		}
+
+		/**
+		 * Get the symbols that would have fit instead of the token
+		 * @return an unmodifiable set of the expected symbols
+		 */
+		public Set<TerminalSymbol> getExpected() {
+			return expected;
+		}
+
+		/**
+		 * See whether the input could have ended instead of the token
+		 * @return true if the end of the input would have fit, false otherwise
+		 */
+		public boolean isEndExpected() {
+			return endExpected;
+		}
+
+		/**
+		 * Describe the error
+		 * @return a message with the position, the token found and what was expected instead
+		 */
+		@Override
+		public String toString() {
+			StringJoiner expectation = new StringJoiner(", ");
+			for (TerminalSymbol symbol : expected) {
+				expectation.add(describe(symbol));
+			}
+			if (endExpected) {
+				expectation.add(describe(null));
+			}
+			return "token " + offset + ": found " + (found == null ? describe(null) : "'" + found + "'") + ", expected " + expectation;
+		}
+
+		/**
+		 * Describe a symbol for a message
+		 * @param symbol the symbol, or null for the end of the input
+		 * @return the description of the symbol
+		 */
+		private static String describe(TerminalSymbol symbol) {
+			if (symbol == null) {
+				return "end of input";
+			}
+			return symbol == TerminalSymbol.VARIABLE ? "variable" : "'" + symbol + "'";
+		}
+	}
+
+	/**
+	 * The outcome of parsing with error recovery
+	 */
+	public static final class Result {
+		//the root of the tree built from the tokens that fit
+		private final Node node;
+
+		//the errors of the input, in the order of their positions
+		private final List<SyntaxError> errors;
+
+		/**
+		 * Constructor for a result
+		 * @param node the root of the tree built from the tokens that fit
+		 * @param errors the errors of the input
+		 */
+		private Result(Node node, List<SyntaxError> errors) {
+			this.node = node;
+			this.errors = Collections.unmodifiableList(errors);
+		}
+
+		/**
+		 * Get the root of the tree
+		 * @return the parse tree if there were no errors, and otherwise a partial tree of the tokens that fit
+		 */
+		public Node getNode() {
+			return node;
+		}
+
+		/**
+		 * Get every error of the input
+		 * @return an unmodifiable list of the errors, in the order of their positions
+		 */
+		public List<SyntaxError> getErrors() {
+			return errors;
+		}
+
+		/**
+		 * See whether the input is a valid expression
+		 * @return true if there were no errors, false otherwise
+		 */
+		public boolean isSuccess() {
+			return errors.isEmpty();
+		}
+	}
+
+	/**
+	 * A production that is being matched, along with the children matched so far
+	 */
+	private static final class Frame {
+		//the production being matched
+		private final SymbolSequence production;
+
+		//the position of the next symbol of the production to match
+		private int position = 0;
+
+		//the children matched so far
+		private final InternalNode.Builder builder = new InternalNode.Builder();
+
+		//the nearest enclosing frame that still has symbols to match, or null if there is none
+		private final Frame pending;
+
+		/**
+		 * Constructor for a frame that has not matched anything yet. The frames enclosing it do not move
+		 * until it is finished, so the ones that have no symbols left can be skipped once and for all.
+		 * @param production the production to match
+		 * @param enclosing the frame whose production contains the nonterminal, or null if there is none
+		 */
+		private Frame(SymbolSequence production, Frame enclosing) {
+			this.production = production;
+			this.pending = enclosing == null || !enclosing.isFinished() ? enclosing : enclosing.pending;
+		}
+
+		/**
+		 * See whether every symbol of the production has been matched
+		 * @return true if there are no symbols left to match, false otherwise
+		 */
+		private boolean isFinished() {
+			return position == production.size();
+		}
+	}
+
+	/**
+	 * Parse the input as an EXPRESSION, reporting every error instead of stopping at the first one
+	 * @param input a list of tokens
+	 * @return the tree and the errors of the input
+	 */
+	public static Result parseInput(List<Token> input) {
+		Objects.requireNonNull(input, "Input provided to RecoveringParser::parseInput must not be null");
+
+		return new RecoveringParser(TokenBuffer.build(input)).parse();
+	}
+
+	/**
+	 * Parse the tokens of this parser as an EXPRESSION
+	 * @return the tree and the errors of the input
+	 */
+	private Result parse() {
+		Node root = null;
+		if (!expand(NonTerminalSymbol.EXPRESSION)) {
+			root = new InternalNode.Builder().build();
+		}
+
+		while (!stack.isEmpty()) {
+			Frame frame = stack.peek();
+
+			if (frame.isFinished()) {
+				stack.pop();
+				Node node = frame.builder.buildSimplified();
+				if (stack.isEmpty()) {
+					root = node;
+				} else {
+					stack.peek().builder.addChild(node);
+				}
+			} else {
+				Symbol next = frame.production.symbolAt(frame.position++);
+				if (next instanceof TerminalSymbol) {
+					match((TerminalSymbol) next, frame);
+				} else {
+					expand((NonTerminalSymbol) next);
+				}
+			}
+		}
+
+		//every token that cannot come after the expression was skipped already, so this only reports what is left
+		if (cursor < input.size()) {
+			errors.add(new SyntaxError(cursor, input.get(cursor), EnumSet.noneOf(TerminalSymbol.class), true));
+		}
+		return new Result(root, errors);
+	}
+
+	/**
+	 * Match a terminal, or report it as missing and resynchronize
+	 * @param symbol the terminal to match
+	 * @param frame the frame whose production contains the terminal, already moved past it
+	 */
+	private void match(TerminalSymbol symbol, Frame frame) {
+		TerminalSymbol lookAhead = input.typeAt(cursor);
+		if (lookAhead != symbol) {
+			errors.add(new SyntaxError(cursor, lookAhead == null ? null : input.get(cursor), EnumSet.of(symbol), false));
+
+			//skip tokens until the terminal shows up or a token fits after it, in which case the terminal is left out
+			while (lookAhead != symbol) {
+				if (lookAhead == null || canFollow(lookAhead)) {
+					return;
+				}
+				lookAhead = input.typeAt(++cursor);
+			}
+		}
+		frame.builder.addChild(LeafNode.build(input.get(cursor++)));
+	}
+
+	/**
+	 * Push the production of a nonterminal for the next token, or report an error and resynchronize
+	 * @param symbol the nonterminal to expand
+	 * @return true if the production was pushed, false if the nonterminal was left out
+	 */
+	private boolean expand(NonTerminalSymbol symbol) {
+		boolean reported = false;
+		while (true) {
+			TerminalSymbol lookAhead = input.typeAt(cursor);
+			if (fits(symbol, lookAhead)) {
+				stack.push(new Frame(table.production(symbol, lookAhead), stack.peek()));
+				return true;
+			}
+
+			if (!reported) {
+				errors.add(error(symbol));
+				reported = true;
+			}
+			//a token that can come after the nonterminal ends it, and any other token is skipped
+			if (lookAhead == null || (table.follow(symbol).contains(lookAhead) && canFollow(lookAhead))) {
+				return false;
+			}
+			cursor++;
+		}
+	}
+
+	/**
+	 * See whether a nonterminal can be expanded for a lookahead. A production that is empty only fits if
+	 * the lookahead can be matched by what is left of the productions being parsed, since the FOLLOW set of
+	 * the nonterminal holds the symbols that can come after it anywhere rather than here.
+	 * @param symbol the nonterminal to expand
+	 * @param lookAhead the type of the next token, or null at the end of the input
+	 * @return true if the production for the lookahead fits, false otherwise
+	 */
+	private boolean fits(NonTerminalSymbol symbol, TerminalSymbol lookAhead) {
+		SymbolSequence production = table.production(symbol, lookAhead);
+		return production != null && (production.size() > 0 || lookAhead == null || canFollow(lookAhead));
+	}
+
+	/**
+	 * See whether a token can be matched by what is left of the productions being parsed. The frames that have
+	 * no symbols left, such as the enclosing tails of a long sum, are skipped without being visited.
+	 * @param lookAhead the type of the token
+	 * @return true if the first symbol left that cannot be empty, or one of the symbols before it, can start with the token
+	 */
+	private boolean canFollow(TerminalSymbol lookAhead) {
+		for (Frame frame = stack.peek(); frame != null; frame = frame.pending) {
+			for (int i = frame.position; i < frame.production.size(); i++) {
+				Symbol next = frame.production.symbolAt(i);
+				if (next instanceof TerminalSymbol) {
+					return next == lookAhead;
+				}
+				NonTerminalSymbol nonTerminal = (NonTerminalSymbol) next;
+				SymbolSequence production = table.production(nonTerminal, lookAhead);
+				if (production != null && production.size() > 0) {
+					return true;
+				}
+				if (!table.isNullable(nonTerminal)) {
+					return false;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Report that the next token cannot start a nonterminal
+	 * @param symbol the nonterminal
+	 * @return an error listing the symbols that would have fit
+	 */
+	private SyntaxError error(NonTerminalSymbol symbol) {
+		Set<TerminalSymbol> expected = EnumSet.noneOf(TerminalSymbol.class);
+		for (TerminalSymbol lookAhead : symbols) {
+			if (fits(symbol, lookAhead)) {
+				expected.add(lookAhead);
+			}
+		}
+		TerminalSymbol found = input.typeAt(cursor);
+		return new SyntaxError(cursor, found == null ? null : input.get(cursor), expected, found != null && fits(symbol, null));
+	}
+}
@@ -0,0 +1,119 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * java class RecoveringParserTest
+ * The set of unit tests for the RecoveringParser class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class RecoveringParserTest {
+	/**
+	 * Get the positions of the errors of an input
+	 * @param input the expression to parse
+	 * @return the offsets of the errors, in order
+	 */
+	private static List<Integer> offsets(String input) {
+		List<Integer> offsets = new ArrayList<>();
+		for (RecoveringParser.SyntaxError error : RecoveringParser.parseInput(Lexer.lex(input)).getErrors()) {
+			offsets.add(error.getOffset());
+		}
+		return offsets;
+	}
+
+	//test that valid input gets the same tree as from parseInput and no errors
+	@Test
+	public void testValidInput() {
+		for (String input : new String[] {"a+b+c", "-(a+b)", "a*-b", "((a))", "(a+b)*(a+b)", ""}) {
+			RecoveringParser.Result result = RecoveringParser.parseInput(Lexer.lex(input));
+
+			assertTrue(input, result.isSuccess());
+			assertEquals(input, Optional.of(result.getNode()), NonTerminalSymbol.parseInput(Lexer.lex(input)));
+		}
+	}
+
+	//test that every error is found in one pass, with tokens skipped together reported once
+	@Test
+	public void testAllErrors() {
+		assertEquals(offsets("a+*b"), Arrays.asList(2));
+		assertEquals(offsets("a+*b+c//d"), Arrays.asList(2, 7));
+		assertEquals(offsets("a)+b)*c"), Arrays.asList(1, 4));
+		assertEquals(offsets("(a+b"), Arrays.asList(4));
+		assertEquals(offsets("a b c"), Arrays.asList(1));
+		assertEquals(offsets(")"), Arrays.asList(0));
+	}
+
+	//test that the error reports the token found and what was expected instead
+	@Test
+	public void testErrorDetails() {
+		RecoveringParser.SyntaxError error = RecoveringParser.parseInput(Lexer.lex("a+*b")).getErrors().get(0);
+
+		assertEquals(error.getFound(), Optional.of(Connector.build(TerminalSymbol.TIMES)));
+		assertEquals(error.getExpected(), EnumSet.of(TerminalSymbol.VARIABLE, TerminalSymbol.MINUS, TerminalSymbol.OPEN));
+		assertFalse(error.isEndExpected());
+		assertEquals(error.toString(), "token 2: found '*', expected variable, '-', '('");
+
+		error = RecoveringParser.parseInput(Lexer.lex("(a")).getErrors().get(0);
+		assertFalse(error.getFound().isPresent());
+		assertEquals(error.getExpected(), EnumSet.of(TerminalSymbol.CLOSE));
+		assertEquals(error.toString(), "token 2: found end of input, expected ')'");
+
+		error = RecoveringParser.parseInput(Lexer.lex("a)")).getErrors().get(0);
+		assertTrue(error.isEndExpected());
+		assertFalse(error.getExpected().contains(TerminalSymbol.CLOSE));
+	}
+
+	//test that the tokens that fit still make up a tree
+	@Test
+	public void testPartialTree() {
+		assertEquals(RecoveringParser.parseInput(Lexer.lex("a+*b")).getNode().toString(), "[a,+,b]");
+		assertEquals(RecoveringParser.parseInput(Lexer.lex("a)+b")).getNode(), NonTerminalSymbol.parseInput(Lexer.lex("a+b")).get());
+		assertEquals(RecoveringParser.parseInput(Lexer.lex("a*(b+c")).getNode().toString(), "[a,*,[(,[b,+,c]]]");
+	}
+
+	//test that skipping many tokens after a long sum takes linear time, even though every tail of the sum is still being parsed
+	@Test(timeout = 5_000)
+	public void testSkipAfterLongSum() {
+		StringBuilder expression = new StringBuilder("a");
+		for (int i = 0; i < 20_000; i++) {
+			expression.append("+a");
+		}
+		for (int i = 0; i < 20_000; i++) {
+			expression.append(')');
+		}
+		RecoveringParser.Result result = RecoveringParser.parseInput(TableDrivenParserTest.tokens(expression.toString()));
+
+		assertEquals(result.getErrors().size(), 1);
+		assertEquals(result.getErrors().get(0).getOffset(), 40_001);
+	}
+
+	//test that random token sequences have errors exactly when parseInput fails
+	@Test
+	public void testMatchesParseInputOnRandomTokens() {
+		Random random = new Random(293);
+		for (int i = 0; i < 20000; i++) {
+			List<Token> tokens = TableDrivenParserTest.tokens(TableDrivenParserTest.randomExpression(random, random.nextInt(10)));
+			RecoveringParser.Result result = RecoveringParser.parseInput(tokens);
+			Optional<Node> expected = NonTerminalSymbol.parseInput(tokens);
+
+			assertEquals(tokens.toString(), result.isSuccess(), expected.isPresent());
+			if (result.isSuccess()) {
+				assertEquals(tokens.toString(), result.getNode(), expected.get());
+			}
+			for (RecoveringParser.SyntaxError error : result.getErrors()) {
+				assertTrue(tokens.toString(), error.getOffset() <= tokens.size());
+			}
+		}
+	}
+}
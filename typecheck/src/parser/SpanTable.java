@@ -0,0 +1,296 @@
+package parser;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Java class SpanTable
+ * This class remembers, for each nonterminal and each position of the input, the
+ * node that the nonterminal matched starting at that position and how many tokens
+ * the match covered. A nonterminal only looks at the tokens from its start up to and
+ * including the token after its end (its lookahead), so an entry stays correct after
+ * an edit that leaves those tokens alone, and the parser can reuse it instead of
+ * parsing again.
+ *
+ * The entries are kept in the leaves of a TokenRope next to the tokens they start at,
+ * and store their length instead of where they end, so an edit splices the rope and
+ * moves every entry after it without visiting it. Each entry has the stamp of the edit
+ * it was added after, and it is only used while none of the tokens it looked at have
+ * a later stamp. An entry whose production ends with a nonterminal also keeps the
+ * children matched before it, which stay correct as long as their own tokens do: the
+ * tails of long sums and products each contain the next one, so an edit near the end
+ * invalidates all of them, but the parser rebuilds each of them from these children
+ * and only parses the last tail again.
+ *
+ * A table is edited in place, so only the latest parse of its tokens may edit it; a
+ * version number tells the parses apart.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+final class SpanTable {
+	//the version of a table that is being edited and parsed
+	private static final int claimed = -1;
+
+	//the tokens of the latest parse, holding the entries of the nonterminals starting at each of them
+	private TokenRope rope;
+
+	//the entries of the nonterminals matched at the end of the input, which start at no token
+	private final Span[] endSpans = new Span[NonTerminalSymbol.values().length];
+
+	//the latest edit that removed the tokens at the end of the input, which changes the lookahead of the entries ending there
+	private int endStamp = 0;
+
+	//the stamp of the latest edit, which is given to every entry added while parsing after it
+	private int stamp = 0;
+
+	//the first and last position of the tokens given the stamp of the latest edit (the last is before the first if there are none)
+	private int editedFrom = 0;
+	private int editedTo = -1;
+
+	//the leaf of the rope that was looked up last, and the position of its first token
+	private TokenRope leaf = null;
+	private int leafStart = 0;
+
+	//the version of the latest parse of the table, or claimed while an edit is being parsed
+	private final AtomicInteger version = new AtomicInteger(claimed);
+
+	//how many entries were looked up and found, parsed, and rebuilt from the children of an older entry since the latest edit
+	private int reusedCount = 0;
+	private int parsedCount = 0;
+	private int rebuiltCount = 0;
+
+	/**
+	 * An entry of the table, which is never modified once it is added
+	 */
+	static final class Span {
+		//the node matched
+		private final Node node;
+
+		//the number of tokens matched
+		private final int length;
+
+		//the edit this entry was added after
+		private final int stamp;
+
+		//the children matched before the last symbol of the production, or null if that symbol is a terminal
+		private final Node[] prefix;
+
+		//the number of tokens matched by the children before the last symbol of the production
+		private final int prefixLength;
+
+		/**
+		 * Constructor for an entry
+		 * @param node the node matched
+		 * @param length the number of tokens matched
+		 * @param stamp the edit the entry is added after
+		 * @param prefix the children matched before the last symbol of the production, or null if that symbol is a terminal
+		 * @param prefixLength the number of tokens matched by those children
+		 */
+		private Span(Node node, int length, int stamp, Node[] prefix, int prefixLength) {
+			this.node = node;
+			this.length = length;
+			this.stamp = stamp;
+			this.prefix = prefix;
+			this.prefixLength = prefixLength;
+		}
+	}
+
+	/**
+	 * Constructor for an empty span table, which is claimed by the first parse of its tokens until it is published
+	 * @param tokens the tokens of the input
+	 */
+	SpanTable(List<Token> tokens) {
+		this.rope = TokenRope.build(tokens, stamp);
+	}
+
+	/**
+	 * Get the tokens of the latest parse
+	 * @return the tokens
+	 */
+	TokenRope tokens() {
+		return rope;
+	}
+
+	/**
+	 * Replace a range of the tokens of a parse, if it is the latest one, so that the edited tokens can be parsed.
+	 * The table is claimed by the parse of the edited tokens until it is published. Entries that looked at
+	 * the range are no longer used, and every other entry is kept.
+	 * @param parsed the version of the parse being edited
+	 * @param start the position of the first replaced token
+	 * @param end the position after the last replaced token
+	 * @param replacement the tokens that replace the range
+	 * @return true if the table was edited, or false if the parse is no longer the latest one
+	 */
+	boolean edit(int parsed, int start, int end, List<Token> replacement) {
+		if (!version.compareAndSet(parsed, claimed)) {
+			return false;
+		}
+
+		stamp = parsed + 1;
+		rope = rope.replace(start, end, replacement, stamp);
+		leaf = null;
+		editedFrom = start;
+		editedTo = replacement.isEmpty() ? Math.min(start, rope.size() - 1) : start + replacement.size() - 1;
+		if (replacement.isEmpty() && start == rope.size()) {
+			endStamp = stamp;
+		}
+		reusedCount = 0;
+		parsedCount = 0;
+		rebuiltCount = 0;
+		return true;
+	}
+
+	/**
+	 * Make the entries added by the parse that claimed the table visible to the thread that edits it next
+	 * @return the version of the parse
+	 */
+	int publish() {
+		version.set(stamp);
+		return stamp;
+	}
+
+	/**
+	 * Get the entry of a nonterminal at a position, whether or not it can still be used
+	 * @param symbol the nonterminal
+	 * @param offset the position of the first token of the match
+	 * @return the entry, or null if there is none
+	 */
+	private Span spanAt(NonTerminalSymbol symbol, int offset) {
+		return offset == rope.size() ? endSpans[symbol.ordinal()] : leafAt(offset).span(symbol.ordinal(), offset - leafStart);
+	}
+
+	/**
+	 * Find the leaf of the rope holding the token at a position, starting from the leaf looked up last
+	 * since the parser mostly looks up positions close to each other
+	 * @param offset the position of the token
+	 * @return the leaf, whose first token is at leafStart
+	 */
+	private TokenRope leafAt(int offset) {
+		if (leaf == null || offset < leafStart || offset >= leafStart + leaf.size()) {
+			leaf = rope.leafAt(offset);
+			leafStart = rope.leafStart(offset);
+		}
+		return leaf;
+	}
+
+	/**
+	 * See whether the tokens of a range, and the end of the input if the range reaches it, are unchanged since an edit
+	 * @param from the position of the first token
+	 * @param to the position of the last token, which may be the end of the input
+	 * @param since the stamp of the edit
+	 * @return true if no later edit changed the range, false otherwise
+	 */
+	private boolean isUnchanged(int from, int to, int since) {
+		if (to >= rope.size() && endStamp > since) {
+			return false;
+		}
+		//only the latest edit can have changed an entry added after the edit before it, which is checked without searching the rope
+		if (since < stamp && from <= editedTo && to >= editedFrom) {
+			return false;
+		}
+		if (since >= stamp - 1) {
+			return true;
+		}
+		return rope.stamp(from, Math.min(to + 1, rope.size())) <= since;
+	}
+
+	/**
+	 * Get the node a nonterminal matched at a position
+	 * @param symbol the nonterminal
+	 * @param offset the position of the first token of the match
+	 * @return the node, or null if it is not known or some of the tokens it looked at were edited
+	 */
+	Node node(NonTerminalSymbol symbol, int offset) {
+		Span span = spanAt(symbol, offset);
+		if (span == null || !isUnchanged(offset, offset + span.length, span.stamp)) {
+			return null;
+		}
+		reusedCount++;
+		return span.node;
+	}
+
+	/**
+	 * Get where the match of a nonterminal at a position ended
+	 * @param symbol the nonterminal
+	 * @param offset the position of the first token of the match, which must have a known node
+	 * @return the position after the last token of the match
+	 */
+	int end(NonTerminalSymbol symbol, int offset) {
+		return offset + spanAt(symbol, offset).length;
+	}
+
+	/**
+	 * Get the children a nonterminal matched at a position before the last symbol of its production,
+	 * which can be reused even if the node cannot
+	 * @param symbol the nonterminal
+	 * @param offset the position of the first token of the match
+	 * @return the children, or null if they are not known or some of the tokens they looked at were edited
+	 */
+	Node[] prefix(NonTerminalSymbol symbol, int offset) {
+		Span span = spanAt(symbol, offset);
+		if (span == null || span.prefix == null || !isUnchanged(offset, offset + span.prefixLength, span.stamp)) {
+			return null;
+		}
+		return span.prefix;
+	}
+
+	/**
+	 * Get where the children a nonterminal matched at a position before the last symbol of its production ended
+	 * @param symbol the nonterminal
+	 * @param offset the position of the first token of the match, which must have known children
+	 * @return the position of the first token of the last symbol
+	 */
+	int prefixEnd(NonTerminalSymbol symbol, int offset) {
+		return offset + spanAt(symbol, offset).prefixLength;
+	}
+
+	/**
+	 * Remember the node a nonterminal matched at a position. The node counts as rebuilt if its children before
+	 * the last symbol are the ones of the entry it replaces, and as parsed otherwise.
+	 * @param symbol the nonterminal
+	 * @param offset the position of the first token of the match
+	 * @param node the node matched
+	 * @param end the position after the last token of the match
+	 * @param prefix the children matched before the last symbol of the production, or null if that symbol is a terminal
+	 * @param prefixEnd the position of the first token of the last symbol of the production
+	 */
+	void put(NonTerminalSymbol symbol, int offset, Node node, int end, Node[] prefix, int prefixEnd) {
+		Span replaced = spanAt(symbol, offset);
+		if (prefix != null && replaced != null && replaced.prefix == prefix) {
+			rebuiltCount++;
+		} else {
+			parsedCount++;
+		}
+
+		Span span = new Span(node, end - offset, stamp, prefix, prefix == null ? 0 : prefixEnd - offset);
+		if (offset == rope.size()) {
+			endSpans[symbol.ordinal()] = span;
+		} else {
+			leafAt(offset).setSpan(symbol.ordinal(), offset - leafStart, span);
+		}
+	}
+
+	/**
+	 * Get the number of entries that were reused since the latest edit
+	 * @return the number of successful lookups
+	 */
+	int reusedCount() {
+		return reusedCount;
+	}
+
+	/**
+	 * Get the number of entries that were parsed since the latest edit
+	 * @return the number of entries added that were not rebuilt
+	 */
+	int parsedCount() {
+		return parsedCount;
+	}
+
+	/**
+	 * Get the number of entries that were rebuilt from the children of an older entry since the latest edit
+	 * @return the number of entries added that were not parsed
+	 */
+	int rebuiltCount() {
+		return rebuiltCount;
+	}
+}
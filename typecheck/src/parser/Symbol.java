@@ -9,4 +9,12 @@ import java.util.List;
  */
 interface Symbol {
 	public ParseState parse(List<Token> input);
+	
+	/**
+	 * Parse the input starting at a given position without copying it
+	 * @param input the tokens being parsed
+	 * @param offset the position of the first token to parse
+	 * @return a ParseState whose remainder starts right after the tokens this symbol matched
+	 */
+	public ParseState parse(TokenBuffer input, int offset);
 }
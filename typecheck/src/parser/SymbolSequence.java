@@ -1,6 +1,5 @@
 package parser;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -17,7 +16,7 @@ final class SymbolSequence {
 	private final List<Symbol> production;
 
 	// an empty symbol sequence
-	final static SymbolSequence EPSILON = new SymbolSequence(ListHandler.createEmptyList());
+	final static SymbolSequence EPSILON = new SymbolSequence(ListHandler.immutableList());
 
 	/**
 	 * Constructor for a SymbolSequence
@@ -37,7 +36,7 @@ final class SymbolSequence {
 	public static SymbolSequence build(List<Symbol> production) {
 		Objects.requireNonNull(production, "Production provided to SymbolSequence::build must not be null");
 
-		return new SymbolSequence(ListHandler.shallowCopy(production));
+		return new SymbolSequence(ListHandler.immutableCopy(production));
 	}
 
 	/**
@@ -47,7 +46,26 @@ final class SymbolSequence {
 	 * @return a symbol sequence with the given symbols
 	 */
 	static final SymbolSequence build(Symbol... symbols) {
-		return new SymbolSequence(Arrays.asList(symbols));
+		return new SymbolSequence(ListHandler.immutableList(symbols));
+	}
+
+	/**
+	 * Get the number of symbols in this sequence
+	 * 
+	 * @return the number of symbols in this sequence
+	 */
+	int size() {
+		return production.size();
+	}
+
+	/**
+	 * Get the symbol at a given position of this sequence
+	 * 
+	 * @param index the position of the symbol
+	 * @return the symbol at that position
+	 */
+	Symbol symbolAt(int index) {
+		return production.get(index);
 	}
 
 	/**
@@ -69,22 +87,31 @@ final class SymbolSequence {
 	public ParseState match(List<Token> input) {
 		Objects.requireNonNull(input, "Input provided to SymbolSequence::match must not be null");
 
-		List<Token> remainder = ListHandler.shallowCopy(input);
-		List<Node> children = ListHandler.createEmptyList();
+		return match(TokenBuffer.build(input), 0);
+	}
+
+	/**
+	 * Method to match the symbols from this SymbolSequence to the input starting at a given position.
+	 * Each symbol moves the position forward, so the input is never copied.
+	 * 
+	 * @param input the tokens being parsed
+	 * @param offset the position of the first token to match
+	 * @return a ParseState corresponding to the parsing result
+	 */
+	ParseState match(TokenBuffer input, int offset) {
+		InternalNode.Builder builder = new InternalNode.Builder();
+		int position = offset;
 		
-		for (Symbol symbol : production) {
-			ParseState parsingResult = symbol.parse(remainder);
+		for (int i = 0; i < production.size(); i++) {
+			ParseState parsingResult = production.get(i).parse(input, position);
 			if (parsingResult.getSuccess()) {
-				children.add(parsingResult.getNode());
-				remainder = parsingResult.getRemainder();
+				builder.addChild(parsingResult.getNode());
+				position = parsingResult.getOffset();
 			} else {
 				return ParseState.FAILURE;
 			}
 		}
-
-		InternalNode.Builder builder = new InternalNode.Builder();
-		children.stream().forEachOrdered(node -> builder.addChild(node));
 		
-		return ParseState.build(builder.simplify().build(), remainder);
+		return ParseState.build(builder.buildSimplified(), input, position);
 	}
 }
@@ -70,5 +70,21 @@ public class SymbolSequenceTest {
 		assertTrue(testState.getNode().toList().get(0).matches(TerminalSymbol.TIMES));
 		assertTrue(testState.getNode().toList().get(1).matches(TerminalSymbol.PLUS));
 	}
+	
+	@Test
+	// ensure SymbolSequence::match can start in the middle of the input and only moves the offset forward
+	public void testMatchAtOffset() {
+		TokenBuffer input = TokenBuffer.build(Arrays.asList(Variable.build("a"), Connector.build(TerminalSymbol.TIMES), Connector.build(TerminalSymbol.PLUS), Variable.build("b")));
+		ParseState testState = SymbolSequence.build(timesPlusList).match(input, 1);
+		
+		assertTrue(testState.getSuccess());
+		assertEquals(testState.getOffset(), 3);
+		assertFalse(testState.hasNoRemainder());
+		assertEquals(testState.getRemainder(), Arrays.asList(Variable.build("b")));
+		assertEquals(testState.getNode().toString(), "[*,+]");
+		
+		assertEquals(SymbolSequence.build(timesPlusList).match(input, 0), ParseState.FAILURE);
+		assertTrue(SymbolSequence.EPSILON.match(input, 4).hasNoRemainder());
+	}
 
 }
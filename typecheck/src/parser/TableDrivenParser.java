@@ -0,0 +1,268 @@
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Java class TableDrivenParser
+ * This class parses a list of tokens with the same production table as
+ * NonTerminalSymbol, but it keeps its own stack of partially matched productions
+ * and a cursor into an array of tokens instead of recursing and copying the
+ * remaining input at every step. It produces the same trees as
+ * NonTerminalSymbol::parseInput in time linear in the number of tokens, and since
+ * its stack is on the heap, it parses deeply nested input without running out of
+ * thread stack. NonTerminalSymbol::parse uses it to expand every nonterminal.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class TableDrivenParser {
+	/**
+	 * A constructor that cannot be accessed to prevent creating instances of this class
+	 */
+	private TableDrivenParser() {
+
+	}
+
+	/**
+	 * A production that is being matched, along with the children matched so far
+	 */
+	private static final class Frame {
+		//the nonterminal whose production is being matched
+		private final NonTerminalSymbol symbol;
+
+		//the position of the first token matched by the production
+		private final int offset;
+
+		//the production being matched
+		private final SymbolSequence production;
+
+		//the position of the next symbol of the production to match
+		private int position = 0;
+
+		//the children matched so far
+		private final InternalNode.Builder builder = new InternalNode.Builder();
+
+		//the children matched before the last symbol of the production, once it is reached, if it is a nonterminal and the children are being remembered
+		private Node[] prefix = null;
+
+		//the position of the first token matched by the last symbol of the production, once it is reached
+		private int prefixEnd;
+
+		/**
+		 * Constructor for a frame that has not matched anything yet
+		 * @param symbol the nonterminal being expanded
+		 * @param offset the position of the first token to match
+		 * @param production the production to match
+		 */
+		private Frame(NonTerminalSymbol symbol, int offset, SymbolSequence production) {
+			this.symbol = symbol;
+			this.offset = offset;
+			this.production = production;
+		}
+
+		/**
+		 * See whether every symbol of the production has been matched
+		 * @return true if the production is fully matched, false otherwise
+		 */
+		private boolean isComplete() {
+			return position == production.size();
+		}
+
+		/**
+		 * Get the next symbol to match and move past it
+		 * @return the next symbol of the production
+		 */
+		private Symbol nextSymbol() {
+			return production.symbolAt(position++);
+		}
+
+		/**
+		 * Skip to the last symbol of the production, with the children matched before it by an earlier parse
+		 * @param children the children matched before the last symbol
+		 * @param lastOffset the position of the first token matched by the last symbol
+		 */
+		private void resume(Node[] children, int lastOffset) {
+			for (Node child : children) {
+				builder.addChild(child);
+			}
+			prefix = children;
+			prefixEnd = lastOffset;
+			position = production.size() - 1;
+		}
+
+		/**
+		 * Get the position of the next token to match
+		 * @param cursor the position of the next token before this frame was pushed
+		 * @return the position after the children this frame was resumed with, or the cursor if it was not resumed
+		 */
+		private int resumeOffset(int cursor) {
+			return prefix != null ? prefixEnd : cursor;
+		}
+
+		/**
+		 * Build the node for this production in the same way as SymbolSequence::match
+		 * @param interner the interner to share the node through, or null to always create a new node
+		 * @return the node for the matched production
+		 */
+		private Node buildNode(NodeInterner interner) {
+			Node node = builder.buildSimplified();
+			return interner == null ? node : interner.intern(node);
+		}
+	}
+
+	/**
+	 * Attempts to parse the input with an EXPRESSION, and returns the root node
+	 * if the parsing process is successful and has no remainder, and an empty Optional otherwise.
+	 * @param input a list of tokens
+	 * @return the root node of the parse tree, or an empty Optional if the input is not a valid expression
+	 */
+	public static Optional<Node> parseInput(List<Token> input) {
+		Objects.requireNonNull(input, "Input provided to TableDrivenParser::parseInput must not be null");
+
+		return parse(TokenBuffer.build(input));
+	}
+
+	/**
+	 * Parse packed tokens as an EXPRESSION, reading their symbol codes directly
+	 * @param input the packed tokens
+	 * @return the root node of the parse tree, or an empty Optional if the input is not a valid expression
+	 */
+	public static Optional<Node> parsePacked(PackedTokens input) {
+		Objects.requireNonNull(input, "Input provided to TableDrivenParser::parsePacked must not be null");
+
+		return parse(TokenBuffer.build(input));
+	}
+
+	/**
+	 * Parse a list of tokens in the same way as parseInput, but share equal subtrees of the result through an interner
+	 * @param input a list of tokens
+	 * @param interner the interner holding the shared nodes
+	 * @return the root node of the parse tree, or an empty Optional if the input is not a valid expression
+	 */
+	public static Optional<Node> parseInput(List<Token> input, NodeInterner interner) {
+		Objects.requireNonNull(input, "Input provided to TableDrivenParser::parseInput must not be null");
+		Objects.requireNonNull(interner, "Interner provided to TableDrivenParser::parseInput must not be null");
+
+		return parse(TokenBuffer.build(input), null, interner);
+	}
+
+	/**
+	 * Parse a buffer of tokens as an EXPRESSION
+	 * @param input the tokens to parse
+	 * @return the root node of the parse tree, or an empty Optional if the input is not a valid expression
+	 */
+	static Optional<Node> parse(TokenBuffer input) {
+		return parse(input, null, null);
+	}
+
+	/**
+	 * Parse a buffer of tokens as an EXPRESSION, reusing the nonterminals already matched in a span table
+	 * and adding the ones it matches to the table
+	 * @param input the tokens to parse
+	 * @param spans the nonterminals matched so far, or null to parse without remembering them
+	 * @param interner the interner to share nodes through, or null to always create new nodes
+	 * @return the root node of the parse tree, or an empty Optional if the input is not a valid expression
+	 */
+	static Optional<Node> parse(TokenBuffer input, SpanTable spans, NodeInterner interner) {
+		ParseState state = parse(NonTerminalSymbol.EXPRESSION, input, 0, spans, interner);
+		return state.getSuccess() && state.hasNoRemainder() ? Optional.of(state.getNode()) : Optional.empty();
+	}
+
+	/**
+	 * Parse the tokens of a buffer from a given position as a nonterminal, without requiring the whole input to be matched
+	 * @param symbol the nonterminal to match
+	 * @param input the tokens to parse
+	 * @param offset the position of the first token to match
+	 * @param spans the nonterminals matched so far, or null to parse without remembering them
+	 * @param interner the interner to share nodes through, or null to always create new nodes
+	 * @return a ParseState with the node matched and the tokens after it, or ParseState.FAILURE if the nonterminal does not match
+	 */
+	static ParseState parse(NonTerminalSymbol symbol, TokenBuffer input, int offset, SpanTable spans, NodeInterner interner) {
+		Node reusedRoot = spans == null ? null : spans.node(symbol, offset);
+		if (reusedRoot != null) {
+			return ParseState.build(reusedRoot, input, spans.end(symbol, offset));
+		}
+
+		Frame start = expand(symbol, input, offset, spans);
+		if (start == null) {
+			return ParseState.FAILURE;
+		}
+
+		Deque<Frame> stack = new ArrayDeque<>();
+		stack.push(start);
+		int cursor = start.resumeOffset(offset);
+		Node root = null;
+
+		while (!stack.isEmpty()) {
+			Frame frame = stack.peek();
+
+			if (frame.isComplete()) {
+				stack.pop();
+				Node node = frame.buildNode(interner);
+				if (spans != null) {
+					spans.put(frame.symbol, frame.offset, node, cursor, frame.prefix, frame.prefixEnd);
+				}
+				if (stack.isEmpty()) {
+					root = node;
+				} else {
+					stack.peek().builder.addChild(node);
+				}
+			} else {
+				Symbol next = frame.nextSymbol();
+				if (next instanceof TerminalSymbol) {
+					if (input.typeAt(cursor) != next) {
+						return ParseState.FAILURE;
+					}
+					Token token = input.get(cursor++);
+					frame.builder.addChild(interner == null ? LeafNode.build(token) : LeafNode.build(token, interner));
+				} else {
+					NonTerminalSymbol nonTerminal = (NonTerminalSymbol) next;
+					if (spans != null && frame.isComplete() && frame.prefix == null) {
+						frame.prefix = frame.builder.children();
+						frame.prefixEnd = cursor;
+					}
+					Node reused = spans == null ? null : spans.node(nonTerminal, cursor);
+					if (reused != null) {
+						frame.builder.addChild(reused);
+						cursor = spans.end(nonTerminal, cursor);
+					} else {
+						Frame expanded = expand(nonTerminal, input, cursor, spans);
+						if (expanded == null) {
+							return ParseState.FAILURE;
+						}
+						stack.push(expanded);
+						cursor = expanded.resumeOffset(cursor);
+					}
+				}
+			}
+		}
+
+		return ParseState.build(root, input, cursor);
+	}
+
+	/**
+	 * Start matching a nonterminal, resuming the production it matched at the same position before an edit
+	 * if the span table still has the children matched before the last symbol of that production
+	 * @param symbol the nonterminal to match
+	 * @param input the tokens to parse
+	 * @param offset the position of the first token to match
+	 * @param spans the nonterminals matched so far, or null to parse without remembering them
+	 * @return a frame for the production of the nonterminal, or null if no production starts with the token at offset
+	 */
+	private static Frame expand(NonTerminalSymbol symbol, TokenBuffer input, int offset, SpanTable spans) {
+		SymbolSequence production = symbol.productionFor(input.typeAt(offset));
+		if (production == null) {
+			return null;
+		}
+
+		Frame frame = new Frame(symbol, offset, production);
+		Node[] prefix = spans == null ? null : spans.prefix(symbol, offset);
+		if (prefix != null) {
+			frame.resume(prefix, spans.prefixEnd(symbol, offset));
+		}
+		return frame;
+	}
+}
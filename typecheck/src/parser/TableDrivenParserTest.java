@@ -0,0 +1,125 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * java class TableDrivenParserTest
+ * The set of unit tests for the TableDrivenParser class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class TableDrivenParserTest {
+	//turn a string with one character per token into a list of tokens
+	static List<Token> tokens(String expression) {
+		List<Token> tokens = new ArrayList<>();
+		for (char c : expression.toCharArray()) {
+			tokens.add(TerminalSymbol.stringToToken(String.valueOf(c)));
+		}
+		return tokens;
+	}
+
+	//generate a random (possibly invalid) expression of single character tokens
+	static String randomExpression(Random random, int length) {
+		String alphabet = "ab+-*/()";
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return builder.toString();
+	}
+
+	//generate a random valid expression with the given nesting depth, whose variables are a, b and c
+	static String randomValidExpression(Random random, int depth) {
+		return randomValidExpression(random, depth, "abc", 1);
+	}
+
+	//generate a random valid expression with the given nesting depth, whose variables have up to nameLength letters taken from names
+	static String randomValidExpression(Random random, int depth, String names, int nameLength) {
+		String operators = "+-*/";
+		StringBuilder builder = new StringBuilder();
+		int terms = 1 + random.nextInt(4);
+		for (int i = 0; i < terms; i++) {
+			if (i > 0) {
+				builder.append(operators.charAt(random.nextInt(operators.length())));
+			}
+			if (random.nextInt(4) == 0) {
+				builder.append('-');
+			}
+			if (depth > 0 && random.nextBoolean()) {
+				builder.append('(').append(randomValidExpression(random, depth - 1, names, nameLength)).append(')');
+			} else {
+				int length = nameLength > 1 ? 1 + random.nextInt(nameLength) : 1;
+				for (int j = 0; j < length; j++) {
+					builder.append(names.charAt(random.nextInt(names.length())));
+				}
+			}
+		}
+		return builder.toString();
+	}
+
+	//test that both parsers agree on the given expression
+	private void assertSameResult(String expression) {
+		Optional<Node> expected = NonTerminalSymbol.parseInput(tokens(expression));
+		Optional<Node> actual = TableDrivenParser.parseInput(tokens(expression));
+
+		assertEquals(expression, expected.isPresent(), actual.isPresent());
+		if (expected.isPresent()) {
+			assertEquals(expression, expected.get().toString(), actual.get().toString());
+		}
+	}
+
+	//test that the parser rejects null input
+	@Test(expected = NullPointerException.class)
+	public void testRejectsNull() {
+		TableDrivenParser.parseInput(null);
+	}
+
+	//test a few hand-picked expressions, including the odd shapes the simplification produces
+	@Test
+	public void testMatchesRecursiveParser() {
+		Arrays.asList("", "a", "-a", "a+b", "a+b/c", "a+b+c+d+e", "a*b*c*d", "a*-b", "-a+b", "-(a+b)",
+				"((a))", "(a+b)*(c-d)/e", "(a+b*(c-d)/e)+f-(g*h/i)", "a/b/c/d+e*f*g")
+			.forEach(this::assertSameResult);
+	}
+
+	//test that invalid expressions are rejected by both parsers
+	@Test
+	public void testRejectsInvalidExpressions() {
+		Arrays.asList("(a)-", "a)", "ab", "(a+b", "+", "()", "a**b", "a-(b*c)d")
+			.forEach(expression -> {
+				assertFalse(expression, TableDrivenParser.parseInput(tokens(expression)).isPresent());
+				assertSameResult(expression);
+			});
+	}
+
+	//test that both parsers agree on many random inputs, valid or not
+	@Test
+	public void testMatchesRecursiveParserOnRandomInput() {
+		Random random = new Random(293);
+		for (int i = 0; i < 2000; i++) {
+			assertSameResult(randomExpression(random, random.nextInt(12)));
+			assertSameResult(randomValidExpression(random, 3));
+		}
+	}
+
+	//test that very long inputs are parsed without recursion or quadratic copying
+	@Test(timeout = 10_000)
+	public void testLongInput() {
+		StringBuilder expression = new StringBuilder("a");
+		while (expression.length() < 200_000) {
+			expression.append("+a*b");
+		}
+
+		assertTrue(TableDrivenParser.parseInput(tokens(expression.toString())).isPresent());
+		assertFalse(TableDrivenParser.parseInput(tokens(expression.append('+').toString())).isPresent());
+	}
+}
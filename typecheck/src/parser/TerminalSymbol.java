@@ -37,27 +37,57 @@ public enum TerminalSymbol implements Symbol {
 	 * @return If the first token in input matches this symbol, then this returns a parse state with this token followed by the remainder of the list. Otherwise, returns a failure state.
 	 */
 	public ParseState parse(List<Token> input) {
-		if (!ListHandler.nonEmptyList(input) || !ListHandler.listHead(input).matches(this)) {
+		return input == null ? ParseState.FAILURE : parse(TokenBuffer.build(input), 0);
+	}
+	
+	/**
+	 * Method that attempts to parse the token at a given position based on this terminal symbol
+	 * @param input the tokens being parsed
+	 * @param offset the position of the token to parse
+	 * @return If the token at offset matches this symbol, then this returns a parse state with this token whose remainder starts at the next token. Otherwise, returns a failure state.
+	 */
+	public ParseState parse(TokenBuffer input, int offset) {
+		if (input.typeAt(offset) != this) {
 			return ParseState.FAILURE;
 		}
 		
-		List<Token> remainder = ListHandler.shallowCopy(input);
-		
-		return ParseState.build(LeafNode.build(remainder.remove(0)), remainder);
+		return ParseState.build(LeafNode.build(input.get(offset)), input, offset + 1);
 	}
 	
 	/**
-	 * 
-	 * @param string
-	 * @return
+	 * Method that returns the symbol a single character represents
+	 * @param c the character to look up
+	 * @return the symbol whose string representation is c, or null if there is no such symbol
 	 */
-	public static Token stringToToken(String string) {
-		for (TerminalSymbol symbol : values()) {
-			if (string.equals(symbol.toString())) {
-				return Connector.build(symbol);
-			}
+	static TerminalSymbol symbolFor(char c) {
+		switch (c) {
+		case '+':
+			return PLUS;
+		case '-':
+			return MINUS;
+		case '*':
+			return TIMES;
+		case '/':
+			return DIVIDE;
+		case '(':
+			return OPEN;
+		case ')':
+			return CLOSE;
+		case ' ':
+			return EMPTY;
+		default:
+			return null;
 		}
+	}
+	
+	/**
+	 * Method that converts the string of a single token into that token
+	 * @param string the string representation of the token
+	 * @return the connector with that representation if there is one, and the variable with that name otherwise
+	 */
+	public static Token stringToToken(String string) {
+		TerminalSymbol symbol = string.length() == 1 ? symbolFor(string.charAt(0)) : null;
 		
-		return Variable.build(string);
+		return symbol == null ? Variable.build(string) : Connector.build(symbol);
 	}
 }
\ No newline at end of file
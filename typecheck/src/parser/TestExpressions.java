@@ -0,0 +1,62 @@
+package parser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * java class TestExpressions
+ * The expressions shared by the unit tests of the evaluators, whose variables are a, b, c and d
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+final class TestExpressions {
+	//the variables of the expressions, in the order of their slots
+	static final List<Variable> variables = Collections.unmodifiableList(Arrays.asList(Variable.build("a"), Variable.build("b"), Variable.build("c"), Variable.build("d")));
+
+	/**
+	 * A constructor that cannot be accessed to prevent creating instances of this class
+	 */
+	private TestExpressions() {
+
+	}
+
+	/**
+	 * Get the slots of the variables a, b, c and d, in that order
+	 * @return the slots
+	 */
+	static VariableSlots slots() {
+		return VariableSlots.build(variables);
+	}
+
+	/**
+	 * Parse a valid expression
+	 * @param expression the expression to parse
+	 * @return the root of its parse tree
+	 */
+	static Node parse(String expression) {
+		return NonTerminalSymbol.parseInput(Lexer.lex(expression)).get();
+	}
+
+	/**
+	 * Compile an expression whose variables are a, b, c and d, in that order
+	 * @param expression the expression to parse
+	 * @param compiler the build method of an evaluator, given the parse tree and the slots
+	 * @return the evaluator of the expression
+	 */
+	static <T> T compile(String expression, BiFunction<Node, VariableSlots, T> compiler) {
+		return compiler.apply(parse(expression), slots());
+	}
+
+	/**
+	 * Generate a random valid expression over the variables a, b, c and d
+	 * @param random the source of the random choices
+	 * @param depth the maximum nesting of parentheses
+	 * @return the text of the expression
+	 */
+	static String randomExpression(Random random, int depth) {
+		return TableDrivenParserTest.randomValidExpression(random, depth, "abcd", 1);
+	}
+}
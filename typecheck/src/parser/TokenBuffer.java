@@ -0,0 +1,143 @@
+package parser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Java class TokenBuffer
+ * This class is an immutable, array-backed sequence of tokens that the parser
+ * reads through a cursor index instead of copying the remaining tokens at every step.
+ * The tokens are either an array of objects, PackedTokens, in which case the parser
+ * reads the packed symbol codes and only builds a token for the leaves it creates, or
+ * a TokenRope, which IncrementalParser edits without copying the whole input.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+final class TokenBuffer {
+	//the tokens stored in this buffer, never modified after construction, or null if the tokens are packed or in a rope
+	private final Token[] tokens;
+
+	//the packed tokens stored in this buffer, or null if the tokens are an array or in a rope
+	private final PackedTokens packed;
+
+	//the rope holding the tokens of this buffer, or null if the tokens are an array or packed
+	private final TokenRope rope;
+
+	/**
+	 * Constructor for a token buffer
+	 * @param tokens the array of tokens, which must not be shared with anyone else
+	 */
+	private TokenBuffer(Token[] tokens) {
+		this.tokens = tokens;
+		this.packed = null;
+		this.rope = null;
+	}
+
+	/**
+	 * Constructor for a token buffer reading packed tokens
+	 * @param packed the packed tokens
+	 */
+	private TokenBuffer(PackedTokens packed) {
+		this.tokens = null;
+		this.packed = packed;
+		this.rope = null;
+	}
+
+	/**
+	 * Constructor for a token buffer reading a rope
+	 * @param rope the rope holding the tokens
+	 */
+	private TokenBuffer(TokenRope rope) {
+		this.tokens = null;
+		this.packed = null;
+		this.rope = rope;
+	}
+
+	/**
+	 * Create a token buffer holding a copy of the given list of tokens
+	 * @param tokens the tokens to store
+	 * @return a token buffer with the same tokens in the same order
+	 */
+	static TokenBuffer build(List<Token> tokens) {
+		Objects.requireNonNull(tokens, "tokens passed to TokenBuffer::build() cannot be null");
+
+		//packed tokens cannot change, so they are read in place
+		PackedTokens packed = PackedTokens.unwrap(tokens);
+		return packed != null ? build(packed) : new TokenBuffer(tokens.toArray(new Token[0]));
+	}
+
+	/**
+	 * Create a token buffer reading packed tokens
+	 * @param packed the tokens to read
+	 * @return a token buffer with the same tokens in the same order
+	 */
+	static TokenBuffer build(PackedTokens packed) {
+		Objects.requireNonNull(packed, "tokens passed to TokenBuffer::build() cannot be null");
+
+		return new TokenBuffer(packed);
+	}
+
+	/**
+	 * Create a token buffer reading the tokens of a rope
+	 * @param rope the tokens to read
+	 * @return a token buffer with the same tokens in the same order
+	 */
+	static TokenBuffer build(TokenRope rope) {
+		Objects.requireNonNull(rope, "tokens passed to TokenBuffer::build() cannot be null");
+
+		return new TokenBuffer(rope);
+	}
+
+	/**
+	 * Get the number of tokens in this buffer
+	 * @return the number of tokens
+	 */
+	int size() {
+		if (tokens != null) {
+			return tokens.length;
+		}
+		return packed != null ? packed.size() : rope.size();
+	}
+
+	/**
+	 * Get the token at a given position
+	 * @param index the position of the token
+	 * @return the token at that position
+	 */
+	Token get(int index) {
+		if (tokens != null) {
+			return tokens[index];
+		}
+		return packed != null ? packed.tokenAt(index) : rope.get(index);
+	}
+
+	/**
+	 * Get the type of the token at a given position, which is what the parser looks ahead at
+	 * @param index the position of the token
+	 * @return the type of the token at that position, or null if the position is at or past the end of the input
+	 */
+	TerminalSymbol typeAt(int index) {
+		if (index >= size()) {
+			return null;
+		}
+		if (tokens != null) {
+			return tokens[index].getType();
+		}
+		return packed != null ? packed.typeAt(index) : rope.get(index).getType();
+	}
+
+	/**
+	 * Get a read-only view of the tokens starting at a given position
+	 * @param fromIndex the position of the first token in the view
+	 * @return an unmodifiable list of the tokens from fromIndex to the end of the buffer
+	 */
+	List<Token> subList(int fromIndex) {
+		if (tokens == null) {
+			List<Token> list = packed != null ? packed.asList() : rope.asList();
+			return fromIndex == 0 ? list : list.subList(fromIndex, list.size());
+		}
+		return Collections.unmodifiableList(Arrays.asList(tokens).subList(fromIndex, tokens.length));
+	}
+}
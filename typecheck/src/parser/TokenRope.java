@@ -0,0 +1,360 @@
+package parser;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Java class TokenRope
+ * This class is an immutable sequence of tokens stored as a balanced tree of short
+ * arrays, so that a range of tokens can be replaced by sharing every leaf but the ones
+ * at the ends of the range instead of copying the whole sequence. Each leaf also has
+ * room for the spans of the nonterminals starting at each of its tokens, which belong
+ * to the SpanTable that built the rope and are copied along with the tokens of a leaf
+ * that is split. Every leaf remembers the edit that last changed its tokens as a stamp,
+ * and every branch the latest stamp below it, so the table can tell whether the tokens
+ * a span looked at have changed since the span was added.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+final class TokenRope {
+	//the most tokens a leaf holds when a rope is built
+	private static final int leafSize = 64;
+
+	//the tokens of a leaf, never modified after construction, or null if this is a branch
+	private final Token[] tokens;
+
+	//the spans starting at each token of a leaf, indexed by nonterminal and then by token, or null if this is a branch
+	private final SpanTable.Span[][] spans;
+
+	//the two halves of a branch, or null if this is a leaf
+	private final TokenRope left;
+	private final TokenRope right;
+
+	//the number of tokens of this rope
+	private final int size;
+
+	//the length of the longest path to a leaf, which is 0 for a leaf
+	private final int height;
+
+	//the latest edit that changed any of the tokens of this rope
+	private final int stamp;
+
+	/**
+	 * Constructor for a leaf
+	 * @param tokens the tokens of the leaf, which must not be shared with anyone else
+	 * @param spans the spans starting at each token, which must not be shared with anyone else
+	 * @param stamp the edit that last changed the tokens
+	 */
+	private TokenRope(Token[] tokens, SpanTable.Span[][] spans, int stamp) {
+		this.tokens = tokens;
+		this.spans = spans;
+		this.left = null;
+		this.right = null;
+		this.size = tokens.length;
+		this.height = 0;
+		this.stamp = stamp;
+	}
+
+	/**
+	 * Constructor for a branch
+	 * @param left the first tokens
+	 * @param right the tokens after them
+	 */
+	private TokenRope(TokenRope left, TokenRope right) {
+		this.tokens = null;
+		this.spans = null;
+		this.left = left;
+		this.right = right;
+		this.size = left.size + right.size;
+		this.height = Math.max(left.height, right.height) + 1;
+		this.stamp = Math.max(left.stamp, right.stamp);
+	}
+
+	/**
+	 * Create a rope holding a copy of the given list of tokens, with no spans
+	 * @param tokens the tokens to store
+	 * @param stamp the edit that the tokens come from
+	 * @return a rope with the same tokens in the same order
+	 */
+	static TokenRope build(List<Token> tokens, int stamp) {
+		Objects.requireNonNull(tokens, "tokens passed to TokenRope::build() cannot be null");
+
+		TokenRope rope = build(tokens.toArray(new Token[0]), 0, tokens.size(), stamp);
+		return rope != null ? rope : leaf(new Token[0], stamp);
+	}
+
+	/**
+	 * Create a balanced rope holding a range of an array of tokens
+	 * @param tokens the tokens
+	 * @param from the position of the first token to store
+	 * @param to the position after the last token to store
+	 * @param stamp the edit that the tokens come from
+	 * @return a rope with the tokens of the range, or null if the range is empty
+	 */
+	private static TokenRope build(Token[] tokens, int from, int to, int stamp) {
+		if (from == to) {
+			return null;
+		}
+		if (to - from <= leafSize) {
+			Token[] copy = new Token[to - from];
+			System.arraycopy(tokens, from, copy, 0, copy.length);
+			return leaf(copy, stamp);
+		}
+		int middle = (from + to) >>> 1;
+		return new TokenRope(build(tokens, from, middle, stamp), build(tokens, middle, to, stamp));
+	}
+
+	/**
+	 * Create a leaf with no spans
+	 * @param tokens the tokens of the leaf, which must not be shared with anyone else
+	 * @param stamp the edit that last changed the tokens
+	 * @return a leaf holding the tokens
+	 */
+	private static TokenRope leaf(Token[] tokens, int stamp) {
+		return new TokenRope(tokens, new SpanTable.Span[NonTerminalSymbol.values().length][tokens.length], stamp);
+	}
+
+	/**
+	 * Get the number of tokens of this rope
+	 * @return the number of tokens
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Get the token at a given position
+	 * @param index the position of the token
+	 * @return the token at that position
+	 */
+	Token get(int index) {
+		TokenRope rope = this;
+		while (rope.tokens == null) {
+			if (index < rope.left.size) {
+				rope = rope.left;
+			} else {
+				index -= rope.left.size;
+				rope = rope.right;
+			}
+		}
+		return rope.tokens[index];
+	}
+
+	/**
+	 * Get the leaf holding the token at a given position
+	 * @param index the position of the token
+	 * @return the leaf
+	 */
+	TokenRope leafAt(int index) {
+		TokenRope rope = this;
+		while (rope.tokens == null) {
+			if (index < rope.left.size) {
+				rope = rope.left;
+			} else {
+				index -= rope.left.size;
+				rope = rope.right;
+			}
+		}
+		return rope;
+	}
+
+	/**
+	 * Get the position of the first token of the leaf holding the token at a given position
+	 * @param index the position of the token
+	 * @return the position of the first token of the leaf
+	 */
+	int leafStart(int index) {
+		int start = 0;
+		TokenRope rope = this;
+		while (rope.tokens == null) {
+			if (index - start < rope.left.size) {
+				rope = rope.left;
+			} else {
+				start += rope.left.size;
+				rope = rope.right;
+			}
+		}
+		return start;
+	}
+
+	/**
+	 * Get the span of a nonterminal starting at a token of this leaf
+	 * @param symbol the ordinal of the nonterminal
+	 * @param index the position of the token within this leaf
+	 * @return the span, or null if there is none
+	 */
+	SpanTable.Span span(int symbol, int index) {
+		return spans[symbol][index];
+	}
+
+	/**
+	 * Set the span of a nonterminal starting at a token of this leaf
+	 * @param symbol the ordinal of the nonterminal
+	 * @param index the position of the token within this leaf
+	 * @param span the span to store
+	 */
+	void setSpan(int symbol, int index, SpanTable.Span span) {
+		spans[symbol][index] = span;
+	}
+
+	/**
+	 * Get the latest edit that changed any token of a range
+	 * @param from the position of the first token of the range
+	 * @param to the position after the last token of the range
+	 * @return the latest stamp of the leaves holding the range, or Integer.MIN_VALUE if no token of this rope is in the range
+	 */
+	int stamp(int from, int to) {
+		if (from >= to || to <= 0 || from >= size) {
+			return Integer.MIN_VALUE;
+		}
+		if (tokens != null || (from <= 0 && to >= size)) {
+			return stamp;
+		}
+		return Math.max(left.stamp(from, to), right.stamp(from - left.size, to - left.size));
+	}
+
+	/**
+	 * Create a rope in which a range of the tokens of this rope is replaced. The new tokens are given
+	 * a new stamp, and so is the token after the range if nothing is inserted, since it now follows
+	 * other tokens. Every leaf outside of the range is shared, along with its spans.
+	 * @param start the position of the first token to replace
+	 * @param end the position after the last token to replace
+	 * @param replacement the tokens that take the place of the range
+	 * @param stamp the stamp of the edit
+	 * @return a new rope with the range replaced, leaving this rope unchanged
+	 */
+	TokenRope replace(int start, int end, List<Token> replacement, int stamp) {
+		TokenRope after = suffix(end);
+		if (replacement.isEmpty() && after != null) {
+			after = concat(after.prefix(1).slice(0, 1, stamp), after.suffix(1));
+		}
+		TokenRope replaced = concat(concat(prefix(start), build(replacement.toArray(new Token[0]), 0, replacement.size(), stamp)), after);
+		return replaced != null ? replaced : leaf(new Token[0], stamp);
+	}
+
+	/**
+	 * Get the first tokens of this rope
+	 * @param count the number of tokens
+	 * @return a rope with the first count tokens, sharing every leaf but the last one, or null if count is 0
+	 */
+	private TokenRope prefix(int count) {
+		if (count == 0) {
+			return null;
+		}
+		if (count == size) {
+			return this;
+		}
+		if (tokens != null) {
+			return slice(0, count, stamp);
+		}
+		if (count <= left.size) {
+			return left.prefix(count);
+		}
+		return concat(left, right.prefix(count - left.size));
+	}
+
+	/**
+	 * Get the last tokens of this rope
+	 * @param from the position of the first token to keep
+	 * @return a rope with the tokens from that position on, sharing every leaf but the first one, or null if there are none
+	 */
+	private TokenRope suffix(int from) {
+		if (from == size) {
+			return null;
+		}
+		if (from == 0) {
+			return this;
+		}
+		if (tokens != null) {
+			return slice(from, size, stamp);
+		}
+		if (from >= left.size) {
+			return right.suffix(from - left.size);
+		}
+		return concat(left.suffix(from), right);
+	}
+
+	/**
+	 * Create a leaf holding part of the tokens of this leaf, along with their spans
+	 * @param from the position of the first token to keep
+	 * @param to the position after the last token to keep
+	 * @param stamp the edit that last changed the tokens of the new leaf
+	 * @return a new leaf with the tokens of the range
+	 */
+	private TokenRope slice(int from, int to, int stamp) {
+		Token[] sliced = new Token[to - from];
+		System.arraycopy(tokens, from, sliced, 0, sliced.length);
+		SpanTable.Span[][] slicedSpans = new SpanTable.Span[spans.length][];
+		for (int symbol = 0; symbol < spans.length; symbol++) {
+			slicedSpans[symbol] = new SpanTable.Span[sliced.length];
+			System.arraycopy(spans[symbol], from, slicedSpans[symbol], 0, sliced.length);
+		}
+		return new TokenRope(sliced, slicedSpans, stamp);
+	}
+
+	/**
+	 * Join two ropes, keeping the tree balanced
+	 * @param first the first tokens, or null if there are none
+	 * @param second the tokens after them, or null if there are none
+	 * @return a rope with the tokens of both, or null if both are empty
+	 */
+	private static TokenRope concat(TokenRope first, TokenRope second) {
+		if (first == null) {
+			return second;
+		}
+		if (second == null) {
+			return first;
+		}
+		if (first.height > second.height + 1) {
+			return balance(first.left, concat(first.right, second));
+		}
+		if (second.height > first.height + 1) {
+			return balance(concat(first, second.left), second.right);
+		}
+		return new TokenRope(first, second);
+	}
+
+	/**
+	 * Create a branch from two balanced ropes whose heights differ by at most two, rotating it if they differ by two
+	 * @param left the first tokens
+	 * @param right the tokens after them
+	 * @return a balanced rope with the tokens of both
+	 */
+	private static TokenRope balance(TokenRope left, TokenRope right) {
+		if (left.height > right.height + 1) {
+			if (left.left.height >= left.right.height) {
+				return new TokenRope(left.left, new TokenRope(left.right, right));
+			}
+			return new TokenRope(new TokenRope(left.left, left.right.left), new TokenRope(left.right.right, right));
+		}
+		if (right.height > left.height + 1) {
+			if (right.right.height >= right.left.height) {
+				return new TokenRope(new TokenRope(left, right.left), right.right);
+			}
+			return new TokenRope(new TokenRope(left, right.left.left), new TokenRope(right.left.right, right.right));
+		}
+		return new TokenRope(left, right);
+	}
+
+	/**
+	 * Get a read-only view of the tokens of this rope
+	 * @return an unmodifiable list of the tokens
+	 */
+	List<Token> asList() {
+		return new AbstractList<Token>() {
+			@Override
+			public Token get(int index) {
+				if (index < 0 || index >= size) {
+					throw new IndexOutOfBoundsException("index " + index + " is not within " + size + " tokens");
+				}
+				return TokenRope.this.get(index);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+}
@@ -0,0 +1,69 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * java class TokenRopeTest
+ * The set of unit tests for the TokenRope class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class TokenRopeTest {
+	//test that random replacements give the same tokens as replacing them in a list, and leave the old rope alone
+	@Test
+	public void testRandomReplacements() {
+		Random random = new Random(293);
+		List<Token> tokens = TableDrivenParserTest.tokens(TableDrivenParserTest.randomValidExpression(random, 6));
+		TokenRope rope = TokenRope.build(tokens, 0);
+
+		for (int edit = 1; edit <= 500; edit++) {
+			int start = random.nextInt(tokens.size() + 1);
+			int end = start + random.nextInt(Math.min(100, tokens.size() - start) + 1);
+			List<Token> replacement = TableDrivenParserTest.tokens(TableDrivenParserTest.randomExpression(random, random.nextInt(100)));
+
+			List<Token> expected = new ArrayList<>(tokens.subList(0, start));
+			expected.addAll(replacement);
+			expected.addAll(tokens.subList(end, tokens.size()));
+			TokenRope replaced = rope.replace(start, end, replacement, edit);
+
+			assertEquals(rope.asList(), tokens);
+			assertEquals(replaced.asList(), expected);
+			tokens = expected;
+			rope = replaced;
+		}
+	}
+
+	//test that only the replaced tokens, and the token after them if nothing is inserted, get the stamp of the edit
+	@Test
+	public void testStamps() {
+		List<Token> tokens = Lexer.lex(String.join("", Collections.nCopies(1000, "+")));
+		TokenRope inserted = TokenRope.build(tokens, 0).replace(500, 510, tokens.subList(0, 3), 1);
+		TokenRope removed = inserted.replace(100, 200, tokens.subList(0, 0), 2);
+
+		assertEquals(inserted.stamp(0, 500), 0);
+		assertEquals(inserted.stamp(500, 503), 1);
+		assertEquals(inserted.stamp(503, inserted.size()), 0);
+		assertEquals(removed.stamp(0, 100), 0);
+		assertEquals(removed.stamp(100, 101), 2);
+		assertEquals(removed.stamp(101, 400), 0);
+		assertEquals(removed.stamp(400, 403), 1);
+		assertEquals(removed.stamp(0, removed.size()), 2);
+		assertTrue(removed.stamp(50, 50) < 0);
+	}
+
+	//test that a rope can become empty and grow again
+	@Test
+	public void testEmpty() {
+		TokenRope rope = TokenRope.build(Lexer.lex("a+b"), 0).replace(0, 3, Lexer.lex(""), 1);
+
+		assertEquals(rope.size(), 0);
+		assertEquals(rope.replace(0, 0, Lexer.lex("c"), 2).asList(), Lexer.lex("c"));
+	}
+}
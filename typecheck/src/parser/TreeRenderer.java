@@ -0,0 +1,157 @@
+package parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Java class TreeRenderer
+ * This class prints a tree one level per line: an internal node is drawn as a pair of
+ * brackets as wide as the node, with its children on the line below, and a leaf is drawn
+ * as its token, with blank space below it on every later line. Each line is written to
+ * an Appendable as soon as it is known, so a wide tree can be written to a file without
+ * first building the whole picture as one String.
+ *
+ * The widths and depths are stored in the nodes when they are built, and every line is
+ * described by the same two reusable arrays of cells, in which neighbouring blank cells
+ * are merged into one, so printing allocates almost nothing besides the output.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class TreeRenderer {
+	//spaces to copy padding from, several at a time
+	private static final String spaces;
+
+	static {
+		char[] blank = new char[128];
+		Arrays.fill(blank, ' ');
+		spaces = new String(blank);
+	}
+
+	/**
+	 * A constructor that cannot be accessed to prevent creating instances of this class
+	 */
+	private TreeRenderer() {
+
+	}
+
+	/**
+	 * Print a tree, one line per level, ending each line with a newline
+	 * @param root the root of the tree
+	 * @param out where to write the lines
+	 * @throws IOException if writing to out fails
+	 */
+	public static void render(Node root, Appendable out) throws IOException {
+		Objects.requireNonNull(root, "root passed to TreeRenderer::render() cannot be null");
+		Objects.requireNonNull(out, "out passed to TreeRenderer::render() cannot be null");
+
+		Line current = new Line();
+		Line next = new Line();
+		current.addNode(root);
+
+		//every level of the tree is a line, and the last line has the leaves of the deepest nodes
+		for (int level = 0; level <= root.getDepth(); level++) {
+			next.clear();
+
+			for (int i = 0; i < current.size; i++) {
+				Node node = current.nodes[i];
+				int width = current.widths[i];
+				if (node == null) {
+					pad(out, width);
+					next.addBlank(width);
+				} else if (node.isLeaf()) {
+					out.append(node.toString());
+					next.addBlank(width);
+				} else {
+					out.append('[');
+					pad(out, width - 2);
+					out.append(']');
+
+					next.addBlank(1);
+					for (int j = 0; j < node.childCount(); j++) {
+						next.addNode(node.childAt(j));
+					}
+					next.addBlank(1);
+				}
+			}
+			out.append('\n');
+
+			Line printed = current;
+			current = next;
+			next = printed;
+		}
+	}
+
+	/**
+	 * Write spaces, copying as many at a time as possible
+	 * @param out where to write the spaces
+	 * @param count the number of spaces to write
+	 * @throws IOException if writing to out fails
+	 */
+	private static void pad(Appendable out, int count) throws IOException {
+		while (count > 0) {
+			int chunk = Math.min(count, spaces.length());
+			out.append(spaces, 0, chunk);
+			count -= chunk;
+		}
+	}
+
+	/**
+	 * The cells of one line: a node, or blank space of some width
+	 */
+	private static final class Line {
+		//the number of cells a line has room for before it grows
+		private static final int initialCapacity = 16;
+
+		//the node of each cell, or null for blank cells (only the first size entries are used)
+		private Node[] nodes = new Node[initialCapacity];
+
+		//the width of each cell
+		private int[] widths = new int[initialCapacity];
+
+		//the number of cells of the line
+		private int size = 0;
+
+		/**
+		 * Remove every cell, keeping the room for them
+		 */
+		private void clear() {
+			Arrays.fill(nodes, 0, size, null);
+			size = 0;
+		}
+
+		/**
+		 * Add a cell holding a node
+		 * @param node the node of the cell
+		 */
+		private void addNode(Node node) {
+			add(node, node.getWidth());
+		}
+
+		/**
+		 * Add blank space, widening the last cell instead if it is blank as well
+		 * @param width the width of the blank space
+		 */
+		private void addBlank(int width) {
+			if (size > 0 && nodes[size - 1] == null) {
+				widths[size - 1] += width;
+			} else {
+				add(null, width);
+			}
+		}
+
+		/**
+		 * Add a cell, growing the arrays if they are full
+		 * @param node the node of the cell, or null for a blank cell
+		 * @param width the width of the cell
+		 */
+		private void add(Node node, int width) {
+			if (size == nodes.length) {
+				nodes = Arrays.copyOf(nodes, 2 * size);
+				widths = Arrays.copyOf(widths, 2 * size);
+			}
+			nodes[size] = node;
+			widths[size++] = width;
+		}
+	}
+}
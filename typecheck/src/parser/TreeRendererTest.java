@@ -0,0 +1,128 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * java class TreeRendererTest
+ * Compares TreeRenderer with the breadth first printing it replaced
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class TreeRendererTest {
+	//test the picture of a small tree
+	@Test
+	public void testSmallTree() {
+		Node root = NonTerminalSymbol.parseInput(Lexer.lex("a*(b+c)")).get();
+
+		assertEquals(UserInterface.getStringRepresentation(root),
+				"[           ]\n" +
+				" a*[       ] \n" +
+				"    ([   ])  \n" +
+				"      b+c    \n");
+	}
+
+	//test that a leaf on its own is one line
+	@Test
+	public void testLeaf() {
+		assertEquals(UserInterface.getStringRepresentation(LeafNode.build(Variable.build("abc"))), "abc\n");
+	}
+
+	//test that an empty node is a pair of brackets over blank space
+	@Test
+	public void testEmptyNode() {
+		assertEquals(UserInterface.getStringRepresentation(InternalNode.build(new ArrayList<>())), "[]\n  \n");
+	}
+
+	//test that the renderer agrees with the old printing on random expressions
+	@Test
+	public void testMatchesBreadthFirstPrinting() {
+		Random random = new Random(293);
+		for (int i = 0; i < 500; i++) {
+			String input = TableDrivenParserTest.randomValidExpression(random, 4, "abcdef", 6);
+			Node root = NonTerminalSymbol.parseInput(Lexer.lex(input)).get();
+
+			assertEquals(input, UserInterface.getStringRepresentation(root), breadthFirstRepresentation(root));
+		}
+	}
+
+	//test that the lines can be written to a Writer
+	@Test
+	public void testWriter() throws IOException {
+		Node root = NonTerminalSymbol.parseInput(Lexer.lex("-(a+b)/c")).get();
+		StringWriter writer = new StringWriter();
+		TreeRenderer.render(root, writer);
+
+		assertEquals(writer.toString(), breadthFirstRepresentation(root));
+	}
+
+	//test that padding longer than the copied chunks of spaces is written in full
+	@Test
+	public void testWidePadding() {
+		StringBuilder input = new StringBuilder("a");
+		for (int i = 0; i < 200; i++) {
+			input.append("+variable").append(i);
+		}
+		Node root = NonTerminalSymbol.parseInput(Lexer.lex("(" + input + ")")).get();
+
+		assertEquals(UserInterface.getStringRepresentation(root), breadthFirstRepresentation(root));
+	}
+
+	/**
+	 * The printing done by UserInterface::getStringRepresentation before TreeRenderer
+	 * @param root the root of the tree
+	 * @return the lines of the tree
+	 */
+	private static String breadthFirstRepresentation(Node root) {
+		StringBuilder representation = new StringBuilder();
+		Queue<Object> currentQueue = new ArrayDeque<>();
+		currentQueue.add(root);
+
+		boolean moreChildren = true;
+		while (moreChildren) {
+			moreChildren = false;
+			Queue<Object> nextQueue = new ArrayDeque<>();
+
+			while (!currentQueue.isEmpty()) {
+				Object cell = currentQueue.remove();
+				if (cell instanceof InternalNode) {
+					Node node = (Node) cell;
+					moreChildren = true;
+					representation.append("[").append(spaces(node.getWidth() - 2)).append("]");
+					nextQueue.add(1);
+					nextQueue.addAll(node.getChildren());
+					nextQueue.add(1);
+				} else if (cell instanceof Node) {
+					nextQueue.add(((Node) cell).getWidth());
+					representation.append(cell);
+				} else {
+					nextQueue.add(cell);
+					representation.append(spaces((Integer) cell));
+				}
+			}
+			representation.append("\n");
+			currentQueue = nextQueue;
+		}
+		return representation.toString();
+	}
+
+	/**
+	 * Make a string of spaces
+	 * @param count the number of spaces
+	 * @return the spaces
+	 */
+	private static String spaces(int count) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			builder.append(' ');
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,143 @@
+package parser;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Java class TreeWalker
+ * This class walks parse trees depth first with an explicit stack instead of
+ * recursion, so that walking a tree never uses more of the thread's stack however
+ * deeply it is nested. The stack holds one node and one child index per level.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class TreeWalker {
+	//the number of levels the stack has room for before it grows
+	private static final int initialDepth = 16;
+
+	/**
+	 * A constructor that cannot be accessed to prevent creating instances of this class
+	 */
+	private TreeWalker() {
+
+	}
+
+	/**
+	 * Walk a tree depth first, calling the visitor when entering and exiting every node
+	 * that is not a leaf and when reaching every leaf, with the children of a node in order
+	 * @param root the root of the tree
+	 * @param visitor the visitor to call
+	 */
+	public static void walk(Node root, NodeVisitor visitor) {
+		Objects.requireNonNull(root, "root passed to TreeWalker::walk() cannot be null");
+		Objects.requireNonNull(visitor, "visitor passed to TreeWalker::walk() cannot be null");
+
+		if (root.isLeaf()) {
+			visitor.visitLeaf(root);
+			return;
+		}
+		if (!visitor.enter(root)) {
+			return;
+		}
+
+		Node[] path = new Node[initialDepth];
+		int[] nextChild = new int[initialDepth];
+		int depth = 0;
+		path[0] = root;
+
+		while (depth >= 0) {
+			Node node = path[depth];
+			if (nextChild[depth] == node.childCount()) {
+				visitor.exit(node);
+				path[depth--] = null;
+				continue;
+			}
+
+			Node child = node.childAt(nextChild[depth]++);
+			if (child.isLeaf()) {
+				visitor.visitLeaf(child);
+			} else if (visitor.enter(child)) {
+				if (++depth == path.length) {
+					path = Arrays.copyOf(path, 2 * depth);
+					nextChild = Arrays.copyOf(nextChild, 2 * depth);
+				}
+				path[depth] = child;
+				nextChild[depth] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Iterate over the nodes of a tree in pre-order: every node comes before its children,
+	 * and the children of a node come in order
+	 * @param root the root of the tree
+	 * @return an iterable whose iterators go through every node of the tree once
+	 */
+	public static Iterable<Node> preOrder(Node root) {
+		Objects.requireNonNull(root, "root passed to TreeWalker::preOrder() cannot be null");
+
+		return () -> new PreOrderIterator(root);
+	}
+
+	/**
+	 * An iterator over the nodes of a tree in pre-order
+	 */
+	private static final class PreOrderIterator implements Iterator<Node> {
+		//the nodes whose next child has not been returned yet, from the root down
+		private Node[] path = new Node[initialDepth];
+
+		//the index of the next child to return for each node of the path
+		private int[] nextChild = new int[initialDepth];
+
+		//the index of the last node of the path, or -1 once the walk is over
+		private int depth = -1;
+
+		//the next node to return, or null if there is none
+		private Node next;
+
+		/**
+		 * Constructor for an iterator that starts at the root
+		 * @param root the root of the tree
+		 */
+		private PreOrderIterator(Node root) {
+			this.next = root;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Node next() {
+			if (next == null) {
+				throw new NoSuchElementException("no nodes left in the tree");
+			}
+
+			Node current = next;
+			if (current.childCount() > 0) {
+				if (++depth == path.length) {
+					path = Arrays.copyOf(path, 2 * depth);
+					nextChild = Arrays.copyOf(nextChild, 2 * depth);
+				}
+				path[depth] = current;
+				nextChild[depth] = 0;
+			}
+			next = advance();
+			return current;
+		}
+
+		/**
+		 * Find the node after the ones returned so far, dropping the nodes of the path that have no children left
+		 * @return the next node, or null if the walk is over
+		 */
+		private Node advance() {
+			while (depth >= 0 && nextChild[depth] == path[depth].childCount()) {
+				path[depth--] = null;
+			}
+			return depth < 0 ? null : path[depth].childAt(nextChild[depth]++);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * java class TreeWalkerTest
+ * The set of unit tests for walking trees without recursion, and for the operations on deep trees that rely on it
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class TreeWalkerTest {
+	//deep enough that recursing once per level overflows the default thread stack
+	private static final int depth = 100000;
+
+	//test that the visitor sees every node in depth first order
+	@Test
+	public void testWalkOrder() {
+		Node root = NonTerminalSymbol.parseInput(Lexer.lex("a+(b*c)")).get();
+		StringBuilder events = new StringBuilder();
+		TreeWalker.walk(root, new NodeVisitor() {
+			@Override
+			public boolean enter(Node node) {
+				events.append('<');
+				return true;
+			}
+
+			@Override
+			public void exit(Node node) {
+				events.append('>');
+			}
+
+			@Override
+			public void visitLeaf(Node leaf) {
+				events.append(leaf);
+			}
+		});
+
+		assertEquals(events.toString(), "<a+<(<b*c>)>>");
+	}
+
+	//test that the children of a node are skipped when entering it returns false
+	@Test
+	public void testWalkSkipsChildren() {
+		Node root = NonTerminalSymbol.parseInput(Lexer.lex("a+(b*c)")).get();
+		List<Node> leaves = new ArrayList<>();
+		TreeWalker.walk(root, new NodeVisitor() {
+			@Override
+			public boolean enter(Node node) {
+				return node == root;
+			}
+
+			@Override
+			public void visitLeaf(Node leaf) {
+				leaves.add(leaf);
+			}
+		});
+
+		assertEquals(leaves.toString(), "[a, +]");
+	}
+
+	//test that a leaf on its own is visited
+	@Test
+	public void testWalkLeaf() {
+		List<Node> leaves = new ArrayList<>();
+		Node leaf = LeafNode.build(Variable.build("a"));
+		TreeWalker.walk(leaf, new NodeVisitor() {
+			@Override
+			public void visitLeaf(Node node) {
+				leaves.add(node);
+			}
+		});
+
+		assertEquals(leaves.size(), 1);
+	}
+
+	//test that the pre-order iterator returns every node before its children
+	@Test
+	public void testPreOrder() {
+		Node root = NonTerminalSymbol.parseInput(Lexer.lex("a+(b*c)")).get();
+		List<String> nodes = new ArrayList<>();
+		for (Node node : TreeWalker.preOrder(root)) {
+			nodes.add(node.toString());
+		}
+
+		assertEquals(nodes.toString(), "[[a,+,[(,[b,*,c],)]], a, +, [(,[b,*,c],)], (, [b,*,c], b, *, c, )]");
+	}
+
+	//test that the iterator fails once every node has been returned
+	@Test(expected = NoSuchElementException.class)
+	public void testPreOrderExhausted() {
+		Iterator<Node> iterator = TreeWalker.preOrder(InternalNode.build(new ArrayList<>())).iterator();
+		iterator.next();
+		assertFalse(iterator.hasNext());
+		iterator.next();
+	}
+
+	//test that deeply nested input is parsed, printed, flattened and measured without overflowing the stack
+	@Test
+	public void testDeepNesting() {
+		List<Token> tokens = Lexer.lex(nested(depth, "a"));
+		Node root = NonTerminalSymbol.parseInput(tokens).get();
+		Node tableDriven = TableDrivenParser.parseInput(tokens).get();
+
+		assertEquals(root.toString(), nested(depth, "a").replaceAll("\\(", "[(,").replaceAll("\\)", ",)]"));
+		assertEquals(root.toList(), tokens);
+		assertEquals(root.getWidth(), 4 * depth + 1);
+
+		assertTrue(root.equals(tableDriven));
+		assertEquals(root.hashCode(), tableDriven.hashCode());
+		assertNotEquals(root, NonTerminalSymbol.parseInput(Lexer.lex(nested(depth, "b"))).get());
+
+		int count = 0;
+		for (Node node : TreeWalker.preOrder(root)) {
+			count++;
+		}
+		assertEquals(count, 3 * depth + 1);
+	}
+
+	//test that the caches of nodes inside a deep tree are reused once they are known
+	@Test
+	public void testDeepNestingReusesCaches() {
+		Node root = NonTerminalSymbol.parseInput(Lexer.lex(nested(depth, "a"))).get();
+		Node inner = root.childAt(1);
+
+		assertEquals(inner.toString().length() + 6, root.toString().length());
+		assertEquals(inner.toList().size() + 2, root.toList().size());
+		assertEquals(inner.getWidth() + 4, root.getWidth());
+	}
+
+	//test that deep trees can be interned
+	@Test
+	public void testDeepNestingInterned() {
+		NodeInterner interner = NodeInterner.build();
+		Node first = TableDrivenParser.parseInput(Lexer.lex(nested(depth, "a")), interner).get();
+		Node second = interner.intern(NonTerminalSymbol.parseInput(Lexer.lex(nested(depth, "a"))).get());
+
+		assertTrue(first == second);
+	}
+
+	/**
+	 * Surround a variable with parentheses
+	 * @param levels the number of parentheses around the variable
+	 * @param variable the name of the variable
+	 * @return the variable inside the given number of parentheses
+	 */
+	private static String nested(int levels, String variable) {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < levels; i++) {
+			input.append('(');
+		}
+		input.append(variable);
+		for (int i = 0; i < levels; i++) {
+			input.append(')');
+		}
+		return input.toString();
+	}
+}
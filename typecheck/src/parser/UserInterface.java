@@ -1,111 +1,60 @@
 package parser;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class UserInterface {
-	public static void main(String[] args) {
-		System.out.println("Enter an expression: ");
-		Scanner scan = new Scanner(System.in);
-		
-		Pattern pattern = Pattern.compile("([a-zA-Z0-9]+|\\+|\\-|\\*|/|\\(|\\))");
-		Matcher m = pattern.matcher(scan.nextLine());
-		
-		scan.close();
-		
-		List<Token> tokens = ListHandler.createEmptyList();
-		while (m.find()) {
-			tokens.add(TerminalSymbol.stringToToken(m.group(0)));
+	//the largest picture of a tree whose string is allocated at its full length up front
+	private static final int maximumPresize = 1 << 24;
+	
+	/**
+	 * Parse an expression and print its tree
+	 * @param args optionally, the path of a file holding the expression; the expression is read from standard input otherwise
+	 * @throws IOException if the file cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		List<Token> tokens;
+		if (args.length > 0) {
+			tokens = Lexer.lex(Paths.get(args[0]));
+		} else {
+			System.out.println("Enter an expression: ");
+			Scanner scan = new Scanner(System.in);
+			
+			tokens = Lexer.lex(scan.nextLine());
+			
+			scan.close();
 		}
 		
 		Optional<Node> parseRoot = NonTerminalSymbol.parseInput(tokens);
 
 		if (parseRoot.isPresent()) {
 			System.out.println(parseRoot.get().getChildren());
-			System.out.println(getStringRepresentation(parseRoot.get()));
+			TreeRenderer.render(parseRoot.get(), System.out);
+			System.out.println();
 		} else {
 			System.out.println("Invalid expression");
 		}
 	}
 	
-	private static class NodeContainer {
-		private final Node node;
-		private final int width;
-		
-		public NodeContainer(Node node) {
-			this.width = -1;
-			this.node = node;
-		}
-		
-		public NodeContainer(int width) {
-			this.width = width;
-			this.node = null;
-		}
-		
-		public int getWidth() {
-			return node == null ? width : node.getWidth();
-		}
-		
-		private static String repeatedSpaces(int numSpaces) {
-			StringBuilder builder = new StringBuilder();
-			for (int i = 0; i < numSpaces; i++) {
-				builder.append(" ");
-			}
-			return builder.toString();
-		}
-		
-		public String toString() {
-			if (node == null) {
-				return repeatedSpaces(width);
-			} else if (node instanceof InternalNode) {
-				return "[" + repeatedSpaces(node.getWidth() - 2) + "]";
-			} else {
-				return node.toString();
-			}
-		}
-	}
-
 	/**
 	 * Method that prints textual representation of the corresponding tree
 	 * @param input of a tree that is to be printed
 	 * @return pretty string representation of the tree 
 	 */
-	private static String getStringRepresentation(Node root) {
-		StringBuilder representation = new StringBuilder();
-		
-		Queue<NodeContainer> currentQueue = new LinkedList<>();
-		currentQueue.add(new NodeContainer(root));
-		
-		boolean moreChildren = true;
-		while (moreChildren) {
-			moreChildren = false;
-			Queue<NodeContainer> nextQueue = new LinkedList<>();
-			
-			while (!currentQueue.isEmpty()) {
-				NodeContainer curNode = currentQueue.remove();
-				if (curNode.node instanceof InternalNode) {
-					moreChildren = true;
-					representation.append(curNode);
-					
-					nextQueue.add(new NodeContainer(1));
-					for (Node child : curNode.node.getChildren()) {
-						nextQueue.add(new NodeContainer(child));
-					}
-					nextQueue.add(new NodeContainer(1));
-				} else {
-					nextQueue.add(new NodeContainer(curNode.getWidth()));
-					representation.append(curNode);
-				}
-			}
-			representation.append("\n");
-			currentQueue = nextQueue;
+	static String getStringRepresentation(Node root) {
+		//every line is as wide as the root, plus the newline
+		long length = (root.getWidth() + 1L) * (root.getDepth() + 1L);
+		StringBuilder representation = new StringBuilder((int) Math.min(length, maximumPresize));
+		try {
+			TreeRenderer.render(root, representation);
+		} catch (IOException e) {
+			//appending to a StringBuilder never fails
+			throw new UncheckedIOException(e);
 		}
-		
 		return representation.toString();
 	}
 }
@@ -15,10 +15,13 @@ public final class Variable extends AbstractToken {
     private final String representation;
     
     //a generic function that can be used to call the constructor
-    static Function<String, Variable> variableConstructor = stringRepresentation -> new Variable(stringRepresentation);
+    static final Function<String, Variable> variableConstructor = stringRepresentation -> new Variable(stringRepresentation);
+
+    //the maximum number of variables kept in the cache, so that names coming from user data cannot grow it without bound
+    static final int CACHE_SIZE = 1 << 16;
 
     //cache to keep track of variables already created
-    private static Cache<String, Variable> cache = new Cache<>();
+    private static final Cache<String, Variable> cache = new Cache<>(CACHE_SIZE);
     
     /**
      * Constructor for a variable
@@ -59,4 +62,32 @@ public final class Variable extends AbstractToken {
     public boolean isOperator() {
     	return false;
     }
+
+    /**
+     * Override equals to compare variables by name, since a variable that was
+     * evicted from the cache and built again is a different instance
+     * @param o object to be compared
+     * @return true if o is a variable with the same representation, false otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof Variable)) {
+            return false;
+        }
+
+        return representation.equals(((Variable) o).representation);
+    }
+
+    /**
+     * Overrides hashCode for Variable
+     * @return a hash value that will be identical for variables with the same representation
+     */
+    @Override
+    public int hashCode() {
+        return representation.hashCode();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Java class VariableSlots
+ * This class numbers variables, so that an evaluator can keep their values in an
+ * array and find each one by its slot instead of looking the variable up every time
+ * it is read. Slots are given out in the order the variables are first bound,
+ * starting at 0. Variables are compared by name, so a variable that was built again
+ * after it left the cache of Variable::build keeps its slot.
+ *
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ */
+public final class VariableSlots {
+	//the slot of each variable bound so far
+	private final Map<Variable, Integer> slots = new HashMap<>();
+
+	//the variables bound so far, in the order of their slots
+	private final List<Variable> variables = new ArrayList<>();
+
+	/**
+	 * Constructor for slots with no variable bound
+	 */
+	private VariableSlots() {
+
+	}
+
+	/**
+	 * Create slots with no variable bound, which are bound as the expressions using them are compiled
+	 * @return empty slots
+	 */
+	public static VariableSlots build() {
+		return new VariableSlots();
+	}
+
+	/**
+	 * Create slots for a list of variables, in the order of the list
+	 * @param variables the variables to bind (a variable that appears again keeps its first slot)
+	 * @return slots with the variables bound
+	 */
+	public static VariableSlots build(List<Variable> variables) {
+		Objects.requireNonNull(variables, "variables passed to VariableSlots::build() cannot be null");
+
+		VariableSlots slots = new VariableSlots();
+		for (Variable variable : variables) {
+			slots.bind(Objects.requireNonNull(variable, "variables passed to VariableSlots::build() cannot contain null"));
+		}
+		return slots;
+	}
+
+	/**
+	 * Get the slot of a variable, binding it to the next free slot if it has none yet
+	 * @param variable the variable
+	 * @return the slot of the variable
+	 */
+	public int bind(Variable variable) {
+		Integer slot = slots.get(variable);
+		if (slot == null) {
+			slot = variables.size();
+			slots.put(variable, slot);
+			variables.add(variable);
+		}
+		return slot;
+	}
+
+	/**
+	 * Get the slot of a variable that must already be bound
+	 * @param variable the variable
+	 * @return the slot of the variable
+	 * @throws IllegalArgumentException if the variable has no slot
+	 */
+	public int slotOf(Variable variable) {
+		Integer slot = slots.get(variable);
+		if (slot == null) {
+			throw new IllegalArgumentException("variable " + variable + " has no slot");
+		}
+		return slot;
+	}
+
+	/**
+	 * Get the number of bound variables
+	 * @return the number of slots given out
+	 */
+	public int size() {
+		return variables.size();
+	}
+
+	/**
+	 * Get the bound variables
+	 * @return an unmodifiable copy of the variables, in the order of their slots
+	 */
+	public List<Variable> getVariables() {
+		return Collections.unmodifiableList(new ArrayList<>(variables));
+	}
+}
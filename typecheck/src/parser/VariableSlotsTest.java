@@ -0,0 +1,42 @@
+package parser;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+/**
+ * java class VariableSlotsTest
+ * The set of unit tests for the VariableSlots class
+ * @author Fangze Liu, Jacob Goldberg, Anna Sedlackova
+ *
+ */
+public class VariableSlotsTest {
+	//test that variables are bound in order and keep their slots
+	@Test
+	public void testBind() {
+		VariableSlots slots = VariableSlots.build();
+
+		assertEquals(slots.bind(Variable.build("x")), 0);
+		assertEquals(slots.bind(Variable.build("y")), 1);
+		assertEquals(slots.bind(Variable.build("x")), 0);
+		assertEquals(slots.size(), 2);
+		assertEquals(slots.getVariables(), Arrays.asList(Variable.build("x"), Variable.build("y")));
+	}
+
+	//test that a list of variables is bound in its order, with repeated variables keeping their first slot
+	@Test
+	public void testBuildFromList() {
+		VariableSlots slots = VariableSlots.build(Arrays.asList(Variable.build("b"), Variable.build("b"), Variable.build("a")));
+
+		assertEquals(slots.slotOf(Variable.build("b")), 0);
+		assertEquals(slots.slotOf(Variable.build("a")), 1);
+		assertEquals(slots.size(), 2);
+	}
+
+	//test that looking up a variable without a slot fails
+	@Test(expected = IllegalArgumentException.class)
+	public void testSlotOfUnboundVariable() {
+		VariableSlots.build().slotOf(Variable.build("a"));
+	}
+}
@@ -31,6 +31,11 @@ public final class TypeSynthesis {
      */
     private Optional<Node> parsedTree;
 
+    /**
+     * Whether the tree may hold the same subtree more than once, in which case the type of every internal node is remembered
+     */
+    private final boolean sharedSubtrees;
+
     /**
      * Constructs a TypeSynthesis object containing tree root, Expression-to-Type mappings, Variable-toType mappings
      * @param parsedTree root of the tree to be parsed
@@ -39,9 +44,23 @@ public final class TypeSynthesis {
 	 * @throws NullPointerException if any of the parameters are null
      */
     TypeSynthesis(Optional<Node> parsedTree, VariableTypes variableTypes, ExpressionTypes typeConversionRules){
+            this(parsedTree, variableTypes, typeConversionRules, false);
+    }
+
+    /**
+     * Constructs a TypeSynthesis object for a tree that may hold the same subtree more than once, as trees shared through a NodeInterner do.
+     * Remembering the type of every internal node costs a map entry and a lookup per node, which only pays off if some node is reached again.
+     * @param parsedTree root of the tree to be parsed
+     * @param variableTypes map of Variables to Types
+     * @param typeConversionRules map of Expressions to Types
+     * @param sharedSubtrees whether a subtree that appears more than once as the same node should only be traversed once
+	 * @throws NullPointerException if any of the parameters are null
+     */
+    TypeSynthesis(Optional<Node> parsedTree, VariableTypes variableTypes, ExpressionTypes typeConversionRules, boolean sharedSubtrees){
             this.variableTypes = Objects.requireNonNull(variableTypes);
             this.parsedTree = Objects.requireNonNull(parsedTree);
             this.typeConversionRules = Objects.requireNonNull(typeConversionRules);
+            this.sharedSubtrees = sharedSubtrees;
     }
 
     //Methods
@@ -61,18 +80,77 @@ public final class TypeSynthesis {
     }
 
     /**
-     * Traverses the tree and returns the final type at each level until the top
+     * Traverses the tree and returns the final type at each level until the top.
+     * If this object was built for shared subtrees, a subtree that appears more than once as the same node is traversed only once.
      * @param parsedTree the root of the tree to be parsed
      * @return Type of the root node if available
      */
     private Type traverseTree(Node parsedTree) {
-        Expression exp = new Expression(Type.EMPTY, Type.EMPTY, Connector.empty); // Creation of a new expression with empty fields
+        // The nodes being traversed from the root down, kept on the heap so that deep trees do not use up the thread's stack
+        Deque<Traversal> traversals = new ArrayDeque<>();
+        traversals.push(new Traversal(parsedTree));
+
+        // The type of every internal node traversed so far, since the type of a node only depends on the node (null unless subtrees are shared)
+        Map<Node, Type> knownTypes = sharedSubtrees ? new IdentityHashMap<>() : null;
+
+        while (true) {
+            Traversal traversal = traversals.peek();
+
+            // Determines the type from left to right of the given expression
+            if (traversal.nextChild < traversal.node.childCount()) {
+                Node child = traversal.node.childAt(traversal.nextChild++);
+                Type knownType = child.isLeaf() || knownTypes == null ? null : knownTypes.get(child);
+                if (child.isLeaf()) {
+                    traversal.exp = evalExpressionAndSetLeft(addChildToExpression(child, traversal.exp));
+                } else if (knownType != null) {
+                    traversal.exp = evalExpressionAndSetLeft(TypeUtilities.addTypeToExpression(knownType, traversal.exp));
+                } else {
+                    traversals.push(new Traversal(child));
+                }
+                continue;
+            }
 
-		// Determines the type from left to right of the given expression
-        for (Node child : parsedTree.getChildren()) {
-        	exp = evalExpressionAndSetLeft(addChildToExpression(child, exp));
+            // All the children are done, so the type of the node goes into the expression of its parent
+            traversals.pop();
+            Type nodeType = traversal.exp.getLeftExpressionType();
+            if (knownTypes != null) {
+                knownTypes.put(traversal.node, nodeType);
+            }
+            if (traversals.isEmpty()) {
+                return nodeType;
+            }
+            Traversal parent = traversals.peek();
+            parent.exp = evalExpressionAndSetLeft(TypeUtilities.addTypeToExpression(nodeType, parent.exp));
+        }
+    }
+
+    /**
+     * A node whose type is being determined, together with the expression built from its children so far
+     */
+    private static final class Traversal {
+
+        /**
+         * The node being traversed
+         */
+        private final Node node;
+
+        /**
+         * The position of the next child to add to the expression
+         */
+        private int nextChild = 0;
+
+        /**
+         * The expression built from the children so far
+         */
+        private Expression exp = new Expression(Type.EMPTY, Type.EMPTY, Connector.empty);
+
+        /**
+         * Constructs a traversal that has not looked at any child of the node yet
+         * @param node the node to traverse
+         */
+        private Traversal(Node node) {
+            this.node = node;
         }
-        return exp.getLeftExpressionType();
     }
 
     /**
@@ -547,4 +547,51 @@ public class TypeSynthesisTest {
         Optional<Node> parseRoot = Optional.of(n);
         assertEquals(th.traverseTree(parseRoot.get()), cat);
     }
+
+    /**
+     * Stress test: a tree nested deeper than the thread's stack could hold with recursive checks
+     */
+    @Test
+    public void testEvaluateRootTypeDeeplyNested() {
+        int depth = 100000;
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            input.append("c*(");
+        }
+        input.append("d");
+        for (int i = 0; i < depth; i++) {
+            input.append(")");
+        }
+
+        Optional<Node> parseRoot = NonTerminalSymbol.parseInput(Lexer.lex(input.toString()));
+        assertTrue(TypeUtilities.isTreeValid(parseRoot.get()));
+        assertEquals(cat, new TypeSynthesis(parseRoot, vt, et).evaluateRootType());
+    }
+
+    /**
+     * A tree whose equal subtrees are shared through an interner gets the same type as the tree without sharing
+     */
+    @Test
+    public void testEvaluateRootTypeSharedSubtrees() {
+        List<Token> tokens = Lexer.lex("(c*d)+(c*d)*(c*d)");
+        Optional<Node> shared = TableDrivenParser.parseInput(tokens, NodeInterner.build());
+
+        assertEquals(cat, new TypeSynthesis(shared, vt, et, true).evaluateRootType());
+        assertEquals(cat, new TypeSynthesis(shared, vt, et).evaluateRootType());
+        assertEquals(cat, new TypeSynthesis(NonTerminalSymbol.parseInput(tokens), vt, et).evaluateRootType());
+    }
+
+    /**
+     * A subtree shared by both operands of every level is traversed once when subtrees are shared: the tree has
+     * 2^40 paths to its leaves, so the traversal only ends in time if no shared subtree is traversed twice
+     */
+    @Test(timeout = 10_000)
+    public void testTraverseTreeSharedSubtreesOnce() {
+        Node shared = NonTerminalSymbol.parseInput(Lexer.lex("c*d")).get();
+        for (int i = 0; i < 40; i++) {
+            shared = InternalNode.build(Arrays.asList(shared, LeafNode.build(times), shared));
+        }
+
+        assertEquals(cat, new TypeSynthesis(Optional.of(shared), vt, et, true).new TestHook().traverseTree(shared));
+    }
 }
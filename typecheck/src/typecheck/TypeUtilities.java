@@ -1,8 +1,8 @@
 package typecheck;
 
 import parser.*;
-import java.util.EmptyStackException;
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 /**
  * Java class TypeUtilities
@@ -18,30 +18,29 @@ abstract class TypeUtilities {
     //Methods
 
     /**
-     * Checks if each open parenthesis has a matching closed parenthesis using a stack
+     * Checks if each open parenthesis has a matching closed parenthesis by counting the open ones
      * @param input root Node of a parse tree to be checked
      * @return True if parentheses are balanced, false otherwise
      */
     static boolean areParenthesisValid(Node input) {
-        Stack<Character> stack = new Stack<>();              // Initialization of Stack
+        int openParentheses = 0;                             // Parentheses opened but not closed yet
         // Matches each open parenthesis in the tree with a closed parenthesis
-        for (Node n : input.getChildren()) {
+        for (int i = 0; i < input.childCount(); i++) {
+            Node n = input.childAt(i);
             if (n.isLeaf()) {
                 Token nodeToken = ((LeafNode) n).getToken(); // Token of the LeafNode
                 if (nodeToken.matches(TerminalSymbol.OPEN)) {
-                    stack.push('(');
+                    openParentheses++;
                 } else if (nodeToken.matches(TerminalSymbol.CLOSE)) {
-                    try {
-                        stack.pop();
-                    }
                     // Occurs if too many closed parenthesis
-                    catch (EmptyStackException e) {
+                    if (openParentheses == 0) {
                         return false;
                     }
+                    openParentheses--;
                 }
             }
         }
-        return stack.isEmpty();
+        return openParentheses == 0;
     }
 
     /**
@@ -50,8 +49,11 @@ abstract class TypeUtilities {
      * @return True if parenthesis is present, false otherwise
      */
     static boolean isParenthesis(Node n) {
-        String nodeString = n.toString(); // String representation of n
-        return (nodeString.equals("(") || nodeString.equals(")"));
+        if (!n.isLeaf()) {
+            return false;
+        }
+        Token nodeToken = ((LeafNode) n).getToken(); // Token of the LeafNode
+        return nodeToken.matches(TerminalSymbol.OPEN) || nodeToken.matches(TerminalSymbol.CLOSE);
     }
 
     /**
@@ -88,15 +90,29 @@ abstract class TypeUtilities {
      * @return return true if tree is valid, false otherwise
      */
     static boolean isTreeValid(Node root) {
-        if (areParenthesisValid(root)) {
-            // Determines format of root and parses it accordingly
-            if (root.isStartedByOperator()) {
-                return isUnaryOpTreeValid(root);
-            } else {
-                return isBinaryOpTreeValid(root);
+        Deque<Node> pending = new ArrayDeque<>();   // Subtrees that still have to be checked
+        pending.push(root);
+        return arePendingTreesValid(pending);
+    }
+
+    /**
+     * Checks the subtrees waiting to be checked one node at a time, so that deep trees do not use up the thread's stack
+     * @param pending subtrees to be checked, to which the internal children of each checked node are added
+     * @return True if every subtree is valid, false otherwise
+     */
+    private static boolean arePendingTreesValid(Deque<Node> pending) {
+        while (!pending.isEmpty()) {
+            Node n = pending.pop();
+            if (!areParenthesisValid(n)) {
+                return false;
+            }
+            // Determines format of the node and checks it accordingly
+            boolean isValid = n.isStartedByOperator() ? isUnaryOpNodeValid(n, pending) : isBinaryOpNodeValid(n, pending);
+            if (!isValid) {
+                return false;
             }
         }
-        return false;
+        return true;
     }
 
     /**
@@ -105,15 +121,26 @@ abstract class TypeUtilities {
      * @return True if node's children follow [- Node] pattern, false otherwise
      */
     static boolean isUnaryOpTreeValid(Node n) {
-        if (n.getChildren().size() != 2) {
+        Deque<Node> pending = new ArrayDeque<>();   // Subtrees that still have to be checked
+        return isUnaryOpNodeValid(n, pending) && arePendingTreesValid(pending);
+    }
+
+    /**
+     * Check if the children of the node follow the unary operator pattern, leaving its subtree to be checked later
+     * @param n node to be evaluated
+     * @param pending subtrees to be checked, to which the internal child of the node is added
+     * @return True if node's children follow [- Node] pattern, false otherwise
+     */
+    private static boolean isUnaryOpNodeValid(Node n, Deque<Node> pending) {
+        if (n.childCount() != 2) {
             return false;
-        } else {
-            Node secondChild = ListHandler.listSecond(n.getChildren()); // Second child of node's children list
-            if (secondChild.isOperator()) {
-                return false;
-            } else if (!secondChild.isLeaf()) {
-                return isTreeValid(ListHandler.listSecond(n.getChildren()));
-            }
+        }
+        Node secondChild = n.childAt(1);             // Second child of node's children
+        if (secondChild.isOperator()) {
+            return false;
+        }
+        if (!secondChild.isLeaf()) {
+            pending.push(secondChild);
         }
         return true;
     }
@@ -124,20 +151,35 @@ abstract class TypeUtilities {
      * @return true if node's children follows [Node Operator Node ...] pattern, false otherwise
      */
     static boolean isBinaryOpTreeValid(Node n) {
+        Deque<Node> pending = new ArrayDeque<>();   // Subtrees that still have to be checked
+        return isBinaryOpNodeValid(n, pending) && arePendingTreesValid(pending);
+    }
+
+    /**
+     * Checks if the children of the node follow the binary operator pattern, leaving their subtrees to be checked later
+     * @param n node to be evaluated
+     * @param pending subtrees to be checked, to which the internal children of the node are added
+     * @return true if node's children follows [Node Operator Node ...] pattern, false otherwise
+     */
+    private static boolean isBinaryOpNodeValid(Node n, Deque<Node> pending) {
         boolean prevIsOperator = true;  // Pretend previous node is an operator because expression must start with a non-operator
 
         // Check the alternating behavior of [Node Operator Node ...] pattern
-        for (Node child : n.getChildren()) {
+        for (int i = 0; i < n.childCount(); i++) {
+            Node child = n.childAt(i);
             if (!isParenthesis(child)) {
-                if (!isAlternating(prevIsOperator, child)) {
+                if (child.isOperator() == prevIsOperator) {
                     return false;
                 }
+                if (!child.isLeaf()) {
+                    pending.push(child);
+                }
                 prevIsOperator = !prevIsOperator;
             }
         }
 
         // Checks that operator does not end an expression
-        if (ListHandler.listLast(n.getChildren()).isOperator()) {
+        if (n.childAt(n.childCount() - 1).isOperator()) {
             return false;
         }
         return true;